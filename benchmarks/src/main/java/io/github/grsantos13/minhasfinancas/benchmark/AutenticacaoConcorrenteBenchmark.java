@@ -0,0 +1,113 @@
+package io.github.grsantos13.minhasfinancas.benchmark;
+
+import io.github.grsantos13.minhasfinancas.config.RoteamentoLeitura;
+import io.github.grsantos13.minhasfinancas.exception.ServicoIndisponivelException;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.repository.UsuarioRepository;
+import io.github.grsantos13.minhasfinancas.service.impl.UsuarioServiceImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Login com BCrypt sob concorrência: pool limitado vs. um pool do tamanho do número de clientes (equivalente
+// a verificar nas threads do Tomcat). Cada thread do JMH é um cliente; autenticados e recusados (503) separam a vazão.
+// Ex.: -Djmh.args="AutenticacaoConcorrente -t 64"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class AutenticacaoConcorrenteBenchmark {
+
+    private static final String EMAIL = "benchmark@email.com";
+    private static final String SENHA = "senha-do-benchmark";
+
+    @Param({"limitado", "sem-limite"})
+    private String pool;
+
+    @Param({"10"})
+    private int custo;
+
+    private ThreadPoolTaskExecutor executor;
+    private UsuarioServiceImpl service;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Respostas {
+        public long autenticados;
+        public long recusados;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            autenticados = 0;
+            recusados = 0;
+        }
+    }
+
+    @Setup
+    public void setUp(BenchmarkParams parametros) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(custo);
+        Usuario usuario = Usuario.builder().id(1l).email(EMAIL).senha(encoder.encode(SENHA)).build();
+
+        // o login só consulta o usuário pelo e-mail
+        UsuarioRepository repository = (UsuarioRepository) Proxy.newProxyInstance(
+                UsuarioRepository.class.getClassLoader(),
+                new Class<?>[]{UsuarioRepository.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("findByEmail")) {
+                        return Optional.of(usuario);
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        int threads = pool.equals("limitado") ? nucleos : parametros.getThreads();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(pool.equals("limitado") ? nucleos * 2 : threads);
+        executor.initialize();
+
+        service = new UsuarioServiceImpl(repository, encoder, executor, 10_000, new RoteamentoLeitura(0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public Usuario autenticar(Respostas respostas) throws InterruptedException {
+        try {
+            Usuario usuario = service.autenticar(EMAIL, SENHA);
+            respostas.autenticados++;
+            return usuario;
+        } catch (ServicoIndisponivelException e) {
+            respostas.recusados++;
+            // o cliente respeita o Retry-After em escala reduzida
+            Thread.sleep(5);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.grsantos13.minhasfinancas.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Resposta de GET /api/lancamentos em cada formato negociado pelo Accept, com os mesmos ObjectMappers que o
+// Spring MVC cria para os conversores. O tamanho do corpo sai no log do setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatoRespostaBenchmark {
+
+    private static final TypeReference<List<LancamentoResumo>> LISTA = new TypeReference<List<LancamentoResumo>>() {};
+
+    @Param({"json", "smile", "cbor"})
+    private String formato;
+
+    @Param({"1000", "10000"})
+    private int lancamentos;
+
+    private ObjectMapper mapper;
+    private List<LancamentoResumo> resumos;
+    private byte[] corpo;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = formato.equals("smile") ? Jackson2ObjectMapperBuilder.smile().build()
+                : formato.equals("cbor") ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime agora = LocalDateTime.of(2020, 1, 1, 10, 30);
+        resumos = new ArrayList<>(lancamentos);
+        for (int i = 0; i < lancamentos; i++) {
+            resumos.add(LancamentoResumo.builder()
+                    .id((long) i)
+                    .descricao("Lançamento " + i)
+                    .mes(i % 12 + 1)
+                    .ano(2018 + i % 3)
+                    .usuario(1l)
+                    .valor(BigDecimal.valueOf(i % 100_000 + 1, 2))
+                    .tipo(i % 3 == 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+                    .status(i % 2 == 0 ? StatusLancamento.REALIZADO : StatusLancamento.PENDENTE)
+                    .dataCadastro(agora)
+                    .versao(0l)
+                    .build());
+        }
+
+        corpo = mapper.writeValueAsBytes(resumos);
+        System.out.println(formato + ": " + corpo.length + " bytes para " + lancamentos + " registros");
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return mapper.writeValueAsBytes(resumos);
+    }
+
+    @Benchmark
+    public List<LancamentoResumo> desserializar() throws IOException {
+        return mapper.readValue(corpo, LISTA);
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.grsantos13.minhasfinancas.benchmark;
+
+import io.github.grsantos13.minhasfinancas.MinhasfinancasApplication;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import io.github.grsantos13.minhasfinancas.service.UsuarioService;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Muitas conexões simultâneas: pilha servlet (Tomcat + JDBC) vs. pilha reativa (perfil reactive, Netty + R2DBC),
+// as duas sobre o H2 em memória. Cada thread do JMH é uma conexão fazendo uma requisição por vez; respostas
+// fora do 200 ou sem resposta em 5 s aparecem no contador erros. Ex.: -Djmh.args="PilhaWebConcorrente -t 512"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class PilhaWebConcorrenteBenchmark {
+
+    private static final Duration TEMPO_RESPOSTA = Duration.ofSeconds(5);
+
+    @Param({"servlet", "reativa"})
+    private String pilha;
+
+    @Param({"2400"})
+    private int lancamentos;
+
+    private ConfigurableApplicationContext contexto;
+    private EventLoopGroup loops;
+    private ConnectionProvider conexoes;
+    private WebClient cliente;
+    private Long idUsuario;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Conexao {
+        public long erros;
+        private int requisicao;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            erros = 0;
+        }
+    }
+
+    @Setup
+    public void setUp(BenchmarkParams parametros) {
+        String perfis = pilha.equals("reativa") ? "test,reactive" : "test";
+        contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+                .run("--spring.profiles.active=" + perfis, "--server.port=0", "--logging.level.root=WARN");
+        idUsuario = popularBase();
+
+        // o gerador de carga roda no mesmo processo, com event loops próprios. O cliente usa NIO direto no
+        // bootstrap: com o transporte epoll, o reactor-netty 0.9.8 abre um socket a cada requisição e não o fecha.
+        loops = new NioEventLoopGroup(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), new DefaultThreadFactory("carga", true));
+        conexoes = ConnectionProvider.create("carga", parametros.getThreads());
+        HttpClient http = HttpClient.create(conexoes)
+                .tcpConfiguration(tcp -> tcp.bootstrap(b -> b.group(loops).channel(NioSocketChannel.class)));
+        cliente = WebClient.builder()
+                .baseUrl("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port"))
+                .clientConnector(new ReactorClientHttpConnector(http))
+                .build();
+
+        Map<String, Object> novo = new HashMap<>();
+        novo.put("descricao", "Lançamento da carga");
+        novo.put("mes", 1);
+        novo.put("ano", 2020);
+        novo.put("valor", 10);
+        novo.put("tipo", "RECEITA");
+        novo.put("usuario", idUsuario);
+        Integer statusCadastro = status(cliente.post().uri("/api/lancamentos").bodyValue(novo)).block();
+        if (statusCadastro == null || statusCadastro != 201) {
+            throw new IllegalStateException("Cadastro na pilha " + pilha + " respondeu " + statusCadastro);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        conexoes.dispose();
+        loops.shutdownGracefully();
+        contexto.close();
+    }
+
+    @Benchmark
+    public Integer listar(Conexao conexao) {
+        int mes = conexao.requisicao++ % 12 + 1;
+        return contar(conexao, status(cliente.get().uri("/api/lancamentos?usuario=" + idUsuario + "&ano=2020&mes=" + mes)));
+    }
+
+    @Benchmark
+    public Integer saldo(Conexao conexao) {
+        return contar(conexao, status(cliente.get().uri("/api/usuarios/" + idUsuario + "/saldo")));
+    }
+
+    private Mono<Integer> status(WebClient.RequestHeadersSpec<?> requisicao) {
+        return requisicao.exchange()
+                .flatMap(resposta -> resposta.releaseBody().thenReturn(resposta.rawStatusCode()));
+    }
+
+    private Integer contar(Conexao conexao, Mono<Integer> resposta) {
+        Integer status = resposta.timeout(TEMPO_RESPOSTA).onErrorResume(e -> Mono.empty()).block();
+        if (status == null || status != 200) {
+            conexao.erros++;
+        }
+        return status;
+    }
+
+    private Long popularBase() {
+        Usuario usuario = contexto.getBean(UsuarioService.class).cadastrarUsuario(Usuario.builder()
+                .nome("benchmark")
+                .email("benchmark@email.com")
+                .senha("senha-do-benchmark")
+                .build());
+
+        List<Lancamento> novos = new ArrayList<>(lancamentos);
+        for (int i = 0; i < lancamentos; i++) {
+            novos.add(Lancamento.builder()
+                    .descricao("Lançamento " + i)
+                    .mes(i % 12 + 1)
+                    .ano(2020)
+                    .valor(BigDecimal.valueOf(10 + i % 90))
+                    .tipo(i % 3 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+                    .status(i % 2 == 0 ? StatusLancamento.REALIZADO : StatusLancamento.PENDENTE)
+                    .usuario(usuario)
+                    .build());
+        }
+        contexto.getBean(LancamentoService.class).salvarLote(novos);
+        return usuario.getId();
+    }
+}
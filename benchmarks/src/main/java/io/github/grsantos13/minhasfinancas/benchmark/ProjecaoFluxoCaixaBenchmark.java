@@ -0,0 +1,104 @@
+package io.github.grsantos13.minhasfinancas.benchmark;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.service.impl.ProjecaoFluxoCaixa;
+import io.github.grsantos13.minhasfinancas.service.impl.SomaMonetaria;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Projeção de 10 anos já com os lançamentos carregados: arrays de primitivos vs. a mesma conta sobre as
+// entidades com BigDecimal e um mapa por competência, que é como ela seria escrita em cima do repositório.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjecaoFluxoCaixaBenchmark {
+
+    private static final int RECORRENCIAS = 20;
+
+    @Param({"50000"})
+    private int lancamentos;
+
+    @Param({"12", "120"})
+    private int meses;
+
+    private int periodoInicial;
+    private ProjecaoFluxoCaixa projecao;
+    private List<Lancamento> entidades;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        periodoInicial = ProjecaoFluxoCaixa.periodo(2021, 1);
+        projecao = new ProjecaoFluxoCaixa(lancamentos);
+        entidades = new ArrayList<>(lancamentos);
+
+        for (int i = 0; i < lancamentos; i++) {
+            int periodo = periodoInicial - 12 + random.nextInt(132);
+            long centavos = 100 + random.nextInt(500_000);
+            boolean despesa = random.nextInt(3) > 0;
+            projecao.adicionarLancamento(periodo, centavos,
+                    despesa ? ProjecaoFluxoCaixa.DESPESA : ProjecaoFluxoCaixa.RECEITA);
+            entidades.add(Lancamento.builder()
+                    .ano(periodo / 12)
+                    .mes(periodo % 12 + 1)
+                    .valor(BigDecimal.valueOf(centavos, 2))
+                    .tipo(despesa ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+                    .status(StatusLancamento.PENDENTE)
+                    .build());
+        }
+        for (int r = 0; r < RECORRENCIAS; r++) {
+            projecao.adicionarRecorrencia(periodoInicial + r % 3, ProjecaoFluxoCaixa.SEM_FIM, r % 2 == 0 ? 1 : 12,
+                    10_000 + r, r % 4 == 0 ? ProjecaoFluxoCaixa.RECEITA : ProjecaoFluxoCaixa.DESPESA);
+        }
+    }
+
+    @Benchmark
+    public ProjecaoFluxoCaixa.Resultado arraysPrimitivos() {
+        return projecao.projetar(SomaMonetaria.deCentavos(1_000_000), periodoInicial, meses);
+    }
+
+    @Benchmark
+    public Map<Integer, BigDecimal> entidadesComBigDecimal() {
+        int ultimoPeriodo = periodoInicial + meses - 1;
+        Map<Integer, BigDecimal> variacoes = new TreeMap<>();
+        for (Lancamento lancamento : entidades) {
+            int periodo = Math.max(ProjecaoFluxoCaixa.periodo(lancamento.getAno(), lancamento.getMes()), periodoInicial);
+            if (periodo <= ultimoPeriodo) {
+                BigDecimal valor = lancamento.getTipo() == TipoLancamento.DESPESA
+                        ? lancamento.getValor().negate()
+                        : lancamento.getValor();
+                variacoes.merge(periodo, valor, BigDecimal::add);
+            }
+        }
+
+        Map<Integer, BigDecimal> saldos = new TreeMap<>();
+        BigDecimal saldo = BigDecimal.valueOf(1_000_000, 2);
+        for (int periodo = periodoInicial; periodo <= ultimoPeriodo; periodo++) {
+            saldo = saldo.add(variacoes.getOrDefault(periodo, BigDecimal.ZERO));
+            saldos.put(periodo, saldo);
+        }
+        return saldos;
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.grsantos13.minhasfinancas.benchmark;
+
+import io.github.grsantos13.minhasfinancas.MinhasfinancasApplication;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.repository.UsuarioRepository;
+import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Saldo do usuário no H2 do perfil de teste: leitura do saldo mantido por delta vs. recálculo sobre todos os lançamentos.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class SaldoUsuarioBenchmark {
+
+    private static final String INSERIR_LANCAMENTOS =
+            " insert into lancamento (id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status) " +
+            " select x, 'Lançamento ' || x, mod(x, 12) + 1, 2018 + mod(x, 3), ?, mod(x, 1000) + 1, current_timestamp, " +
+            "        case when mod(x, 3) = 0 then 'DESPESA' else 'RECEITA' end, " +
+            "        case when mod(x, 2) = 0 then 'REALIZADO' else 'PENDENTE' end " +
+            " from system_range(1, ?)";
+
+    @Param({"1000", "100000", "1000000"})
+    private int lancamentos;
+
+    private ConfigurableApplicationContext contexto;
+    private LancamentoService service;
+    private Long idUsuario;
+
+    @Setup
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+                .run("--spring.profiles.active=test", "--server.port=0", "--logging.level.root=WARN");
+        service = contexto.getBean(LancamentoService.class);
+
+        Usuario usuario = contexto.getBean(UsuarioRepository.class).save(Usuario.builder()
+                .nome("benchmark")
+                .email("benchmark@email.com")
+                .senha("-")
+                .build());
+        idUsuario = usuario.getId();
+
+        contexto.getBean(JdbcTemplate.class).update(INSERIR_LANCAMENTOS, idUsuario, lancamentos);
+        service.recalcularSaldoPorUsuario(idUsuario);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public BigDecimal obterSaldoPorUsuario() {
+        return service.obterSaldoPorUsuario(idUsuario);
+    }
+
+    @Benchmark
+    public BigDecimal recalcularSaldoPorUsuario() {
+        return service.recalcularSaldoPorUsuario(idUsuario);
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.grsantos13.minhasfinancas.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização da resposta de GET /api/lancamentos: entidade completa vs. projeção usada pelos endpoints de leitura.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class SerializacaoLancamentoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int lancamentos;
+
+    private ObjectWriter writer;
+    private List<Lancamento> entidades;
+    private List<LancamentoResumo> resumos;
+
+    @Setup
+    public void setUp() {
+        // mesma configuração que o Spring Boot aplica ao ObjectMapper do MVC
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        Usuario usuario = Usuario.builder().id(1l).nome("usuario").email("usuario@email.com").build();
+        LocalDateTime agora = LocalDateTime.now();
+        entidades = new ArrayList<>(lancamentos);
+        resumos = new ArrayList<>(lancamentos);
+        for (int i = 0; i < lancamentos; i++) {
+            Lancamento lancamento = Lancamento.builder()
+                    .id((long) i)
+                    .descricao("Lançamento " + i)
+                    .mes(i % 12 + 1)
+                    .ano(2018 + i % 3)
+                    .usuario(usuario)
+                    .valor(BigDecimal.valueOf(i % 1000 + 1, 2))
+                    .tipo(i % 3 == 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+                    .status(i % 2 == 0 ? StatusLancamento.REALIZADO : StatusLancamento.PENDENTE)
+                    .dataCadastro(agora)
+                    .build();
+            entidades.add(lancamento);
+            resumos.add(LancamentoResumo.de(lancamento));
+        }
+    }
+
+    @Benchmark
+    public long serializarEntidades() throws IOException {
+        ContadorDeBytes saida = new ContadorDeBytes();
+        writer.writeValue(saida, entidades);
+        return saida.total;
+    }
+
+    @Benchmark
+    public long serializarResumos() throws IOException {
+        ContadorDeBytes saida = new ContadorDeBytes();
+        writer.writeValue(saida, resumos);
+        return saida.total;
+    }
+
+    // descarta os bytes para medir só a serialização, sem o custo de crescer um buffer de centenas de MB
+    private static class ContadorDeBytes extends OutputStream {
+
+        private long total;
+
+        @Override
+        public void write(int b) {
+            total++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            total += len;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.grsantos13.minhasfinancas.benchmark;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.service.impl.SomaMonetaria;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Somas de um lote de lançamentos como o salvarLote e o saldo mensal fazem: BigDecimal a cada operação
+// vs. SomaMonetaria, que acumula em centavos e só volta a BigDecimal no total.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SomaMonetariaBenchmark {
+
+    private static final int USUARIOS = 100;
+
+    @Param({"50000"})
+    private int lancamentos;
+
+    private List<Lancamento> entidades;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Usuario[] usuarios = new Usuario[USUARIOS];
+        for (int i = 0; i < USUARIOS; i++) {
+            usuarios[i] = Usuario.builder().id((long) i + 1).build();
+        }
+
+        entidades = new ArrayList<>(lancamentos);
+        for (int i = 0; i < lancamentos; i++) {
+            entidades.add(Lancamento.builder()
+                    .usuario(usuarios[random.nextInt(USUARIOS)])
+                    .mes(1 + random.nextInt(12))
+                    .valor(BigDecimal.valueOf(100 + random.nextInt(500_000), 2))
+                    .tipo(random.nextInt(3) > 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+                    .status(random.nextInt(4) > 0 ? StatusLancamento.REALIZADO : StatusLancamento.PENDENTE)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Map<Long, BigDecimal> saldoPorUsuarioComBigDecimal() {
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        for (Lancamento lancamento : entidades) {
+            BigDecimal contribuicao = BigDecimal.ZERO;
+            if (lancamento.getStatus() == StatusLancamento.REALIZADO) {
+                contribuicao = lancamento.getTipo() == TipoLancamento.DESPESA
+                        ? lancamento.getValor().negate()
+                        : lancamento.getValor();
+            }
+            deltas.merge(lancamento.getUsuario().getId(), contribuicao, BigDecimal::add);
+        }
+        return deltas;
+    }
+
+    @Benchmark
+    public Map<Long, BigDecimal> saldoPorUsuarioComSomaMonetaria() {
+        Map<Long, SomaMonetaria> somas = new HashMap<>();
+        for (Lancamento lancamento : entidades) {
+            SomaMonetaria soma = somas.computeIfAbsent(lancamento.getUsuario().getId(), id -> new SomaMonetaria());
+            if (lancamento.getStatus() != StatusLancamento.REALIZADO) {
+                continue;
+            }
+            if (lancamento.getTipo() == TipoLancamento.DESPESA) {
+                soma.subtrair(lancamento.getValor());
+            } else {
+                soma.somar(lancamento.getValor());
+            }
+        }
+
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        somas.forEach((id, soma) -> deltas.put(id, soma.total()));
+        return deltas;
+    }
+
+    @Benchmark
+    public BigDecimal[] saldoMensalComBigDecimal() {
+        BigDecimal[] saldos = new BigDecimal[12];
+        Arrays.fill(saldos, BigDecimal.ZERO);
+        for (Lancamento lancamento : entidades) {
+            int indice = lancamento.getMes() - 1;
+            saldos[indice] = lancamento.getTipo() == TipoLancamento.DESPESA
+                    ? saldos[indice].subtract(lancamento.getValor())
+                    : saldos[indice].add(lancamento.getValor());
+        }
+        return saldos;
+    }
+
+    @Benchmark
+    public BigDecimal[] saldoMensalComSomaMonetaria() {
+        SomaMonetaria[] somas = new SomaMonetaria[12];
+        for (int indice = 0; indice < 12; indice++) {
+            somas[indice] = new SomaMonetaria();
+        }
+        for (Lancamento lancamento : entidades) {
+            SomaMonetaria soma = somas[lancamento.getMes() - 1];
+            if (lancamento.getTipo() == TipoLancamento.DESPESA) {
+                soma.subtrair(lancamento.getValor());
+            } else {
+                soma.somar(lancamento.getValor());
+            }
+        }
+
+        BigDecimal[] saldos = new BigDecimal[12];
+        for (int indice = 0; indice < 12; indice++) {
+            saldos[indice] = somas[indice].total();
+        }
+        return saldos;
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.grsantos13.minhasfinancas.benchmark;
+
+import io.github.grsantos13.minhasfinancas.api.controller.LancamentoController;
+import io.github.grsantos13.minhasfinancas.api.dto.LancamentoDTO;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.service.UsuarioService;
+import io.github.grsantos13.minhasfinancas.service.impl.LancamentoServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Caminho de escrita sem banco: validação do lançamento e conversão do DTO recebido pelo controller.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoLancamentoBenchmark {
+
+    private LancamentoServiceImpl service;
+    private LancamentoController controller;
+    private Method converter;
+    private Lancamento lancamento;
+    private LancamentoDTO dto;
+
+    @Setup
+    public void setUp() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).nome("usuario").email("usuario@email.com").build();
+
+        service = new LancamentoServiceImpl(null, null, null, null, null, null);
+        controller = new LancamentoController(null, new UsuarioFixo(usuario), null, null, null, null, null, null, null, null);
+        // converter é privado; o custo do Method.invoke é pequeno perto da conversão e fica igual entre versões
+        converter = LancamentoController.class.getDeclaredMethod("converter", LancamentoDTO.class);
+        converter.setAccessible(true);
+
+        lancamento = Lancamento.builder()
+                .id(1l)
+                .descricao("Aluguel do apartamento")
+                .mes(3)
+                .ano(2020)
+                .usuario(usuario)
+                .valor(new BigDecimal("1500.00"))
+                .tipo(TipoLancamento.DESPESA)
+                .status(StatusLancamento.PENDENTE)
+                .dataCadastro(LocalDateTime.now())
+                .build();
+
+        dto = LancamentoDTO.builder()
+                .descricao("Aluguel do apartamento")
+                .mes(3)
+                .ano(2020)
+                .usuario(1l)
+                .valor(new BigDecimal("1500.00"))
+                .tipo("DESPESA")
+                .status("PENDENTE")
+                .build();
+    }
+
+    @Benchmark
+    public Lancamento validar() {
+        service.validar(lancamento);
+        return lancamento;
+    }
+
+    @Benchmark
+    public Object converter() throws Exception {
+        return converter.invoke(controller, dto);
+    }
+
+    private static class UsuarioFixo implements UsuarioService {
+
+        private final Optional<Usuario> usuario;
+
+        UsuarioFixo(Usuario usuario) {
+            this.usuario = Optional.of(usuario);
+        }
+
+        @Override
+        public Usuario autenticar(String email, String senha) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Usuario cadastrarUsuario(Usuario usuario) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Usuario> getById(Long id) {
+            return usuario;
+        }
+
+        @Override
+        public void validarEmail(String email) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
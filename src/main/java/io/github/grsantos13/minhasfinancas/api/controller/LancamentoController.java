@@ -1,85 +1,286 @@
 package io.github.grsantos13.minhasfinancas.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.grsantos13.minhasfinancas.api.dto.AtualizaStatusDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.AtualizaStatusLoteDTO;
 import io.github.grsantos13.minhasfinancas.api.dto.LancamentoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.PaginaLancamentoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.RecorrenciaDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.RespostaIdempotenteDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+import io.github.grsantos13.minhasfinancas.config.LimitadorRequisicoes;
+import io.github.grsantos13.minhasfinancas.exception.ChaveIdempotenciaEmUsoException;
+import io.github.grsantos13.minhasfinancas.exception.LimiteExcedidoException;
 import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.exception.ServicoIndisponivelException;
 import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.RecorrenciaLancamento;
 import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.FormatoArquivo;
+import io.github.grsantos13.minhasfinancas.model.enums.Periodicidade;
 import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
 import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.service.BuscaDescricaoService;
+import io.github.grsantos13.minhasfinancas.service.ExportacaoLancamentoService;
+import io.github.grsantos13.minhasfinancas.service.GravacaoLancamentoService;
+import io.github.grsantos13.minhasfinancas.service.IdempotenciaService;
+import io.github.grsantos13.minhasfinancas.service.ImportacaoLancamentoService;
 import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import io.github.grsantos13.minhasfinancas.service.RecorrenciaLancamentoService;
 import io.github.grsantos13.minhasfinancas.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/lancamentos")
 @RequiredArgsConstructor
 public class LancamentoController {
 
     private final LancamentoService service;
     private final UsuarioService usuarioService;
+    private final BuscaDescricaoService buscaDescricaoService;
+    private final ImportacaoLancamentoService importacaoService;
+    private final ExportacaoLancamentoService exportacaoService;
+    private final RecorrenciaLancamentoService recorrenciaService;
+    private final LimitadorRequisicoes limitador;
+    private final IdempotenciaService idempotenciaService;
+    private final GravacaoLancamentoService gravacaoService;
+    private final TransactionTemplate transacao;
+
+    @Value("${minhasfinancas.lista.limite-em-memoria:1000}")
+    private int limiteListaEmMemoria;
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    // Mesma configuração dos ObjectMappers que o Spring MVC cria para os conversores de cada formato.
+    private static final Map<MediaType, ObjectMapper> FORMATOS_DA_LISTA = new LinkedHashMap<>();
+    // O ETag forte muda com os bytes: cada formato da mesma versão tem o seu, e o JSON fica só com a versão.
+    private static final Map<MediaType, String> SUFIXOS_DO_ETAG = new LinkedHashMap<>();
+    static {
+        MediaType smile = new MediaType("application", "x-jackson-smile");
+        FORMATOS_DA_LISTA.put(MediaType.APPLICATION_JSON, Jackson2ObjectMapperBuilder.json().build());
+        FORMATOS_DA_LISTA.put(MediaType.APPLICATION_CBOR, Jackson2ObjectMapperBuilder.cbor().build());
+        FORMATOS_DA_LISTA.put(smile, Jackson2ObjectMapperBuilder.smile().build());
+        SUFIXOS_DO_ETAG.put(MediaType.APPLICATION_JSON, "");
+        SUFIXOS_DO_ETAG.put(MediaType.APPLICATION_CBOR, "-cbor");
+        SUFIXOS_DO_ETAG.put(smile, "-smile");
+    }
 
     @PostMapping
-    public ResponseEntity salvar (@RequestBody LancamentoDTO lancamentoDTO){
-        try {
-            Lancamento lancamento = converter(lancamentoDTO);
-            lancamento = service.salvar(lancamento);
-            return new ResponseEntity(lancamento, HttpStatus.CREATED);
-        }catch (RegraNegocioException e){
-            return ResponseEntity.badRequest().body(e.getMessage());
-        }
+    public ResponseEntity salvar (@RequestBody LancamentoDTO lancamentoDTO,
+                                  @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia){
+        return idempotente("salvar", chaveIdempotencia, lancamentoDTO.getUsuario(), "salvar " + lancamentoDTO, null, () -> {
+            try {
+                // confirmado só na fila, o lançamento ainda não tem id para devolver
+                return gravacaoService.salvar(converter(lancamentoDTO))
+                        .map(lancamento -> new ResponseEntity(LancamentoResumo.de(lancamento), HttpStatus.CREATED))
+                        .orElseGet(() -> new ResponseEntity(HttpStatus.ACCEPTED));
+            }catch (RegraNegocioException e){
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }catch (ServicoIndisponivelException e){
+                return Respostas.indisponivel(e);
+            }
+        });
+    }
+
+    @PostMapping(value = "/lote", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity importarLote(@RequestParam("usuario") Long usuarioId,
+                                       @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                       @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia,
+                                       HttpServletRequest request) throws IOException {
+        // o corpo é lido em streaming: com Idempotency-Key a impressão dele é calculada durante a leitura
+        DigestInputStream corpoComImpressao = chaveIdempotencia != null ? comImpressao(request.getInputStream()) : null;
+        InputStream corpo = corpoComImpressao != null ? corpoComImpressao : request.getInputStream();
+        return idempotente("importar", chaveIdempotencia, usuarioId, "importar " + contentType, corpoComImpressao, () -> {
+            Optional<Usuario> usuario = usuarioService.getById(usuarioId);
+            if (!usuario.isPresent()){
+                return ResponseEntity.badRequest().body("Usuário não encontrado para o id informado.");
+            }
 
+            FormatoArquivo formato = MediaType.valueOf("text/csv").includes(contentType)
+                    ? FormatoArquivo.CSV
+                    : FormatoArquivo.NDJSON;
+            Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+            // sem fechar o leitor: o corpo é do container, e o que sobrar dele ainda entra na impressão
+            try {
+                Reader reader = new InputStreamReader(corpo, charset);
+                ResultadoImportacaoDTO resultado = importacaoService.importar(usuario.get(), formato, reader);
+                return ResponseEntity.ok(resultado);
+            }catch (RegraNegocioException e){
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }catch (IOException e){
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
+    // Nas alterações de um lançamento existente o limite é o do dono, que só é conhecido depois da leitura.
     @PutMapping("/{id}")
-    public ResponseEntity atualizar (@PathVariable Long id, @RequestBody LancamentoDTO lancamentoDTO){
+    public ResponseEntity atualizar (@PathVariable Long id,
+                                     @RequestBody LancamentoDTO lancamentoDTO,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                     NativeWebRequest request){
         return service.getById(id)
                     .map(entity -> {
-                        try {
+                        if (!versaoConfere(ifMatch, entity.getVersao())) {
+                            return precondicaoFalhou();
+                        }
+                        try (LimitadorRequisicoes.Permissao permissao = limitador.adquirir("atualizar", entity.getUsuario().getId())) {
                             Lancamento lancamento = converter(lancamentoDTO);
                             lancamento.setId(entity.getId());
+                            // sem If-Match, a versão enviada no corpo ainda impede sobrescrever uma alteração concorrente
+                            lancamento.setVersao(ifMatch == null && lancamentoDTO.getVersao() != null
+                                    ? lancamentoDTO.getVersao()
+                                    : entity.getVersao());
                             lancamento = service.atualizar(lancamento);
-                            return ResponseEntity.ok(lancamento);
+                            return ResponseEntity.ok()
+                                    .eTag(etag(lancamento.getVersao(), request))
+                                    .body(LancamentoResumo.de(lancamento));
                         }catch (RegraNegocioException e){
                             return ResponseEntity.badRequest().body(e.getMessage());
+                        }catch (OptimisticLockingFailureException e){
+                            return precondicaoFalhou();
+                        }catch (LimiteExcedidoException e){
+                            return Respostas.limiteExcedido(e);
                         }
                     }).orElseGet(() -> new ResponseEntity("Lançamento não encontrado.", HttpStatus.BAD_REQUEST));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity deletar(@PathVariable Long id){
+    public ResponseEntity deletar(@PathVariable Long id,
+                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
         return service.getById(id)
                     .map(entity -> {
-                        service.deletar(entity);
+                        if (!versaoConfere(ifMatch, entity.getVersao())) {
+                            return precondicaoFalhou();
+                        }
+                        try (LimitadorRequisicoes.Permissao permissao = limitador.adquirir("deletar", entity.getUsuario().getId())) {
+                            service.deletar(entity);
+                        }catch (OptimisticLockingFailureException e){
+                            return precondicaoFalhou();
+                        }catch (LimiteExcedidoException e){
+                            return Respostas.limiteExcedido(e);
+                        }
                         return new ResponseEntity(HttpStatus.NO_CONTENT);
                     }).orElseGet(() -> new ResponseEntity("Lançamento não encontrado.", HttpStatus.BAD_REQUEST)) ;
     }
 
     @GetMapping
-    public ResponseEntity buscar(@RequestParam(value = "descricao", required = false) String descricao,
-                                 @RequestParam(value = "mes", required = false) Integer mes,
-                                 @RequestParam(value = "ano", required = false) Integer ano,
-                                 @RequestParam(value = "tipo", required = false) String tipo,
-                                 @RequestParam("usuario") Long usuarioId){
+    public ResponseEntity<StreamingResponseBody> buscar(@RequestParam(value = "descricao", required = false) String descricao,
+                                                        @RequestParam(value = "mes", required = false) Integer mes,
+                                                        @RequestParam(value = "ano", required = false) Integer ano,
+                                                        @RequestParam(value = "tipo", required = false) String tipo,
+                                                        @RequestParam("usuario") Long usuarioId,
+                                                        NativeWebRequest request){
+
+        Optional<Usuario> usuario = usuarioService.getById(usuarioId);
+        if (!usuario.isPresent()){
+            return mensagem(HttpStatus.BAD_REQUEST, "Não foi possível realizar a consulta, usuário não encontrado.");
+        }
+        MediaType formato = formatoDaLista(request);
+        if (formato == null){
+            return new ResponseEntity<>(HttpStatus.NOT_ACCEPTABLE);
+        }
+        if (request.checkNotModified(etagDaLista(usuarioId))){
+            return null;
+        }
+
+        Lancamento lancamentoFiltro = new Lancamento();
+            lancamentoFiltro.setDescricao(descricao);
+            lancamentoFiltro.setMes(mes);
+            lancamentoFiltro.setAno(ano);
+            lancamentoFiltro.setUsuario(usuario.get());
+            if (tipo != null) {
+                lancamentoFiltro.setTipo(TipoLancamento.valueOf(tipo));
+            }
+
+        // Até o limite em memória a lista é escrita na própria requisição. Só a maior vai em streaming, que prende
+        // uma thread do mvcAsyncExecutor e um cursor aberto enquanto o cliente lê.
+        ObjectMapper mapper = FORMATOS_DA_LISTA.get(formato);
+        List<LancamentoResumo> primeiros = service.buscarResumos(lancamentoFiltro, limiteListaEmMemoria + 1);
+        if (primeiros.size() <= limiteListaEmMemoria){
+            HttpServletResponse resposta = request.getNativeResponse(HttpServletResponse.class);
+            try {
+                byte[] corpo = mapper.writeValueAsBytes(primeiros);
+                resposta.setContentType(formato.toString());
+                resposta.setContentLength(corpo.length);
+                resposta.getOutputStream().write(corpo);
+            }catch (IOException e){
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+
+        StreamingResponseBody corpo = saida -> exportacaoService.escreverResumos(lancamentoFiltro, mapper, saida);
+        return ResponseEntity.ok()
+                .contentType(formato)
+                .body(corpo);
+    }
+
+    @GetMapping("/pagina")
+    public ResponseEntity buscarPagina(@RequestParam(value = "descricao", required = false) String descricao,
+                                       @RequestParam(value = "mes", required = false) Integer mes,
+                                       @RequestParam(value = "ano", required = false) Integer ano,
+                                       @RequestParam(value = "tipo", required = false) String tipo,
+                                       @RequestParam("usuario") Long usuarioId,
+                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                       @RequestParam(value = "limite", required = false) Integer limite,
+                                       WebRequest request){
 
         Optional<Usuario> usuario = usuarioService.getById(usuarioId);
         if (!usuario.isPresent()){
             return ResponseEntity.badRequest().body("Não foi possível realizar a consulta, usuário não encontrado.");
         }
+        if (request.checkNotModified(etagDaLista(usuarioId))){
+            return null;
+        }
 
         Lancamento lancamentoFiltro = new Lancamento();
             lancamentoFiltro.setDescricao(descricao);
@@ -90,23 +291,92 @@ public class LancamentoController {
                 lancamentoFiltro.setTipo(TipoLancamento.valueOf(tipo));
             }
 
-        List<Lancamento> lancamentoList = service.buscar(lancamentoFiltro);
+        try {
+            PaginaLancamentoDTO pagina = service.buscarPagina(lancamentoFiltro, cursor, limite);
+            return ResponseEntity.ok(pagina);
+        }catch (RegraNegocioException e){
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity buscarPorDescricao(@RequestParam("usuario") Long usuarioId,
+                                             @RequestParam("texto") String texto,
+                                             @RequestParam(value = "limite", required = false) Integer limite){
+        if (!usuarioService.getById(usuarioId).isPresent()){
+            return ResponseEntity.badRequest().body("Não foi possível realizar a consulta, usuário não encontrado.");
+        }
+
+        try {
+            List<LancamentoResumo> lancamentoList = buscaDescricaoService.buscar(usuarioId, texto, limite);
+            return ResponseEntity.ok(lancamentoList);
+        }catch (RegraNegocioException e){
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/busca/reindexar")
+    public ResponseEntity reindexarBusca(@RequestParam("usuario") Long usuarioId){
+        if (!usuarioService.getById(usuarioId).isPresent()){
+            return ResponseEntity.badRequest().body("Usuário não encontrado para o id informado.");
+        }
+
+        try (LimitadorRequisicoes.Permissao permissao = limitador.adquirir("reindexar", usuarioId)) {
+            int lancamentosIndexados = buscaDescricaoService.reindexarUsuario(usuarioId);
+            return ResponseEntity.ok(lancamentosIndexados);
+        }catch (LimiteExcedidoException e){
+            return Respostas.limiteExcedido(e);
+        }
+    }
+
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam("usuario") Long usuarioId,
+                                                          @RequestParam(value = "formato", defaultValue = "csv") String formato){
+        if (!usuarioService.getById(usuarioId).isPresent()){
+            return mensagem(HttpStatus.BAD_REQUEST, "Usuário não encontrado para o id informado.");
+        }
+
+        FormatoArquivo formatoArquivo;
+        try {
+            formatoArquivo = FormatoArquivo.valueOf(formato.toUpperCase(Locale.ROOT));
+        }catch (IllegalArgumentException e){
+            return mensagem(HttpStatus.BAD_REQUEST, "Formato não suportado.");
+        }
 
-        return ResponseEntity.ok(lancamentoList);
+        MediaType mediaType = formatoArquivo == FormatoArquivo.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        String arquivo = "lancamentos-" + usuarioId + "." + formatoArquivo.name().toLowerCase(Locale.ROOT);
+
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(usuarioId, formatoArquivo, saida);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+                .body(corpo);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity buscarPorId(@PathVariable Long id){
-        Lancamento lancamento = service.getById(id)
+    public ResponseEntity buscarPorId(@PathVariable Long id, NativeWebRequest request){
+        LancamentoResumo lancamento = service.getResumoById(id)
             .orElseThrow(() -> new RegraNegocioException("Lançamento não encontrado."));
-        
-        return ResponseEntity.ok(lancamento);
+
+        String etag = etag(lancamento.getVersao(), request);
+        if (request.checkNotModified(etag)){
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(lancamento);
     }
 
     @PutMapping("/{id}/atualizar-status")
-    public ResponseEntity atualizarStatus(@PathVariable Long id, @RequestBody AtualizaStatusDTO status){
+    public ResponseEntity atualizarStatus(@PathVariable Long id,
+                                          @RequestBody AtualizaStatusDTO status,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          NativeWebRequest request){
         return service.getById(id)
                 .map(entity -> {
+                        if (!versaoConfere(ifMatch, entity.getVersao())) {
+                            return precondicaoFalhou();
+                        }
                         StatusLancamento statusLancamento = StatusLancamento.valueOf(status.getStatus());
                         if (statusLancamento == null) {
                             return ResponseEntity.badRequest().body("Status não encontrado.");
@@ -114,16 +384,267 @@ public class LancamentoController {
 
                         entity.setStatus(statusLancamento);
 
-                        try {
-                            service.atualizar(entity);
-                            return ResponseEntity.ok(entity);
+                        try (LimitadorRequisicoes.Permissao permissao = limitador.adquirir("atualizar-status", entity.getUsuario().getId())) {
+                            Lancamento lancamento = service.atualizar(entity);
+                            return ResponseEntity.ok()
+                                    .eTag(etag(lancamento.getVersao(), request))
+                                    .body(LancamentoResumo.de(lancamento));
                         }catch (RegraNegocioException e){
                             return ResponseEntity.badRequest().body(e.getMessage());
+                        }catch (OptimisticLockingFailureException e){
+                            return precondicaoFalhou();
+                        }catch (LimiteExcedidoException e){
+                            return Respostas.limiteExcedido(e);
                         }
                 }).orElseGet(() -> new ResponseEntity("Lançamento não encontrado.", HttpStatus.BAD_REQUEST));
     }
 
 
+    @PutMapping("/atualizar-status")
+    public ResponseEntity atualizarStatusEmLote(@RequestBody AtualizaStatusLoteDTO dto,
+                                                @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia){
+        return idempotente("atualizar-status", chaveIdempotencia, dto.getUsuario(), "atualizar-status " + dto, null, () -> {
+            if (dto.getUsuario() == null || !usuarioService.getById(dto.getUsuario()).isPresent()){
+                return ResponseEntity.badRequest().body("Usuário não encontrado para o id informado.");
+            }
+
+            Lancamento filtro = new Lancamento();
+            filtro.setUsuario(Usuario.builder().id(dto.getUsuario()).build());
+            filtro.setAno(dto.getAno());
+            filtro.setMes(dto.getMes());
+
+            try {
+                if (dto.getTipo() != null) {
+                    filtro.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+                }
+                StatusLancamento status = dto.getStatus() != null ? StatusLancamento.valueOf(dto.getStatus()) : null;
+                int atualizados = service.atualizarStatusEmLote(filtro, dto.getIds(), status);
+                return ResponseEntity.ok(atualizados);
+            }catch (IllegalArgumentException e){
+                return ResponseEntity.badRequest().body("Status ou tipo não encontrado.");
+            }catch (RegraNegocioException e){
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        });
+    }
+
+    @PutMapping("/{id}/recorrencia")
+    public ResponseEntity definirRecorrencia(@PathVariable Long id, @RequestBody RecorrenciaDTO dto){
+        return service.getById(id)
+                .map(entity -> {
+                        try (LimitadorRequisicoes.Permissao permissao = limitador.adquirir("recorrencia", entity.getUsuario().getId())) {
+                            Periodicidade periodicidade = dto.getPeriodicidade() != null
+                                    ? Periodicidade.valueOf(dto.getPeriodicidade())
+                                    : null;
+                            RecorrenciaLancamento recorrencia = recorrenciaService.definir(entity, periodicidade, dto.getAnoFim(), dto.getMesFim());
+                            return ResponseEntity.ok(RecorrenciaDTO.de(recorrencia));
+                        }catch (IllegalArgumentException e){
+                            return ResponseEntity.badRequest().body("Periodicidade não encontrada.");
+                        }catch (RegraNegocioException e){
+                            return ResponseEntity.badRequest().body(e.getMessage());
+                        }catch (LimiteExcedidoException e){
+                            return Respostas.limiteExcedido(e);
+                        }
+                }).orElseGet(() -> new ResponseEntity("Lançamento não encontrado.", HttpStatus.BAD_REQUEST));
+    }
+
+    @GetMapping("/{id}/recorrencia")
+    public ResponseEntity obterRecorrencia(@PathVariable Long id){
+        return recorrenciaService.obterPorLancamento(id)
+                .map(recorrencia -> ResponseEntity.ok(RecorrenciaDTO.de(recorrencia)))
+                .orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/{id}/recorrencia")
+    public ResponseEntity removerRecorrencia(@PathVariable Long id){
+        return recorrenciaService.obterPorLancamento(id)
+                .map(recorrencia -> {
+                    try (LimitadorRequisicoes.Permissao permissao = limitador.adquirir("recorrencia", recorrencia.getIdUsuario())) {
+                        recorrenciaService.remover(recorrencia);
+                        return new ResponseEntity(HttpStatus.NO_CONTENT);
+                    }catch (LimiteExcedidoException e){
+                        return Respostas.limiteExcedido(e);
+                    }
+                }).orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+    }
+
+    // A lista é escrita direto na resposta, fora dos conversores do MVC, então o formato é escolhido aqui
+    // pelo Accept, na mesma ordem de preferência dos conversores: JSON, CBOR e Smile. O ETag de um lançamento
+    // usa a mesma escolha para saber qual formato o conversor vai escrever.
+    private MediaType formatoDaLista(NativeWebRequest request){
+        List<MediaType> aceitos;
+        try {
+            aceitos = new ArrayList<>(new HeaderContentNegotiationStrategy().resolveMediaTypes(request));
+        }catch (HttpMediaTypeNotAcceptableException e){
+            return null;
+        }
+
+        MediaType.sortBySpecificityAndQuality(aceitos);
+        for (MediaType aceito : aceitos){
+            for (MediaType formato : FORMATOS_DA_LISTA.keySet()){
+                if (aceito.isCompatibleWith(formato)){
+                    return formato;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Sem um formato aceito o conversor responde 406 de qualquer jeito; o ETag fica com o do JSON.
+    private String etag(Long versao, NativeWebRequest request){
+        MediaType formato = formatoDaLista(request);
+        return etag(versao, formato != null ? formato : MediaType.APPLICATION_JSON);
+    }
+
+    private String etag(Long versao, MediaType formato){
+        return "\"" + versao + SUFIXOS_DO_ETAG.get(formato) + "\"";
+    }
+
+    // A lista depende de todos os lançamentos do usuário; a versão por usuário muda a cada escrita.
+    private String etagDaLista(Long usuarioId){
+        return "W/\"" + service.obterVersaoLancamentos(usuarioId) + "\"";
+    }
+
+    // If-Match usa comparação forte: ETags fracos nunca conferem. O ETag de qualquer formato da versão atual vale.
+    private boolean versaoConfere(String ifMatch, Long versao){
+        if (ifMatch == null){
+            return true;
+        }
+        for (String tag : ifMatch.split(",")){
+            String valor = tag.trim();
+            if (valor.equals("*")){
+                return true;
+            }
+            for (MediaType formato : SUFIXOS_DO_ETAG.keySet()){
+                if (valor.equals(etag(versao, formato))){
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity precondicaoFalhou(){
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body("O lançamento foi alterado por outra requisição.");
+    }
+
+    // Uma repetição com a mesma chave devolve a resposta guardada sem validar nem gravar de novo; só a que está
+    // no cache é servida antes do limite, o resto passa por ele antes de reservar a chave. A resposta de sucesso
+    // é guardada na mesma transação da escrita, e as definitivas de erro depois dela; erro do servidor libera
+    // a chave para uma nova tentativa.
+    private ResponseEntity idempotente(String endpoint, String chave, Long idUsuario, String requisicao,
+                                       DigestInputStream corpo, Escrita escrita) {
+        Optional<RespostaIdempotenteDTO> anterior = Optional.empty();
+        if (chave != null && idUsuario != null) {
+            try {
+                anterior = idempotenciaService.repetida(idUsuario, chave, requisicao);
+            }catch (RegraNegocioException e){
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        if (anterior.isPresent()) {
+            return repetir(anterior.get(), corpo);
+        }
+
+        try (LimitadorRequisicoes.Permissao permissao = limitador.adquirir(endpoint, idUsuario)) {
+            if (chave == null || idUsuario == null) {
+                return escrita.executar();
+            }
+            return reservarEExecutar(chave, idUsuario, requisicao, corpo, escrita);
+        }catch (LimiteExcedidoException e){
+            return Respostas.limiteExcedido(e);
+        }
+    }
+
+    private ResponseEntity reservarEExecutar(String chave, Long idUsuario, String requisicao,
+                                             DigestInputStream corpo, Escrita escrita) {
+        Optional<RespostaIdempotenteDTO> anterior;
+        try {
+            anterior = idempotenciaService.iniciar(idUsuario, chave, requisicao);
+        }catch (ChaveIdempotenciaEmUsoException e){
+            return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").body(e.getMessage());
+        }catch (RegraNegocioException e){
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (anterior.isPresent()) {
+            return repetir(anterior.get(), corpo);
+        }
+
+        ResponseEntity resposta = null;
+        try {
+            resposta = transacao.execute(status -> {
+                ResponseEntity executada = escrita.executar();
+                if (!executada.getStatusCode().is2xxSuccessful()) {
+                    status.setRollbackOnly();
+                    return executada;
+                }
+                // uma falha já tratada lá dentro (um lote da importação, por exemplo) desfaz a escrita inteira
+                if (status.isRollbackOnly()) {
+                    status.setRollbackOnly();
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .body("Não foi possível concluir a gravação, tente novamente.");
+                }
+                idempotenciaService.concluir(idUsuario, chave, requisicao, impressaoDoCorpo(corpo),
+                        executada.getStatusCodeValue(), executada.getBody());
+                return executada;
+            });
+        } finally {
+            if (resposta == null || resposta.getStatusCode().is5xxServerError()) {
+                idempotenciaService.liberar(idUsuario, chave);
+            } else if (!resposta.getStatusCode().is2xxSuccessful()) {
+                idempotenciaService.concluir(idUsuario, chave, requisicao, impressaoDoCorpo(corpo),
+                        resposta.getStatusCodeValue(), resposta.getBody());
+            }
+        }
+        return resposta;
+    }
+
+    private ResponseEntity repetir(RespostaIdempotenteDTO anterior, DigestInputStream corpo) {
+        if (anterior.getImpressaoCorpo() != null && !anterior.getImpressaoCorpo().equals(impressaoDoCorpo(corpo))) {
+            return ResponseEntity.unprocessableEntity().body("Idempotency-Key já usada em outra requisição.");
+        }
+        return ResponseEntity.status(anterior.getStatus())
+                .header(IDEMPOTENT_REPLAYED, "true")
+                .body(anterior.getCorpo());
+    }
+
+    private static DigestInputStream comImpressao(InputStream corpo) {
+        try {
+            return new DigestInputStream(corpo, MessageDigest.getInstance("SHA-256"));
+        }catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Lê o que sobrou do corpo, para a impressão cobrir o arquivo inteiro mesmo quando a escrita parou antes.
+    private static String impressaoDoCorpo(DigestInputStream corpo) {
+        if (corpo == null) {
+            return null;
+        }
+        try {
+            byte[] restante = new byte[8192];
+            while (corpo.read(restante) != -1) {
+                // só atualiza o digest
+            }
+        }catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        return new String(Hex.encode(corpo.getMessageDigest().digest()));
+    }
+
+    @FunctionalInterface
+    private interface Escrita {
+        ResponseEntity executar();
+    }
+
+    private ResponseEntity<StreamingResponseBody> mensagem(HttpStatus status, String mensagem){
+        return ResponseEntity.status(status)
+                .contentType(new MediaType("text", "plain", StandardCharsets.UTF_8))
+                .body(saida -> saida.write(mensagem.getBytes(StandardCharsets.UTF_8)));
+    }
+
     private Lancamento converter(LancamentoDTO dto){
         Usuario usuario = usuarioService.getById(dto.getUsuario())
                 .orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o id informado."));
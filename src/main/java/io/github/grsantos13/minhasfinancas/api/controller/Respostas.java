@@ -0,0 +1,26 @@
+package io.github.grsantos13.minhasfinancas.api.controller;
+
+import io.github.grsantos13.minhasfinancas.exception.LimiteExcedidoException;
+import io.github.grsantos13.minhasfinancas.exception.ServicoIndisponivelException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// Respostas de recusa iguais em todos os controllers: o cliente sempre recebe o Retry-After.
+final class Respostas {
+
+    private Respostas() {
+    }
+
+    static ResponseEntity limiteExcedido(LimiteExcedidoException e){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getSegundosParaNovaTentativa()))
+                .body(e.getMessage());
+    }
+
+    static ResponseEntity indisponivel(ServicoIndisponivelException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+}
@@ -1,13 +1,24 @@
 package io.github.grsantos13.minhasfinancas.api.controller;
 
+import io.github.grsantos13.minhasfinancas.api.dto.ProjecaoSaldoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.ResumoMensalDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.SaldoMensalDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.SaldoRecalculadoDTO;
 import io.github.grsantos13.minhasfinancas.api.dto.UsuarioAutenticarDTO;
 import io.github.grsantos13.minhasfinancas.api.dto.UsuarioDTO;
+import io.github.grsantos13.minhasfinancas.config.LimitadorRequisicoes;
 import io.github.grsantos13.minhasfinancas.exception.ErroDeAutenticacao;
+import io.github.grsantos13.minhasfinancas.exception.LimiteExcedidoException;
 import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.exception.ServicoIndisponivelException;
 import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
 import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import io.github.grsantos13.minhasfinancas.service.ProjecaoFluxoCaixaService;
 import io.github.grsantos13.minhasfinancas.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,18 +26,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/usuarios")
 @RequiredArgsConstructor
 public class UsuarioController {
 
     private final UsuarioService service;
     private final LancamentoService lancamentoService;
+    private final ProjecaoFluxoCaixaService projecaoService;
+    private final LimitadorRequisicoes limitador;
 
     @PostMapping
     public ResponseEntity cadastrarUsuario(@RequestBody UsuarioDTO usuario){
@@ -41,16 +57,23 @@ public class UsuarioController {
             return new ResponseEntity(usuarioCadastrado, HttpStatus.CREATED);
         }catch (RegraNegocioException e){
             return ResponseEntity.badRequest().body(e.getMessage());
+        }catch (ServicoIndisponivelException e){
+            return Respostas.indisponivel(e);
         }
     }
 
     @PostMapping("/login")
     public ResponseEntity autenticar(@RequestBody UsuarioAutenticarDTO autenticar){
-        try {
+        // antes do login não há id: a chave é o e-mail tentado
+        try (LimitadorRequisicoes.Permissao permissao = limitador.adquirir("login", autenticar.getEmail())) {
             Usuario usuarioAutenticado = service.autenticar(autenticar.getEmail(), autenticar.getSenha());
             return ResponseEntity.ok(usuarioAutenticado);
         }catch (ErroDeAutenticacao e){
             return ResponseEntity.badRequest().body(e.getMessage());
+        }catch (ServicoIndisponivelException e){
+            return Respostas.indisponivel(e);
+        }catch (LimiteExcedidoException e){
+            return Respostas.limiteExcedido(e);
         }
     }
 
@@ -65,4 +88,85 @@ public class UsuarioController {
         BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
         return ResponseEntity.ok(saldo);
     }
+
+    @GetMapping("/{id}/saldo/mensal")
+    public ResponseEntity consultarSaldoMensal(@PathVariable Long id,
+                                               @RequestParam("ano") Integer ano,
+                                               @RequestParam(value = "status", required = false) String status){
+        Optional<Usuario> usuario = service.getById(id);
+
+        if (!usuario.isPresent()){
+            return new ResponseEntity("Usuário não encontrado", HttpStatus.NOT_FOUND);
+        }
+
+        StatusLancamento statusLancamento = status != null ? StatusLancamento.valueOf(status) : null;
+        List<SaldoMensalDTO> saldoMensal = lancamentoService.obterSaldoMensalPorUsuario(id, ano, statusLancamento);
+        return ResponseEntity.ok(saldoMensal);
+    }
+
+    @GetMapping("/{id}/saldo/projecao")
+    public ResponseEntity projetarSaldo(@PathVariable Long id,
+                                        @RequestParam(value = "meses", required = false) Integer meses){
+        Optional<Usuario> usuario = service.getById(id);
+
+        if (!usuario.isPresent()){
+            return new ResponseEntity("Usuário não encontrado", HttpStatus.NOT_FOUND);
+        }
+
+        try {
+            List<ProjecaoSaldoDTO> projecao = projecaoService.projetar(id, meses);
+            return ResponseEntity.ok(projecao);
+        }catch (RegraNegocioException e){
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/saldo/recalcular")
+    public ResponseEntity recalcularSaldo(@PathVariable Long id){
+        Optional<Usuario> usuario = service.getById(id);
+
+        if (!usuario.isPresent()){
+            return new ResponseEntity("Usuário não encontrado", HttpStatus.NOT_FOUND);
+        }
+
+        BigDecimal saldoAnterior = lancamentoService.obterSaldoPorUsuario(id);
+        BigDecimal saldoRecalculado = lancamentoService.recalcularSaldoPorUsuario(id);
+
+        SaldoRecalculadoDTO dto = SaldoRecalculadoDTO.builder()
+                                .saldoAnterior(saldoAnterior)
+                                .saldoRecalculado(saldoRecalculado)
+                                .divergente(saldoAnterior.compareTo(saldoRecalculado) != 0)
+                                .build();
+        return ResponseEntity.ok(dto);
+    }
+
+    @GetMapping("/{id}/resumo-mensal")
+    public ResponseEntity consultarResumoMensal(@PathVariable Long id,
+                                                @RequestParam("ano") Integer ano,
+                                                @RequestParam(value = "mes", required = false) Integer mes,
+                                                @RequestParam(value = "tipo", required = false) String tipo,
+                                                @RequestParam(value = "status", required = false) String status){
+        Optional<Usuario> usuario = service.getById(id);
+
+        if (!usuario.isPresent()){
+            return new ResponseEntity("Usuário não encontrado", HttpStatus.NOT_FOUND);
+        }
+
+        TipoLancamento tipoLancamento = tipo != null ? TipoLancamento.valueOf(tipo) : null;
+        StatusLancamento statusLancamento = status != null ? StatusLancamento.valueOf(status) : null;
+        List<ResumoMensalDTO> resumo = lancamentoService.obterResumoMensalPorUsuario(id, ano, mes, tipoLancamento, statusLancamento);
+        return ResponseEntity.ok(resumo);
+    }
+
+    @PostMapping("/{id}/resumo-mensal/recalcular")
+    public ResponseEntity recalcularResumoMensal(@PathVariable Long id){
+        Optional<Usuario> usuario = service.getById(id);
+
+        if (!usuario.isPresent()){
+            return new ResponseEntity("Usuário não encontrado", HttpStatus.NOT_FOUND);
+        }
+
+        lancamentoService.recalcularResumoMensalPorUsuario(id);
+        return new ResponseEntity(HttpStatus.NO_CONTENT);
+    }
 }
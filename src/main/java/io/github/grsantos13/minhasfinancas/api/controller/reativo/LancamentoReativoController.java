@@ -0,0 +1,88 @@
+package io.github.grsantos13.minhasfinancas.api.controller.reativo;
+
+import io.github.grsantos13.minhasfinancas.api.dto.LancamentoDTO;
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.service.LancamentoReativoService;
+import io.github.grsantos13.minhasfinancas.service.UsuarioReativoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+// Parte da API de lançamentos na pilha reativa (perfil reactive): cadastro e consultas. Importação,
+// exportação, atualizações e exclusão continuam só na pilha servlet.
+@RestController
+@RequestMapping("/api/lancamentos")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class LancamentoReativoController {
+
+    private final LancamentoReativoService service;
+    private final UsuarioReativoService usuarioService;
+
+    @PostMapping
+    public Mono<ResponseEntity> salvar(@RequestBody LancamentoDTO lancamentoDTO){
+        return Mono.justOrEmpty(lancamentoDTO.getUsuario())
+                .flatMap(usuarioService::getById)
+                .switchIfEmpty(Mono.error(new RegraNegocioException("Usuário não encontrado para o id informado.")))
+                .flatMap(usuario -> service.salvar(converter(lancamentoDTO, usuario.getId())))
+                .map(lancamento -> (ResponseEntity) new ResponseEntity(lancamento, HttpStatus.CREATED))
+                .onErrorResume(RegraNegocioException.class, e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity> buscar(@RequestParam(value = "descricao", required = false) String descricao,
+                                       @RequestParam(value = "mes", required = false) Integer mes,
+                                       @RequestParam(value = "ano", required = false) Integer ano,
+                                       @RequestParam(value = "tipo", required = false) String tipo,
+                                       @RequestParam("usuario") Long usuarioId){
+        Lancamento lancamentoFiltro = new Lancamento();
+            lancamentoFiltro.setDescricao(descricao);
+            lancamentoFiltro.setMes(mes);
+            lancamentoFiltro.setAno(ano);
+            lancamentoFiltro.setUsuario(Usuario.builder().id(usuarioId).build());
+            if (tipo != null) {
+                lancamentoFiltro.setTipo(TipoLancamento.valueOf(tipo));
+            }
+
+        return usuarioService.getById(usuarioId)
+                .flatMap(usuario -> service.buscarResumos(lancamentoFiltro).collectList())
+                .map(lancamentos -> (ResponseEntity) ResponseEntity.ok(lancamentos))
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Não foi possível realizar a consulta, usuário não encontrado."));
+    }
+
+    // O ResponseEntityResultHandler do WebFlux já responde 304 quando o If-None-Match bate com o ETag. Ele é
+    // fraco porque o mesmo valor vale para o JSON e para o Smile; esta pilha não aceita If-Match.
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity> buscarPorId(@PathVariable Long id){
+        return service.getResumoById(id)
+                .map(lancamento -> (ResponseEntity) ResponseEntity.ok()
+                        .eTag("W/\"" + lancamento.getVersao() + "\"")
+                        .body(lancamento))
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Lançamento não encontrado."));
+    }
+
+    private Lancamento converter(LancamentoDTO dto, Long idUsuario){
+        Lancamento lancamento = new Lancamento();
+            lancamento.setDescricao(dto.getDescricao());
+            lancamento.setAno(dto.getAno());
+            lancamento.setMes(dto.getMes());
+            lancamento.setValor(dto.getValor());
+            lancamento.setUsuario(Usuario.builder().id(idUsuario).build());
+            if (dto.getTipo() != null) {
+                lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+            }
+        return lancamento;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.grsantos13.minhasfinancas.api.controller.reativo;
+
+import io.github.grsantos13.minhasfinancas.service.LancamentoReativoService;
+import io.github.grsantos13.minhasfinancas.service.UsuarioReativoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/usuarios")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class UsuarioReativoController {
+
+    private final UsuarioReativoService service;
+    private final LancamentoReativoService lancamentoService;
+
+    @GetMapping("/{id}/saldo")
+    public Mono<ResponseEntity> consultarSaldo(@PathVariable Long id){
+        return service.getById(id)
+                .flatMap(usuario -> lancamentoService.obterSaldoPorUsuario(id))
+                .map(saldo -> (ResponseEntity) ResponseEntity.ok(saldo))
+                .defaultIfEmpty(new ResponseEntity("Usuário não encontrado", HttpStatus.NOT_FOUND));
+    }
+}
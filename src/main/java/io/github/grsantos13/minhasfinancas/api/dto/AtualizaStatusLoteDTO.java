@@ -0,0 +1,22 @@
+package io.github.grsantos13.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizaStatusLoteDTO {
+
+    private Long usuario;
+    private List<Long> ids;
+    private Integer ano;
+    private Integer mes;
+    private String tipo;
+    private String status;
+}
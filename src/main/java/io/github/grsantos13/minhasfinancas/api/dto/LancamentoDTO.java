@@ -21,4 +21,5 @@ public class LancamentoDTO {
     private Long usuario;
     private String tipo;
     private String status;
+    private Long versao;
 }
@@ -0,0 +1,19 @@
+package io.github.grsantos13.minhasfinancas.api.dto;
+
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaLancamentoDTO {
+
+    private List<LancamentoResumo> itens;
+    private String proximoCursor;
+}
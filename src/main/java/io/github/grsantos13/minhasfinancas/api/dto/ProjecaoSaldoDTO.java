@@ -0,0 +1,21 @@
+package io.github.grsantos13.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjecaoSaldoDTO {
+
+    private Integer ano;
+    private Integer mes;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private BigDecimal saldoProjetado;
+}
@@ -0,0 +1,34 @@
+package io.github.grsantos13.minhasfinancas.api.dto;
+
+import io.github.grsantos13.minhasfinancas.model.entity.RecorrenciaLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+
+    private Long id;
+    private Long lancamento;
+    private String periodicidade;
+    private Integer proximoAno;
+    private Integer proximoMes;
+    private Integer anoFim;
+    private Integer mesFim;
+
+    public static RecorrenciaDTO de(RecorrenciaLancamento recorrencia) {
+        return RecorrenciaDTO.builder()
+                .id(recorrencia.getId())
+                .lancamento(recorrencia.getLancamento().getId())
+                .periodicidade(recorrencia.getPeriodicidade().name())
+                .proximoAno(recorrencia.getProximoAno())
+                .proximoMes(recorrencia.getProximoMes())
+                .anoFim(recorrencia.getAnoFim())
+                .mesFim(recorrencia.getMesFim())
+                .build();
+    }
+}
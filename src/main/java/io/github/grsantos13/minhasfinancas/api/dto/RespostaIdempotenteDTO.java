@@ -0,0 +1,17 @@
+package io.github.grsantos13.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RespostaIdempotenteDTO {
+
+    private int status;
+    private Object corpo;
+    private String impressaoCorpo;
+}
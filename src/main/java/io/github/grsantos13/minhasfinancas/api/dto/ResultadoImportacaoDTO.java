@@ -0,0 +1,22 @@
+package io.github.grsantos13.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+
+    private long linhasLidas;
+    private long lancamentosImportados;
+    private long linhasComErro;
+    @Builder.Default
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+}
@@ -0,0 +1,36 @@
+package io.github.grsantos13.minhasfinancas.api.dto;
+
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensal;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalDTO {
+
+    private Integer ano;
+    private Integer mes;
+    private TipoLancamento tipo;
+    private StatusLancamento status;
+    private BigDecimal total;
+    private Long quantidade;
+
+    public static ResumoMensalDTO de(ResumoMensal resumo) {
+        return ResumoMensalDTO.builder()
+                .ano(resumo.getId().getAno())
+                .mes(resumo.getId().getMes())
+                .tipo(resumo.getId().getTipo())
+                .status(resumo.getId().getStatus())
+                .total(resumo.getTotal())
+                .quantidade(resumo.getQuantidade())
+                .build();
+    }
+}
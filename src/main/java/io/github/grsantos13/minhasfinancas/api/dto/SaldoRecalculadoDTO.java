@@ -0,0 +1,19 @@
+package io.github.grsantos13.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoRecalculadoDTO {
+
+    private BigDecimal saldoAnterior;
+    private BigDecimal saldoRecalculado;
+    private boolean divergente;
+}
@@ -0,0 +1,79 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+
+// A primária é declarada aqui e não pelo Spring Boot: no perfil reactive o Boot não cria DataSource quando
+// há um ConnectionFactory do R2DBC, e com réplica configurada ela passa a ser um dos destinos do roteador.
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    public static final String PRIMARIA_DATA_SOURCE = "primariaDataSource";
+    public static final String REPLICA_DATA_SOURCE = "replicaDataSource";
+
+    @Bean(PRIMARIA_DATA_SOURCE)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primariaDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Configuration
+    @ConditionalOnProperty("minhasfinancas.datasource.replica.jdbc-url")
+    static class ReplicaConfig {
+
+        @Bean(REPLICA_DATA_SOURCE)
+        @ConfigurationProperties("minhasfinancas.datasource.replica")
+        public HikariDataSource replicaDataSource() {
+            return new HikariDataSource();
+        }
+
+        // O inicializador de DataSource do Boot é criado ao fim da inicialização da primária e pede este bean;
+        // para não formar um ciclo, os destinos são @Lazy e o proxy não abre conexão para descobrir os padrões.
+        @Bean
+        @Primary
+        public DataSource dataSource(@Lazy @Qualifier(PRIMARIA_DATA_SOURCE) DataSource primaria,
+                                     @Lazy @Qualifier(REPLICA_DATA_SOURCE) DataSource replica,
+                                     RoteamentoLeitura roteamento) {
+            Map<Object, Object> destinos = new HashMap<>();
+            destinos.put(RoteadorDataSource.Destino.PRIMARIA, primaria);
+            destinos.put(RoteadorDataSource.Destino.REPLICA, replica);
+
+            RoteadorDataSource roteador = new RoteadorDataSource(roteamento);
+            roteador.setTargetDataSources(destinos);
+            roteador.setDefaultTargetDataSource(primaria);
+            roteador.afterPropertiesSet();
+
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+            proxy.setTargetDataSource(roteador);
+            proxy.setDefaultAutoCommit(true);
+            proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            return proxy;
+        }
+
+        // Com o open-in-view a sessão do Hibernate atravessa a requisição inteira; segurando a conexão até o
+        // fim dela, uma escrita depois de uma leitura iria para a réplica.
+        @Bean
+        public HibernatePropertiesCustomizer liberarConexaoAoFimDaTransacao() {
+            return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+        }
+    }
+}
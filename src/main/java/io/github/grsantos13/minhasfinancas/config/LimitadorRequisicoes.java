@@ -0,0 +1,137 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.grsantos13.minhasfinancas.exception.LimiteExcedidoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Limite por usuário (ou outra chave, como o e-mail no login) em cada endpoint: um balde de fichas com
+// reposição contínua e um teto de requisições simultâneas. Os valores vêm de minhasfinancas.limite.<endpoint>.*,
+// com minhasfinancas.limite.padrao.* para o que não for configurado; 0 desliga o limite.
+@Component
+public class LimitadorRequisicoes {
+
+    private static final String PREFIXO = "minhasfinancas.limite.";
+    private static final long NANOS_POR_SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final Environment environment;
+    private final LongSupplier relogio;
+    private final Map<String, Regra> regras = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LimitadorRequisicoes(Environment environment) {
+        this(environment, System::nanoTime);
+    }
+
+    LimitadorRequisicoes(Environment environment, LongSupplier relogio) {
+        this.environment = environment;
+        this.relogio = relogio;
+    }
+
+    // A permissão devolve a vaga de requisição simultânea no close, então deve ser usada em try-with-resources.
+    public Permissao adquirir(String endpoint, Object chave) {
+        Regra regra = regras.computeIfAbsent(endpoint, this::carregarRegra);
+        Balde balde = regra.baldes.get(chave != null ? chave : "", id -> new Balde());
+
+        if (!balde.ocuparVaga(regra.simultaneas)) {
+            throw new LimiteExcedidoException("Muitas requisições simultâneas, tente novamente em instantes.", 1);
+        }
+        long espera = balde.consumirFicha(relogio.getAsLong(), regra.intervaloNanos, regra.toleranciaNanos);
+        if (espera > 0) {
+            balde.liberarVaga(regra.simultaneas);
+            throw new LimiteExcedidoException("Limite de requisições excedido, tente novamente em instantes.",
+                    Math.max(1, (espera + NANOS_POR_SEGUNDO - 1) / NANOS_POR_SEGUNDO));
+        }
+        return () -> balde.liberarVaga(regra.simultaneas);
+    }
+
+    private Regra carregarRegra(String endpoint) {
+        double porSegundo = propriedade(endpoint, "por-segundo", Double.class, 0d);
+        int rajada = propriedade(endpoint, "rajada", Integer.class, 1);
+        int simultaneas = propriedade(endpoint, "simultaneas", Integer.class, 0);
+        return new Regra(porSegundo, rajada, simultaneas);
+    }
+
+    private <T> T propriedade(String endpoint, String nome, Class<T> tipo, T padrao) {
+        T valor = environment.getProperty(PREFIXO + endpoint + "." + nome, tipo);
+        return valor != null ? valor : environment.getProperty(PREFIXO + "padrao." + nome, tipo, padrao);
+    }
+
+    public interface Permissao extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Regra {
+
+        private final long intervaloNanos;
+        private final long toleranciaNanos;
+        private final int simultaneas;
+        private final Cache<Object, Balde> baldes = Caffeine.newBuilder()
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .maximumSize(100_000)
+                .build();
+
+        private Regra(double porSegundo, int rajada, int simultaneas) {
+            this.intervaloNanos = porSegundo > 0 ? (long) (NANOS_POR_SEGUNDO / porSegundo) : 0;
+            this.toleranciaNanos = intervaloNanos * Math.max(rajada, 1);
+            this.simultaneas = simultaneas;
+        }
+    }
+
+    // Sem locks: o balde é guardado como o instante em que ele estaria cheio de novo (GCRA), atualizado por CAS,
+    // e as requisições em andamento num contador.
+    private static final class Balde {
+
+        private final AtomicLong cheioEm = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger emAndamento = new AtomicInteger();
+
+        // Devolve 0 quando a ficha foi consumida, ou quantos nanos faltam para a próxima.
+        private long consumirFicha(long agora, long intervalo, long tolerancia) {
+            if (intervalo == 0) {
+                return 0;
+            }
+            while (true) {
+                long atual = cheioEm.get();
+                long proximo = Math.max(atual, agora) + intervalo;
+                long excesso = proximo - agora - tolerancia;
+                if (excesso > 0) {
+                    return excesso;
+                }
+                if (cheioEm.compareAndSet(atual, proximo)) {
+                    return 0;
+                }
+            }
+        }
+
+        private boolean ocuparVaga(int limite) {
+            if (limite <= 0) {
+                return true;
+            }
+            while (true) {
+                int atual = emAndamento.get();
+                if (atual >= limite) {
+                    return false;
+                }
+                if (emAndamento.compareAndSet(atual, atual + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void liberarVaga(int limite) {
+            if (limite > 0) {
+                emAndamento.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Os endpoints já são medidos pelo Spring Boot em http.server.requests (uri, method, status, outcome);
+// aqui ficam os serviços e os repositórios, que o Boot não instrumenta.
+@Aspect
+@Component
+public class MetricasAspect {
+
+    public static final String METRICA_SERVICO = "minhasfinancas.servico";
+    public static final String METRICA_REPOSITORIO = "minhasfinancas.repositorio";
+
+    private static final String PACOTE_APLICACAO = "io.github.grsantos13.minhasfinancas.";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> nomesPorClasse = new ConcurrentHashMap<>();
+
+    public MetricasAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * *(..)) && (" +
+            "target(io.github.grsantos13.minhasfinancas.service.LancamentoService) || " +
+            "target(io.github.grsantos13.minhasfinancas.service.UsuarioService) || " +
+            "target(io.github.grsantos13.minhasfinancas.service.ExportacaoLancamentoService) || " +
+            "target(io.github.grsantos13.minhasfinancas.service.RecorrenciaLancamentoService))")
+    public Object medirServico(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(METRICA_SERVICO, joinPoint);
+    }
+
+    // Para métodos que devolvem Stream o tempo medido é só o da abertura do cursor. Os repositórios
+    // reativos ficam de fora: o tempo seria o da montagem do Mono/Flux, não o da consulta.
+    @Around("execution(public * *(..)) && this(org.springframework.data.repository.Repository) && " +
+            "!this(org.springframework.data.repository.reactive.ReactiveCrudRepository)")
+    public Object medirRepositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(METRICA_REPOSITORIO, joinPoint);
+    }
+
+    private Object medir(String metrica, ProceedingJoinPoint joinPoint) throws Throwable {
+        String classe = nomesPorClasse.computeIfAbsent(joinPoint.getThis().getClass(), this::nomeDaInterface);
+        String metodo = joinPoint.getSignature().getName();
+
+        Timer.Sample amostra = Timer.start(registry);
+        String resultado = "sucesso";
+        try {
+            Object retorno = joinPoint.proceed();
+            if (retorno instanceof Collection) {
+                DistributionSummary.builder(metrica + ".linhas")
+                        .tags("classe", classe, "metodo", metodo)
+                        .register(registry)
+                        .record(((Collection<?>) retorno).size());
+            }
+            return retorno;
+        } catch (Throwable e) {
+            resultado = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder(metrica)
+                    .tags("classe", classe, "metodo", metodo, "resultado", resultado)
+                    .register(registry));
+        }
+    }
+
+    // Os beans chegam como proxies; o nome útil é o da interface da aplicação que eles implementam.
+    private String nomeDaInterface(Class<?> classe) {
+        for (Class<?> interfaceDaClasse : ClassUtils.getAllInterfacesForClassAsSet(classe)) {
+            if (interfaceDaClasse.getName().startsWith(PACOTE_APLICACAO)) {
+                return interfaceDaClasse.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(classe).getSimpleName();
+    }
+}
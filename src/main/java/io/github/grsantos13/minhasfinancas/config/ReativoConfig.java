@@ -0,0 +1,43 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.connectionfactory.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+@Configuration
+@Profile("reactive")
+public class ReativoConfig implements WebFluxConfigurer {
+
+    // Sem spring.r2dbc.url o Spring Boot cria um H2 em memória (o driver está no classpath) e a pilha reativa
+    // passaria a gravar num banco diferente do da JPA: o perfil reactive não sobe sem a URL.
+    public ReativoConfig(@Value("${spring.r2dbc.url:}") String url) {
+        if (url.trim().isEmpty()) {
+            throw new IllegalStateException("O perfil reactive precisa de spring.r2dbc.url apontando para o mesmo banco da JPA.");
+        }
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
+    }
+
+    // O Tomcat continua no classpath por causa da pilha servlet e o Spring Boot o preferiria ao Netty.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // O R2dbcTransactionManager não vira bean: com dois TransactionManager no contexto o @Transactional
+    // dos serviços JPA deixaria de achar o seu.
+    @Bean
+    public TransactionalOperator transacaoReativa(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
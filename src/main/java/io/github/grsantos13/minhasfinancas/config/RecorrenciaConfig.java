@@ -0,0 +1,32 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class RecorrenciaConfig {
+
+    public static final String MATERIALIZACAO_EXECUTOR = "materializacaoRecorrenciasExecutor";
+
+    @Value("${minhasfinancas.recorrencia.threads:4}")
+    private int threads;
+
+    // Cada thread segura uma conexão durante o bloco: o pool precisa caber no Hikari junto com as requisições.
+    // Com a fila cheia quem lê os blocos passa a processá-los, o que segura a leitura no ritmo dos workers.
+    @Bean(name = MATERIALIZACAO_EXECUTOR)
+    public ThreadPoolTaskExecutor materializacaoRecorrenciasExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("materializacao-recorrencias-");
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class RoteadorDataSource extends AbstractRoutingDataSource {
+
+    enum Destino {
+        PRIMARIA, REPLICA
+    }
+
+    private final RoteamentoLeitura roteamento;
+
+    RoteadorDataSource(RoteamentoLeitura roteamento) {
+        this.roteamento = roteamento;
+    }
+
+    // Só é consultado quando a conexão física é pedida (LazyConnectionDataSourceProxy), já com a transação
+    // marcada como somente leitura ou não. Fora de transação tudo vai para a primária.
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !roteamento.primariaObrigatoria()) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIA;
+    }
+}
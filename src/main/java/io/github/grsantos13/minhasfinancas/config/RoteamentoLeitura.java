@@ -0,0 +1,83 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Decide, junto com o RoteadorDataSource, quando uma leitura somente leitura precisa ir à primária:
+// durante a janela após uma escrita do usuário (ler as próprias escritas apesar do atraso da réplica)
+// ou quando o chamador pede explicitamente com naPrimaria.
+@Component
+public class RoteamentoLeitura {
+
+    private final ThreadLocal<Boolean> primariaObrigatoria = new ThreadLocal<>();
+    private final Cache<Long, Boolean> escritasRecentes;
+
+    public RoteamentoLeitura(@Value("${minhasfinancas.datasource.replica.janela-leitura:5000}") long janelaLeituraMillis) {
+        this.escritasRecentes = Caffeine.newBuilder()
+                .expireAfterWrite(Math.max(janelaLeituraMillis, 0), TimeUnit.MILLISECONDS)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    // A janela começa no commit; antes dele nenhuma réplica teria como enxergar a escrita.
+    public void registrarEscrita(Long idUsuario) {
+        if (idUsuario == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    escritasRecentes.put(idUsuario, Boolean.TRUE);
+                }
+            });
+        } else {
+            escritasRecentes.put(idUsuario, Boolean.TRUE);
+        }
+    }
+
+    public boolean escritaRecente(Long idUsuario) {
+        return idUsuario != null && escritasRecentes.getIfPresent(idUsuario) != null;
+    }
+
+    // Precisa ser chamado antes da primeira consulta da transação, que é quando a conexão é escolhida.
+    public void lerParaUsuario(Long idUsuario) {
+        if (!escritaRecente(idUsuario) || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        primariaObrigatoria.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                primariaObrigatoria.remove();
+            }
+        });
+    }
+
+    public <T> T naPrimaria(Supplier<T> leitura) {
+        Boolean anterior = primariaObrigatoria.get();
+        primariaObrigatoria.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior == null) {
+                primariaObrigatoria.remove();
+            } else {
+                primariaObrigatoria.set(anterior);
+            }
+        }
+    }
+
+    boolean primariaObrigatoria() {
+        return Boolean.TRUE.equals(primariaObrigatoria.get());
+    }
+}
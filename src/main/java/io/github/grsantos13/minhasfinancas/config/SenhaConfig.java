@@ -0,0 +1,41 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class SenhaConfig {
+
+    public static final String VERIFICACAO_SENHA_EXECUTOR = "verificacaoSenhaExecutor";
+
+    @Value("${minhasfinancas.senha.custo:10}")
+    private int custo;
+
+    @Value("${minhasfinancas.senha.threads:0}")
+    private int threads;
+
+    @Value("${minhasfinancas.senha.fila:32}")
+    private int fila;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(custo);
+    }
+
+    // O hash é CPU-bound: o pool fica limitado aos núcleos e a fila curta rejeita o excedente
+    // em vez de acumular logins esperando e ocupando as threads do Tomcat.
+    @Bean(name = VERIFICACAO_SENHA_EXECUTOR)
+    public ThreadPoolTaskExecutor verificacaoSenhaExecutor() {
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(tamanho);
+        executor.setMaxPoolSize(tamanho);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("verificacao-senha-");
+        return executor;
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.grsantos13.minhasfinancas.exception;
+
+public class ChaveIdempotenciaEmUsoException extends RuntimeException {
+    public ChaveIdempotenciaEmUsoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.grsantos13.minhasfinancas.exception;
+
+public class LimiteExcedidoException extends RuntimeException {
+
+    private final long segundosParaNovaTentativa;
+
+    public LimiteExcedidoException(String message, long segundosParaNovaTentativa) {
+        super(message);
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
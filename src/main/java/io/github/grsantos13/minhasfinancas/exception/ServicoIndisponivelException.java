@@ -0,0 +1,7 @@
+package io.github.grsantos13.minhasfinancas.exception;
+
+public class ServicoIndisponivelException extends RuntimeException {
+    public ServicoIndisponivelException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.grsantos13.minhasfinancas.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.time.LocalDateTime;
+
+// Status nulo marca a reserva de uma requisição em andamento; a versão nula faz o save inserir
+// (e falhar na chave primária se outra requisição reservou antes) em vez de sobrescrever.
+@Entity
+@Table(name = "chave_idempotencia", indexes = {
+        @Index(name = "idx_chave_idempotencia_expira_em", columnList = "expira_em")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChaveIdempotencia {
+
+    @EmbeddedId
+    private ChaveIdempotenciaId id;
+
+    @Column(name = "requisicao")
+    private String requisicao;
+
+    @Column(name = "impressao_corpo")
+    private String impressaoCorpo;
+
+    @Column(name = "status")
+    private Integer status;
+
+    @Column(name = "corpo")
+    private String corpo;
+
+    @Column(name = "data_cadastro")
+    private LocalDateTime dataCadastro;
+
+    @Column(name = "expira_em")
+    private LocalDateTime expiraEm;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+}
@@ -0,0 +1,24 @@
+package io.github.grsantos13.minhasfinancas.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChaveIdempotenciaId implements Serializable {
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "chave")
+    private String chave;
+}
@@ -15,14 +15,20 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "lancamento")
+@Table(name = "lancamento", indexes = {
+        @Index(name = "idx_lancamento_usuario_tipo_status", columnList = "id_usuario, tipo, status"),
+        @Index(name = "idx_lancamento_usuario_ano_mes", columnList = "id_usuario, ano, mes, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -30,7 +36,8 @@ import java.time.LocalDateTime;
 public class Lancamento {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+    @SequenceGenerator(name = "lancamento_seq", sequenceName = "lancamento_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "descricao")
@@ -60,4 +67,8 @@ public class Lancamento {
     @Column(name = "status")
     @Enumerated(EnumType.STRING)
     private StatusLancamento status;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
 }
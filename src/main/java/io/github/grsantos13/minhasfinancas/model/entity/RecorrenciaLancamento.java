@@ -0,0 +1,67 @@
+package io.github.grsantos13.minhasfinancas.model.entity;
+
+import io.github.grsantos13.minhasfinancas.model.enums.Periodicidade;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.OneToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+// O lançamento de origem é o modelo das ocorrências. Próximo ano/mês é o cursor da materialização:
+// avança na mesma transação que grava as ocorrências e fica nulo quando a recorrência termina.
+@Entity
+@Table(name = "recorrencia_lancamento", indexes = {
+        @Index(name = "idx_recorrencia_usuario_proxima", columnList = "id_usuario, proximo_ano, proximo_mes")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RecorrenciaLancamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recorrencia_lancamento_seq")
+    @SequenceGenerator(name = "recorrencia_lancamento_seq", sequenceName = "recorrencia_lancamento_seq", allocationSize = 50)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_lancamento")
+    private Lancamento lancamento;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "periodicidade")
+    @Enumerated(EnumType.STRING)
+    private Periodicidade periodicidade;
+
+    @Column(name = "proximo_ano")
+    private Integer proximoAno;
+
+    @Column(name = "proximo_mes")
+    private Integer proximoMes;
+
+    @Column(name = "ano_fim")
+    private Integer anoFim;
+
+    @Column(name = "mes_fim")
+    private Integer mesFim;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+}
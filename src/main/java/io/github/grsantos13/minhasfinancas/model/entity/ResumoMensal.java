@@ -0,0 +1,34 @@
+package io.github.grsantos13.minhasfinancas.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "resumo_mensal")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResumoMensal {
+
+    @EmbeddedId
+    private ResumoMensalId id;
+
+    @Column(name = "total")
+    private BigDecimal total;
+
+    @Column(name = "quantidade")
+    private Long quantidade;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+}
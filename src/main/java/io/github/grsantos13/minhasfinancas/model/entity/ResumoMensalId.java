@@ -0,0 +1,61 @@
+package io.github.grsantos13.minhasfinancas.model.entity;
+
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serializable;
+import java.util.Comparator;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResumoMensalId implements Serializable, Comparable<ResumoMensalId> {
+
+    private static final Comparator<ResumoMensalId> ORDEM = Comparator
+            .comparing(ResumoMensalId::getIdUsuario)
+            .thenComparing(ResumoMensalId::getAno)
+            .thenComparing(ResumoMensalId::getMes)
+            .thenComparing(ResumoMensalId::getTipo)
+            .thenComparing(ResumoMensalId::getStatus);
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "ano")
+    private Integer ano;
+
+    @Column(name = "mes")
+    private Integer mes;
+
+    @Column(name = "tipo")
+    @Enumerated(EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private StatusLancamento status;
+
+    public static ResumoMensalId de(Lancamento lancamento) {
+        return new ResumoMensalId(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(),
+                lancamento.getTipo(), lancamento.getStatus());
+    }
+
+    public boolean completo() {
+        return idUsuario != null && ano != null && mes != null && tipo != null && status != null;
+    }
+
+    @Override
+    public int compareTo(ResumoMensalId outro) {
+        return ORDEM.compare(this, outro);
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.grsantos13.minhasfinancas.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "saldo_usuario")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SaldoUsuario {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "saldo")
+    private BigDecimal saldo;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+}
@@ -0,0 +1,41 @@
+package io.github.grsantos13.minhasfinancas.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "lancamento_termo", indexes = {
+        @Index(name = "idx_lancamento_termo_usuario_termo", columnList = "id_usuario, termo"),
+        @Index(name = "idx_lancamento_termo_lancamento", columnList = "id_lancamento")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TermoLancamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_termo_seq")
+    @SequenceGenerator(name = "lancamento_termo_seq", sequenceName = "lancamento_termo_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "id_lancamento")
+    private Long idLancamento;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "termo")
+    private String termo;
+}
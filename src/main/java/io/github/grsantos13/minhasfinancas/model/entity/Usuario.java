@@ -1,9 +1,12 @@
 package io.github.grsantos13.minhasfinancas.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import org.springframework.data.annotation.CreatedDate;
 
@@ -12,15 +15,20 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "usuario")
+@Table(name = "usuario", uniqueConstraints = @UniqueConstraint(name = "uk_usuario_email", columnNames = "email"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Usuario {
 
     @Id
@@ -33,6 +41,7 @@ public class Usuario {
     @Column(name = "email")
     private String email;
 
+    @JsonIgnore
     @Column(name = "senha")
     private String senha;
 
@@ -40,4 +49,17 @@ public class Usuario {
     @Column(name = "data_cadastro")
     private LocalDateTime dataCadastro;
 
+    // E-mail como está gravado: quando ele muda, a gravação tira do cache também a chave antiga.
+    @JsonIgnore
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String emailPersistido;
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void lembrarEmailPersistido() {
+        emailPersistido = email;
+    }
 }
@@ -0,0 +1,8 @@
+package io.github.grsantos13.minhasfinancas.model.enums;
+
+// Quando o salvar em grupo responde ao cliente: depois do commit do lote (com o id gerado)
+// ou assim que o lançamento validado entra na fila, sem garantia de que sobreviva a uma queda.
+public enum ConfirmacaoGravacao {
+    COMMIT,
+    FILA;
+}
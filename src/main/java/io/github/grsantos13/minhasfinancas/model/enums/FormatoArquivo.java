@@ -0,0 +1,6 @@
+package io.github.grsantos13.minhasfinancas.model.enums;
+
+public enum FormatoArquivo {
+    CSV,
+    NDJSON;
+}
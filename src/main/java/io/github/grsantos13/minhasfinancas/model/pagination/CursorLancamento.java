@@ -0,0 +1,46 @@
+package io.github.grsantos13.minhasfinancas.model.pagination;
+
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorLancamento {
+
+    private Integer ano;
+    private Integer mes;
+    private Long id;
+
+    public static CursorLancamento depoisDe(LancamentoResumo lancamento) {
+        return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+    }
+
+    public static CursorLancamento decodificar(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (partes.length != 3) {
+                throw new RegraNegocioException("Cursor inválido.");
+            }
+            return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException("Cursor inválido.");
+        }
+    }
+
+    public String codificar() {
+        String chave = ano + ":" + mes + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(chave.getBytes(StandardCharsets.UTF_8));
+    }
+}
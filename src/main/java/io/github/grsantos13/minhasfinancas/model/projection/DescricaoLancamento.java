@@ -0,0 +1,10 @@
+package io.github.grsantos13.minhasfinancas.model.projection;
+
+public interface DescricaoLancamento {
+
+    Long getId();
+
+    Long getIdUsuario();
+
+    String getDescricao();
+}
@@ -0,0 +1,23 @@
+package io.github.grsantos13.minhasfinancas.model.projection;
+
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+
+public interface EstadoLancamento {
+
+    Long getIdUsuario();
+
+    String getDescricao();
+
+    Integer getAno();
+
+    Integer getMes();
+
+    TipoLancamento getTipo();
+
+    StatusLancamento getStatus();
+
+    BigDecimal getValor();
+}
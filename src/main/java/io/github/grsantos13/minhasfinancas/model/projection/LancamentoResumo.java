@@ -0,0 +1,45 @@
+package io.github.grsantos13.minhasfinancas.model.projection;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoResumo {
+
+    private Long id;
+    private String descricao;
+    private Integer mes;
+    private Integer ano;
+    private BigDecimal valor;
+    private Long usuario;
+    private TipoLancamento tipo;
+    private StatusLancamento status;
+    private LocalDateTime dataCadastro;
+    private Long versao;
+
+    public static LancamentoResumo de(Lancamento lancamento) {
+        return LancamentoResumo.builder()
+                .id(lancamento.getId())
+                .descricao(lancamento.getDescricao())
+                .mes(lancamento.getMes())
+                .ano(lancamento.getAno())
+                .valor(lancamento.getValor())
+                .usuario(lancamento.getUsuario() != null ? lancamento.getUsuario().getId() : null)
+                .tipo(lancamento.getTipo())
+                .status(lancamento.getStatus())
+                .dataCadastro(lancamento.getDataCadastro())
+                .versao(lancamento.getVersao())
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.grsantos13.minhasfinancas.model.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RelevanciaLancamento {
+
+    private Long idLancamento;
+    private Long termosEncontrados;
+}
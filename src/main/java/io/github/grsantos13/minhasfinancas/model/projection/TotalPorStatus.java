@@ -0,0 +1,21 @@
+package io.github.grsantos13.minhasfinancas.model.projection;
+
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+
+public interface TotalPorStatus {
+
+    Integer getAno();
+
+    Integer getMes();
+
+    StatusLancamento getStatus();
+
+    TipoLancamento getTipo();
+
+    BigDecimal getTotal();
+
+    Long getQuantidade();
+}
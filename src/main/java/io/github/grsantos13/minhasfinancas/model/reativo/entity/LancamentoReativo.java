@@ -0,0 +1,72 @@
+package io.github.grsantos13.minhasfinancas.model.reativo.entity;
+
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Mesma tabela de Lancamento, mapeada para o R2DBC, que não tem relacionamentos: o usuário fica só como id.
+@Table("lancamento")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LancamentoReativo {
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("descricao")
+    private String descricao;
+
+    @Column("mes")
+    private Integer mes;
+
+    @Column("ano")
+    private Integer ano;
+
+    @Column("id_usuario")
+    private Long idUsuario;
+
+    @Column("valor")
+    private BigDecimal valor;
+
+    @Column("data_cadastro")
+    private LocalDateTime dataCadastro;
+
+    @Column("tipo")
+    private TipoLancamento tipo;
+
+    @Column("status")
+    private StatusLancamento status;
+
+    @Version
+    @Column("versao")
+    private Long versao;
+
+    public LancamentoResumo paraResumo() {
+        return LancamentoResumo.builder()
+                .id(id)
+                .descricao(descricao)
+                .mes(mes)
+                .ano(ano)
+                .valor(valor)
+                .usuario(idUsuario)
+                .tipo(tipo)
+                .status(status)
+                .dataCadastro(dataCadastro)
+                .versao(versao)
+                .build();
+    }
+}
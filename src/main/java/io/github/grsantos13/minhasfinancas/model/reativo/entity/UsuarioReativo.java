@@ -0,0 +1,37 @@
+package io.github.grsantos13.minhasfinancas.model.reativo.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("usuario")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UsuarioReativo {
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("nome")
+    private String nome;
+
+    @Column("email")
+    private String email;
+
+    @JsonIgnore
+    @Column("senha")
+    private String senha;
+
+    @Column("data_cadastro")
+    private LocalDateTime dataCadastro;
+}
@@ -0,0 +1,55 @@
+package io.github.grsantos13.minhasfinancas.model.reativo.repository;
+
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.reativo.entity.LancamentoReativo;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface LancamentoReativoRepository extends R2dbcRepository<LancamentoReativo, Long>, LancamentoReativoRepositoryCustom {
+
+    // Cada valor da sequência reserva um bloco de 50 ids para o Hibernate (allocationSize); usar o próprio
+    // valor como id não colide com os ids que a pilha JPA gera a partir dos outros blocos.
+    @Query(" select nextval('lancamento_seq')")
+    Mono<Long> proximoId();
+
+    @Query(" select sum(valor) from lancamento " +
+            " where id_usuario = :idUsuario and tipo = :tipo and status = :status")
+    Mono<BigDecimal> obterSaldoPorTipoLancamentoEUsuario(@Param("idUsuario") Long id,
+                                                         @Param("tipo") String tipo,
+                                                         @Param("status") String status);
+
+    @Query(" select saldo from saldo_usuario where id_usuario = :idUsuario")
+    Mono<BigDecimal> obterSaldoConsolidado(@Param("idUsuario") Long idUsuario);
+
+    @Query(" select id, descricao, mes, ano, valor, id_usuario as usuario, tipo, status, data_cadastro, versao " +
+            " from lancamento where id = :id")
+    Mono<LancamentoResumo> obterResumoPorId(@Param("id") Long id);
+
+    @Modifying
+    @Query(" insert into lancamento_termo (id, id_lancamento, id_usuario, termo) " +
+            " values (nextval('lancamento_termo_seq'), :idLancamento, :idUsuario, :termo)")
+    Mono<Integer> indexarTermo(@Param("idLancamento") Long idLancamento,
+                               @Param("idUsuario") Long idUsuario,
+                               @Param("termo") String termo);
+
+    @Modifying
+    @Query(" update versao_lancamentos set versao = versao + 1 where id_usuario = :idUsuario")
+    Mono<Integer> incrementarVersao(@Param("idUsuario") Long idUsuario);
+
+    @Modifying
+    @Query(" update resumo_mensal set total = total + :total, quantidade = quantidade + 1, data_atualizacao = current_timestamp " +
+            " where id_usuario = :idUsuario and ano = :ano and mes = :mes and tipo = :tipo and status = :status")
+    Mono<Integer> somarAoResumo(@Param("idUsuario") Long idUsuario,
+                                @Param("ano") Integer ano,
+                                @Param("mes") Integer mes,
+                                @Param("tipo") String tipo,
+                                @Param("status") String status,
+                                @Param("total") BigDecimal total);
+}
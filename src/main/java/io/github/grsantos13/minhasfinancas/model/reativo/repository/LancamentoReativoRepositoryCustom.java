@@ -0,0 +1,18 @@
+package io.github.grsantos13.minhasfinancas.model.reativo.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface LancamentoReativoRepositoryCustom {
+
+    Flux<LancamentoResumo> buscarResumos(Lancamento filtro);
+
+    Mono<Integer> criarVersao(Long idUsuario);
+
+    Mono<Integer> criarResumo(ResumoMensalId celula, BigDecimal total);
+}
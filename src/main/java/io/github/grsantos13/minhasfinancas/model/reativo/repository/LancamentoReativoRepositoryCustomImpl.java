@@ -0,0 +1,98 @@
+package io.github.grsantos13.minhasfinancas.model.reativo.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepositoryCustomImpl;
+import io.github.grsantos13.minhasfinancas.model.repository.ResumoMensalRepositoryCustomImpl;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LancamentoReativoRepositoryCustomImpl implements LancamentoReativoRepositoryCustom {
+
+    private final DatabaseClient databaseClient;
+    private final boolean postgres;
+
+    public LancamentoReativoRepositoryCustomImpl(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.postgres = "PostgreSQL".equals(connectionFactory.getMetadata().getName());
+    }
+
+    // Mesmos filtros e ordenação de LancamentoRepositoryCustomImpl.buscarResumos
+    @Override
+    public Flux<LancamentoResumo> buscarResumos(Lancamento filtro) {
+        StringBuilder sql = new StringBuilder(
+                " select id, descricao, mes, ano, valor, id_usuario as usuario, tipo, status, data_cadastro, versao " +
+                " from lancamento where id_usuario = :idUsuario");
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("idUsuario", filtro.getUsuario().getId());
+
+        if (filtro.getDescricao() != null) {
+            sql.append(" and lower(descricao) like :descricao escape '" + LancamentoRepositoryCustomImpl.ESCAPE_LIKE + "'");
+            parametros.put("descricao", LancamentoRepositoryCustomImpl.contendo(filtro.getDescricao()));
+        }
+        if (filtro.getMes() != null) {
+            sql.append(" and mes = :mes");
+            parametros.put("mes", filtro.getMes());
+        }
+        if (filtro.getAno() != null) {
+            sql.append(" and ano = :ano");
+            parametros.put("ano", filtro.getAno());
+        }
+        if (filtro.getTipo() != null) {
+            sql.append(" and tipo = :tipo");
+            parametros.put("tipo", filtro.getTipo().name());
+        }
+        if (filtro.getStatus() != null) {
+            sql.append(" and status = :status");
+            parametros.put("status", filtro.getStatus().name());
+        }
+        sql.append(" order by ano, mes, id");
+
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.execute(sql.toString());
+        for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+        }
+        return consulta.as(LancamentoResumo.class).fetch().all();
+    }
+
+    // Mesmo upsert de VersaoLancamentosRepositoryCustomImpl
+    @Override
+    public Mono<Integer> criarVersao(Long idUsuario) {
+        String sql = postgres
+                ? " insert into versao_lancamentos (id_usuario, versao) values (:idUsuario, 1) " +
+                  " on conflict (id_usuario) do update set versao = versao_lancamentos.versao + 1"
+                : " merge into versao_lancamentos v using (select cast(:idUsuario as bigint) as id_usuario) n " +
+                  " on (v.id_usuario = n.id_usuario) " +
+                  " when matched then update set versao = v.versao + 1 " +
+                  " when not matched then insert (id_usuario, versao) values (n.id_usuario, 1)";
+
+        return databaseClient.execute(sql)
+                .bind("idUsuario", idUsuario)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // Mesmo upsert de ResumoMensalRepositoryCustomImpl, para uma escrita de um lançamento
+    @Override
+    public Mono<Integer> criarResumo(ResumoMensalId celula, BigDecimal total) {
+        return databaseClient.execute(postgres ? ResumoMensalRepositoryCustomImpl.CRIAR_POSTGRES : ResumoMensalRepositoryCustomImpl.CRIAR_H2)
+                .bind("idUsuario", celula.getIdUsuario())
+                .bind("ano", celula.getAno())
+                .bind("mes", celula.getMes())
+                .bind("tipo", celula.getTipo().name())
+                .bind("status", celula.getStatus().name())
+                .bind("total", total)
+                .bind("quantidade", 1l)
+                .bind("data", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+}
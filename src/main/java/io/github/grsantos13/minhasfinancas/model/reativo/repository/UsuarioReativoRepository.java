@@ -0,0 +1,14 @@
+package io.github.grsantos13.minhasfinancas.model.reativo.repository;
+
+import io.github.grsantos13.minhasfinancas.model.reativo.entity.UsuarioReativo;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface UsuarioReativoRepository extends R2dbcRepository<UsuarioReativo, Long> {
+
+    Mono<Boolean> existsByEmail(String email);
+
+    Mono<UsuarioReativo> findByEmail(String email);
+}
@@ -0,0 +1,44 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.ChaveIdempotencia;
+import io.github.grsantos13.minhasfinancas.model.entity.ChaveIdempotenciaId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// A reserva e a liberação rodam na sua própria transação; a conclusão entra na transação da escrita que
+// protege, para que a resposta guardada e a gravação sejam confirmadas juntas.
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, ChaveIdempotenciaId> {
+
+    // Só conclui a própria reserva: se ela venceu e outra requisição assumiu a chave, nada é alterado.
+    @Modifying
+    @Transactional
+    @Query(" update ChaveIdempotencia c set c.status = :status, c.corpo = :corpo, c.expiraEm = :expiraEm, " +
+            " c.impressaoCorpo = :impressaoCorpo, c.versao = c.versao + 1 " +
+            " where c.id.idUsuario = :idUsuario and c.id.chave = :chave and c.requisicao = :requisicao " +
+            " and c.status is null")
+    int concluir(@Param("idUsuario") Long idUsuario,
+                 @Param("chave") String chave,
+                 @Param("requisicao") String requisicao,
+                 @Param("impressaoCorpo") String impressaoCorpo,
+                 @Param("status") Integer status,
+                 @Param("corpo") String corpo,
+                 @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Modifying
+    @Transactional
+    @Query(" delete from ChaveIdempotencia c " +
+            " where c.id.idUsuario = :idUsuario and c.id.chave = :chave and c.status is null")
+    int removerReserva(@Param("idUsuario") Long idUsuario, @Param("chave") String chave);
+
+    @Modifying
+    @Transactional
+    @Query(" delete from ChaveIdempotencia c where c.expiraEm <= :agora")
+    int removerExpiradas(@Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,21 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.persistence.EntityManager;
+
+// Os upserts gravam numa só instrução para não disputar o insert com outra transação: no PostgreSQL com
+// insert ... on conflict, que o H2 dos testes não aceita; lá o equivalente é o merge.
+final class DialetoBanco {
+
+    private DialetoBanco() {
+    }
+
+    static boolean postgres(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQL81Dialect;
+    }
+}
@@ -3,15 +3,28 @@ package io.github.grsantos13.minhasfinancas.model.repository;
 import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
 import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
 import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.DescricaoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.EstadoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.projection.TotalPorStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
 
     @Query(" select sum(l.valor) from Lancamento l " +
             " join l.usuario u " +
@@ -20,4 +33,78 @@ public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
     BigDecimal obterSaldoPorTipoLancamentoEUsuario(@Param("idUsuario") Long id,
                                                    @Param("tipo") TipoLancamento tipo,
                                                    @Param("status") StatusLancamento status);
+
+    // Lê o estado gravado no banco sem disparar o flush de alterações pendentes na sessão.
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    @Query(" select u.id as idUsuario, l.descricao as descricao, l.ano as ano, l.mes as mes, " +
+            " l.tipo as tipo, l.status as status, l.valor as valor " +
+            " from Lancamento l " +
+            " join l.usuario u " +
+            " where l.id = :id")
+    Optional<EstadoLancamento> obterEstadoPersistido(@Param("id") Long id);
+
+    @Query(" select l.id as id, u.id as idUsuario, l.descricao as descricao " +
+            " from Lancamento l " +
+            " join l.usuario u " +
+            " where u.id = :idUsuario")
+    List<DescricaoLancamento> obterDescricoesPorUsuario(@Param("idUsuario") Long id);
+
+    @Query(" select new io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo( " +
+            " l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.dataCadastro, l.versao) " +
+            " from Lancamento l " +
+            " where l.id = :id")
+    Optional<LancamentoResumo> obterResumoPorId(@Param("id") Long id);
+
+    @Query(" select new io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo( " +
+            " l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.dataCadastro, l.versao) " +
+            " from Lancamento l " +
+            " where l.id in :ids")
+    List<LancamentoResumo> obterResumosPorIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(" select new io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo( " +
+            " l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.dataCadastro, l.versao) " +
+            " from Lancamento l " +
+            " where l.usuario.id = :idUsuario " +
+            " order by l.ano, l.mes, l.id")
+    Stream<LancamentoResumo> streamResumosPorUsuario(@Param("idUsuario") Long id);
+
+    // Trava as linhas que a atualização em lote vai alterar, em ordem de id para que dois lotes concorrentes
+    // travem na mesma sequência. Até o commit nenhuma outra escrita muda o status ou o valor delas.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(" select l.id from Lancamento l " +
+            " where l.usuario.id = :idUsuario and l.id in :ids and l.status <> :status " +
+            " order by l.id")
+    List<Long> travarAAtualizarPorIds(@Param("idUsuario") Long idUsuario,
+                                      @Param("ids") Collection<Long> ids,
+                                      @Param("status") StatusLancamento status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(" select l.id from Lancamento l " +
+            " where l.usuario.id = :idUsuario and l.ano = :ano " +
+            " and (:mes is null or l.mes = :mes) and (:tipo is null or l.tipo = :tipo) " +
+            " and l.status <> :status " +
+            " order by l.id")
+    List<Long> travarAAtualizarPorFiltro(@Param("idUsuario") Long idUsuario,
+                                         @Param("ano") Integer ano,
+                                         @Param("mes") Integer mes,
+                                         @Param("tipo") TipoLancamento tipo,
+                                         @Param("status") StatusLancamento status);
+
+    // Totais das linhas travadas, para aplicar o delta no saldo e no resumo mensal.
+    @Query(" select l.ano as ano, l.mes as mes, l.status as status, l.tipo as tipo, " +
+            " sum(l.valor) as total, count(l) as quantidade " +
+            " from Lancamento l " +
+            " where l.usuario.id = :idUsuario and l.id in :ids and l.status <> :status " +
+            " group by l.ano, l.mes, l.status, l.tipo")
+    List<TotalPorStatus> obterTotaisAAtualizarPorIds(@Param("idUsuario") Long idUsuario,
+                                                     @Param("ids") Collection<Long> ids,
+                                                     @Param("status") StatusLancamento status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" update Lancamento l set l.status = :status, l.versao = l.versao + 1 " +
+            " where l.usuario.id = :idUsuario and l.id in :ids and l.status <> :status")
+    int atualizarStatusPorIds(@Param("idUsuario") Long idUsuario,
+                              @Param("ids") Collection<Long> ids,
+                              @Param("status") StatusLancamento status);
 }
@@ -0,0 +1,17 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.pagination.CursorLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface LancamentoRepositoryCustom {
+
+    List<LancamentoResumo> buscarResumos(Lancamento filtro);
+
+    Stream<LancamentoResumo> streamResumos(Lancamento filtro);
+
+    List<LancamentoResumo> buscarAposCursor(Lancamento filtro, CursorLancamento cursor, int limite);
+}
@@ -0,0 +1,108 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.pagination.CursorLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class LancamentoRepositoryCustomImpl implements LancamentoRepositoryCustom {
+
+    public static final char ESCAPE_LIKE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LancamentoResumo> buscarResumos(Lancamento filtro) {
+        return criarConsulta(filtro, null).getResultList();
+    }
+
+    @Override
+    public Stream<LancamentoResumo> streamResumos(Lancamento filtro) {
+        return criarConsulta(filtro, null)
+                .setHint("org.hibernate.fetchSize", 500)
+                .getResultStream();
+    }
+
+    @Override
+    public List<LancamentoResumo> buscarAposCursor(Lancamento filtro, CursorLancamento cursor, int limite) {
+        return criarConsulta(filtro, cursor)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    private TypedQuery<LancamentoResumo> criarConsulta(Lancamento filtro, CursorLancamento cursor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LancamentoResumo> query = cb.createQuery(LancamentoResumo.class);
+        Root<Lancamento> lancamento = query.from(Lancamento.class);
+
+        Path<Integer> ano = lancamento.get("ano");
+        Path<Integer> mes = lancamento.get("mes");
+        Path<Long> id = lancamento.get("id");
+        // usuario.id é a própria coluna id_usuario, então a consulta não faz join com a tabela de usuários
+        Path<Long> idUsuario = lancamento.get("usuario").get("id");
+
+        List<Predicate> predicados = new ArrayList<>();
+        predicados.add(cb.equal(idUsuario, filtro.getUsuario().getId()));
+        if (filtro.getDescricao() != null) {
+            predicados.add(cb.like(cb.lower(lancamento.get("descricao")), contendo(filtro.getDescricao()), ESCAPE_LIKE));
+        }
+        if (filtro.getMes() != null) {
+            predicados.add(cb.equal(mes, filtro.getMes()));
+        }
+        if (filtro.getAno() != null) {
+            predicados.add(cb.equal(ano, filtro.getAno()));
+        }
+        if (filtro.getTipo() != null) {
+            predicados.add(cb.equal(lancamento.get("tipo"), filtro.getTipo()));
+        }
+        if (filtro.getStatus() != null) {
+            predicados.add(cb.equal(lancamento.get("status"), filtro.getStatus()));
+        }
+        if (cursor != null) {
+            // (ano, mes, id) > (cursor.ano, cursor.mes, cursor.id), escrito sem row value para funcionar em qualquer banco
+            predicados.add(cb.or(
+                    cb.greaterThan(ano, cursor.getAno()),
+                    cb.and(cb.equal(ano, cursor.getAno()), cb.greaterThan(mes, cursor.getMes())),
+                    cb.and(cb.equal(ano, cursor.getAno()), cb.equal(mes, cursor.getMes()), cb.greaterThan(id, cursor.getId()))
+            ));
+        }
+
+        query.select(cb.construct(LancamentoResumo.class,
+                        id,
+                        lancamento.get("descricao"),
+                        mes,
+                        ano,
+                        lancamento.get("valor"),
+                        idUsuario,
+                        lancamento.get("tipo"),
+                        lancamento.get("status"),
+                        lancamento.get("dataCadastro"),
+                        lancamento.get("versao")))
+                .where(predicados.toArray(new Predicate[0]))
+                .orderBy(cb.asc(ano), cb.asc(mes), cb.asc(id));
+
+        return entityManager.createQuery(query);
+    }
+
+    // Padrão de "contém" para o like, em minúsculas: % e _ digitados pelo cliente valem como texto, como no
+    // StringMatcher.CONTAINING do Spring Data que a busca usava antes.
+    public static String contendo(String termo) {
+        String escapado = termo.toLowerCase()
+                .replace(String.valueOf(ESCAPE_LIKE), ESCAPE_LIKE + "" + ESCAPE_LIKE)
+                .replace("%", ESCAPE_LIKE + "%")
+                .replace("_", ESCAPE_LIKE + "_");
+        return "%" + escapado + "%";
+    }
+}
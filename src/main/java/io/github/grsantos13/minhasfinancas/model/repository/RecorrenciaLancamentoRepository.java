@@ -0,0 +1,36 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.RecorrenciaLancamento;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecorrenciaLancamentoRepository extends JpaRepository<RecorrenciaLancamento, Long> {
+
+    Optional<RecorrenciaLancamento> findByLancamentoId(Long idLancamento);
+
+    // Paginação por chave: o próximo bloco começa depois do último usuário do bloco anterior.
+    @Query(" select distinct r.idUsuario from RecorrenciaLancamento r " +
+            " where r.idUsuario > :ultimoUsuario " +
+            " and (r.proximoAno < :ano or (r.proximoAno = :ano and r.proximoMes <= :mes)) " +
+            " order by r.idUsuario")
+    List<Long> obterUsuariosPendentes(@Param("ultimoUsuario") Long ultimoUsuario,
+                                      @Param("ano") Integer ano,
+                                      @Param("mes") Integer mes,
+                                      Pageable pageable);
+
+    @Query(" select r from RecorrenciaLancamento r join fetch r.lancamento l join fetch l.usuario " +
+            " where r.idUsuario in :idsUsuarios " +
+            " and (r.proximoAno < :ano or (r.proximoAno = :ano and r.proximoMes <= :mes)) " +
+            " order by r.idUsuario, r.id")
+    List<RecorrenciaLancamento> obterPendentesPorUsuarios(@Param("idsUsuarios") Collection<Long> idsUsuarios,
+                                                          @Param("ano") Integer ano,
+                                                          @Param("mes") Integer mes);
+}
@@ -0,0 +1,58 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensal;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, ResumoMensalId>, ResumoMensalRepositoryCustom {
+
+    // Linhas esvaziadas pelas escritas ficam com quantidade zero para que as próximas caiam no update.
+    @Query(" select r from ResumoMensal r " +
+            " where r.id.idUsuario = :idUsuario and r.id.ano = :ano and r.quantidade <> 0 " +
+            " and (:mes is null or r.id.mes = :mes) and (:tipo is null or r.id.tipo = :tipo) " +
+            " and (:status is null or r.id.status = :status) " +
+            " order by r.id.mes, r.id.tipo, r.id.status")
+    List<ResumoMensal> obterPorUsuario(@Param("idUsuario") Long idUsuario,
+                                       @Param("ano") Integer ano,
+                                       @Param("mes") Integer mes,
+                                       @Param("tipo") TipoLancamento tipo,
+                                       @Param("status") StatusLancamento status);
+
+    @Modifying
+    @Query(" update ResumoMensal r " +
+            " set r.total = r.total + :total, r.quantidade = r.quantidade + :quantidade, r.dataAtualizacao = :data " +
+            " where r.id.idUsuario = :idUsuario and r.id.ano = :ano and r.id.mes = :mes " +
+            " and r.id.tipo = :tipo and r.id.status = :status")
+    int somarAoResumo(@Param("idUsuario") Long idUsuario,
+                      @Param("ano") Integer ano,
+                      @Param("mes") Integer mes,
+                      @Param("tipo") TipoLancamento tipo,
+                      @Param("status") StatusLancamento status,
+                      @Param("total") BigDecimal total,
+                      @Param("quantidade") Long quantidade,
+                      @Param("data") LocalDateTime data);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" delete from ResumoMensal r where r.id.idUsuario = :idUsuario")
+    int removerPorUsuario(@Param("idUsuario") Long idUsuario);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = " insert into resumo_mensal (id_usuario, ano, mes, tipo, status, total, quantidade, data_atualizacao) " +
+            " select l.id_usuario, l.ano, l.mes, l.tipo, l.status, coalesce(sum(l.valor), 0), count(*), :data " +
+            " from lancamento l " +
+            " where l.id_usuario = :idUsuario " +
+            " group by l.id_usuario, l.ano, l.mes, l.tipo, l.status", nativeQuery = true)
+    int recalcularResumosPorUsuario(@Param("idUsuario") Long idUsuario,
+                                    @Param("data") LocalDateTime data);
+}
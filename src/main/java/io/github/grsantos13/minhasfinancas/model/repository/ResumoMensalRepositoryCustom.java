@@ -0,0 +1,11 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ResumoMensalRepositoryCustom {
+
+    void criarResumo(ResumoMensalId celula, BigDecimal total, long quantidade, LocalDateTime data);
+}
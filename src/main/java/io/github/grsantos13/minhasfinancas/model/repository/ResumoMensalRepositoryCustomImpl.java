@@ -0,0 +1,56 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class ResumoMensalRepositoryCustomImpl implements ResumoMensalRepositoryCustom {
+
+    // Sem group by a soma sempre devolve uma linha: a célula que ficou vazia é criada com quantidade zero,
+    // e um insert concorrente da mesma célula sempre cai no update.
+    private static final String CELULA =
+            " select cast(:idUsuario as bigint) as id_usuario, cast(:ano as integer) as ano, cast(:mes as integer) as mes, " +
+            " cast(:tipo as varchar(20)) as tipo, cast(:status as varchar(20)) as status, " +
+            " coalesce(sum(l.valor), 0) as total, count(*) as quantidade " +
+            " from lancamento l " +
+            " where l.id_usuario = :idUsuario and l.ano = :ano and l.mes = :mes and l.tipo = :tipo and l.status = :status ";
+
+    public static final String CRIAR_POSTGRES =
+            " insert into resumo_mensal (id_usuario, ano, mes, tipo, status, total, quantidade, data_atualizacao) " +
+            " select n.id_usuario, n.ano, n.mes, n.tipo, n.status, n.total, n.quantidade, cast(:data as timestamp) " +
+            " from (" + CELULA + ") n " +
+            " on conflict (id_usuario, ano, mes, tipo, status) do update " +
+            " set total = resumo_mensal.total + :total, quantidade = resumo_mensal.quantidade + :quantidade, " +
+            " data_atualizacao = excluded.data_atualizacao";
+
+    public static final String CRIAR_H2 =
+            " merge into resumo_mensal r using (" + CELULA + ") n " +
+            " on (r.id_usuario = n.id_usuario and r.ano = n.ano and r.mes = n.mes and r.tipo = n.tipo and r.status = n.status) " +
+            " when matched then update " +
+            " set total = r.total + :total, quantidade = r.quantidade + :quantidade, data_atualizacao = :data " +
+            " when not matched then insert (id_usuario, ano, mes, tipo, status, total, quantidade, data_atualizacao) " +
+            " values (n.id_usuario, n.ano, n.mes, n.tipo, n.status, n.total, n.quantidade, :data)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // A linha nova sai dos lançamentos já gravados, a escrita atual incluída. Se outra transação criou a linha
+    // no meio tempo, o delta é somado ao que ela gravou, como no somarAoResumo.
+    @Override
+    public void criarResumo(ResumoMensalId celula, BigDecimal total, long quantidade, LocalDateTime data) {
+        entityManager.flush();
+        entityManager.createNativeQuery(DialetoBanco.postgres(entityManager) ? CRIAR_POSTGRES : CRIAR_H2)
+                .setParameter("idUsuario", celula.getIdUsuario())
+                .setParameter("ano", celula.getAno())
+                .setParameter("mes", celula.getMes())
+                .setParameter("tipo", celula.getTipo().name())
+                .setParameter("status", celula.getStatus().name())
+                .setParameter("total", total)
+                .setParameter("quantidade", quantidade)
+                .setParameter("data", data)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.SaldoUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long>, SaldoUsuarioRepositoryCustom {
+
+    @Modifying
+    @Query(" update SaldoUsuario s " +
+            " set s.saldo = s.saldo + :delta, s.dataAtualizacao = :data " +
+            " where s.idUsuario = :idUsuario")
+    int somarAoSaldo(@Param("idUsuario") Long idUsuario,
+                     @Param("delta") BigDecimal delta,
+                     @Param("data") LocalDateTime data);
+}
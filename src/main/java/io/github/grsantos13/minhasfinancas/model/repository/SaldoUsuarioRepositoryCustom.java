@@ -0,0 +1,11 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface SaldoUsuarioRepositoryCustom {
+
+    void criarSaldo(Long idUsuario, BigDecimal delta, LocalDateTime data);
+
+    void gravarSaldo(Long idUsuario, BigDecimal saldo, LocalDateTime data);
+}
@@ -0,0 +1,53 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class SaldoUsuarioRepositoryCustomImpl implements SaldoUsuarioRepositoryCustom {
+
+    private static final String SALDO_REALIZADO =
+            " select cast(:idUsuario as bigint) as id_usuario, " +
+            " coalesce(sum(case when l.tipo = 'RECEITA' then l.valor when l.tipo = 'DESPESA' then -l.valor else 0 end), 0) as saldo " +
+            " from lancamento l where l.id_usuario = :idUsuario and l.status = 'REALIZADO' ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // A linha nova sai dos lançamentos já gravados, a escrita atual incluída. Se outra transação criou a linha
+    // no meio tempo, o delta é somado ao que ela gravou, como no somarAoSaldo.
+    @Override
+    public void criarSaldo(Long idUsuario, BigDecimal delta, LocalDateTime data) {
+        String sql = DialetoBanco.postgres(entityManager)
+                ? " insert into saldo_usuario (id_usuario, saldo, data_atualizacao) " +
+                  " select n.id_usuario, n.saldo, cast(:data as timestamp) from (" + SALDO_REALIZADO + ") n " +
+                  " on conflict (id_usuario) do update " +
+                  " set saldo = saldo_usuario.saldo + :delta, data_atualizacao = excluded.data_atualizacao"
+                : " merge into saldo_usuario s using (" + SALDO_REALIZADO + ") n on (s.id_usuario = n.id_usuario) " +
+                  " when matched then update set saldo = s.saldo + :delta, data_atualizacao = :data " +
+                  " when not matched then insert (id_usuario, saldo, data_atualizacao) values (n.id_usuario, n.saldo, :data)";
+
+        entityManager.flush();
+        entityManager.createNativeQuery(sql)
+                .setParameter("idUsuario", idUsuario)
+                .setParameter("delta", delta)
+                .setParameter("data", data)
+                .executeUpdate();
+    }
+
+    @Override
+    public void gravarSaldo(Long idUsuario, BigDecimal saldo, LocalDateTime data) {
+        String sql = DialetoBanco.postgres(entityManager)
+                ? " insert into saldo_usuario (id_usuario, saldo, data_atualizacao) values (:idUsuario, :saldo, :data) " +
+                  " on conflict (id_usuario) do update " +
+                  " set saldo = excluded.saldo, data_atualizacao = excluded.data_atualizacao"
+                : " merge into saldo_usuario key (id_usuario) values (:idUsuario, :saldo, :data)";
+
+        entityManager.createNativeQuery(sql)
+                .setParameter("idUsuario", idUsuario)
+                .setParameter("saldo", saldo)
+                .setParameter("data", data)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.TermoLancamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TermoLancamentoRepository extends JpaRepository<TermoLancamento, Long>, TermoLancamentoRepositoryCustom {
+
+    @Modifying
+    @Query(" delete from TermoLancamento t where t.idLancamento = :idLancamento")
+    int removerPorLancamento(@Param("idLancamento") Long idLancamento);
+
+    @Modifying
+    @Query(" delete from TermoLancamento t where t.idUsuario = :idUsuario")
+    int removerPorUsuario(@Param("idUsuario") Long idUsuario);
+}
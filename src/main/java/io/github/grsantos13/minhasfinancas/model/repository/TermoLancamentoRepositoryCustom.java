@@ -0,0 +1,11 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.projection.RelevanciaLancamento;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TermoLancamentoRepositoryCustom {
+
+    List<RelevanciaLancamento> buscarPorPrefixos(Long idUsuario, Collection<String> prefixos, int limite);
+}
@@ -0,0 +1,46 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.TermoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.RelevanciaLancamento;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.Collection;
+import java.util.List;
+
+public class TermoLancamentoRepositoryCustomImpl implements TermoLancamentoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RelevanciaLancamento> buscarPorPrefixos(Long idUsuario, Collection<String> prefixos, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RelevanciaLancamento> query = cb.createQuery(RelevanciaLancamento.class);
+        Root<TermoLancamento> termo = query.from(TermoLancamento.class);
+
+        Path<Long> idLancamento = termo.get("idLancamento");
+        Path<String> texto = termo.get("termo");
+        Expression<Long> termosEncontrados = cb.countDistinct(texto);
+
+        // "termo like 'prefixo%'" pode ser atendido pelo índice (id_usuario, termo)
+        Predicate[] prefixosPredicados = prefixos.stream()
+                .map(prefixo -> cb.like(texto, prefixo + "%"))
+                .toArray(Predicate[]::new);
+
+        query.select(cb.construct(RelevanciaLancamento.class, idLancamento, termosEncontrados))
+                .where(cb.equal(termo.get("idUsuario"), idUsuario), cb.or(prefixosPredicados))
+                .groupBy(idLancamento)
+                .orderBy(cb.desc(termosEncontrados), cb.desc(idLancamento));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+}
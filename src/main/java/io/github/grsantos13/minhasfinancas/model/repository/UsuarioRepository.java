@@ -1,15 +1,69 @@
 package io.github.grsantos13.minhasfinancas.model.repository;
 
+import io.github.grsantos13.minhasfinancas.config.CacheConfig;
 import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
+    @Transactional(readOnly = true)
     boolean existsByEmail(String email);
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#p0", unless = "#result == null")
     Optional<Usuario> findByEmail(String email);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USUARIOS, key = "#p0", unless = "#result == null")
+    Optional<Usuario> findById(Long id);
+
+    // O e-mail anterior sai antes da gravação, enquanto o usuário ainda lembra dele.
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#p0.emailPersistido",
+                    condition = "#p0.emailPersistido != null", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#result.email", condition = "#result.email != null")
+    })
+    <S extends Usuario> S save(S usuario);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#p0.id"),
+            @CacheEvict(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#p0.email", condition = "#p0.email != null"),
+            @CacheEvict(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#p0.emailPersistido", condition = "#p0.emailPersistido != null")
+    })
+    void delete(Usuario usuario);
+
+    // Só com o id não dá para saber o e-mail: o cache por e-mail é esvaziado.
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#p0"),
+            @CacheEvict(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, allEntries = true)
+    })
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.USUARIOS, CacheConfig.USUARIOS_POR_EMAIL}, allEntries = true)
+    void deleteAll(Iterable<? extends Usuario> usuarios);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.USUARIOS, CacheConfig.USUARIOS_POR_EMAIL}, allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.USUARIOS, CacheConfig.USUARIOS_POR_EMAIL}, allEntries = true)
+    void deleteInBatch(Iterable<Usuario> usuarios);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.USUARIOS, CacheConfig.USUARIOS_POR_EMAIL}, allEntries = true)
+    void deleteAllInBatch();
 }
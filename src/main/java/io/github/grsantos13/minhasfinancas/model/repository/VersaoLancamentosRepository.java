@@ -0,0 +1,16 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.VersaoLancamentos;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VersaoLancamentosRepository extends JpaRepository<VersaoLancamentos, Long>, VersaoLancamentosRepositoryCustom {
+
+    @Modifying
+    @Query(" update VersaoLancamentos v set v.versao = v.versao + 1 where v.idUsuario = :idUsuario")
+    int incrementar(@Param("idUsuario") Long idUsuario);
+}
@@ -0,0 +1,6 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+public interface VersaoLancamentosRepositoryCustom {
+
+    void criarVersao(Long idUsuario);
+}
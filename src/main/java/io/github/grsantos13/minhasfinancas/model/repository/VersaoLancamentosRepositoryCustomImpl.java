@@ -0,0 +1,26 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class VersaoLancamentosRepositoryCustomImpl implements VersaoLancamentosRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Cria a linha com a versão 1; se outra transação a criou no meio tempo, soma 1 como no incrementar.
+    @Override
+    public void criarVersao(Long idUsuario) {
+        String sql = DialetoBanco.postgres(entityManager)
+                ? " insert into versao_lancamentos (id_usuario, versao) values (:idUsuario, 1) " +
+                  " on conflict (id_usuario) do update set versao = versao_lancamentos.versao + 1"
+                : " merge into versao_lancamentos v using (select cast(:idUsuario as bigint) as id_usuario) n " +
+                  " on (v.id_usuario = n.id_usuario) " +
+                  " when matched then update set versao = v.versao + 1 " +
+                  " when not matched then insert (id_usuario, versao) values (n.id_usuario, 1)";
+
+        entityManager.createNativeQuery(sql)
+                .setParameter("idUsuario", idUsuario)
+                .executeUpdate();
+    }
+}
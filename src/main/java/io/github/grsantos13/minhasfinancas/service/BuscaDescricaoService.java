@@ -0,0 +1,19 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+
+import java.util.List;
+
+public interface BuscaDescricaoService {
+
+    void indexar(Lancamento lancamento);
+
+    void indexarNovos(List<Lancamento> lancamentos);
+
+    void removerDoIndice(Long idLancamento);
+
+    List<LancamentoResumo> buscar(Long idUsuario, String texto, Integer limite);
+
+    int reindexarUsuario(Long idUsuario);
+}
@@ -0,0 +1,15 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.FormatoArquivo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportacaoLancamentoService {
+
+    void exportar(Long idUsuario, FormatoArquivo formato, OutputStream saida) throws IOException;
+
+    void escreverResumos(Lancamento filtro, ObjectMapper mapper, OutputStream saida) throws IOException;
+}
@@ -0,0 +1,10 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+
+import java.util.Optional;
+
+public interface GravacaoLancamentoService {
+
+    Optional<Lancamento> salvar(Lancamento lancamento);
+}
@@ -0,0 +1,18 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.api.dto.RespostaIdempotenteDTO;
+
+import java.util.Optional;
+
+public interface IdempotenciaService {
+
+    Optional<RespostaIdempotenteDTO> repetida(Long idUsuario, String chave, String requisicao);
+
+    Optional<RespostaIdempotenteDTO> iniciar(Long idUsuario, String chave, String requisicao);
+
+    void concluir(Long idUsuario, String chave, String requisicao, String impressaoCorpo, int status, Object corpo);
+
+    void liberar(Long idUsuario, String chave);
+
+    int removerExpiradas();
+}
@@ -0,0 +1,13 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.FormatoArquivo;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public interface ImportacaoLancamentoService {
+
+    ResultadoImportacaoDTO importar(Usuario usuario, FormatoArquivo formato, Reader reader) throws IOException;
+}
@@ -0,0 +1,18 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface LancamentoReativoService {
+    Mono<LancamentoResumo> salvar(Lancamento lancamento);
+
+    Flux<LancamentoResumo> buscarResumos(Lancamento filtro);
+
+    Mono<LancamentoResumo> getResumoById(Long id);
+
+    Mono<BigDecimal> obterSaldoPorUsuario(Long id);
+}
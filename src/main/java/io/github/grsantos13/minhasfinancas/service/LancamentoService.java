@@ -1,7 +1,12 @@
 package io.github.grsantos13.minhasfinancas.service;
 
+import io.github.grsantos13.minhasfinancas.api.dto.PaginaLancamentoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.ResumoMensalDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.SaldoMensalDTO;
 import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
 import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -10,17 +15,39 @@ import java.util.Optional;
 public interface LancamentoService {
     Lancamento salvar(Lancamento lancamento);
 
+    List<Lancamento> salvarLote(List<Lancamento> lancamentos);
+
     Lancamento atualizar(Lancamento lancamento);
 
     void deletar(Lancamento lancamento);
 
     List<Lancamento> buscar(Lancamento filtro);
 
+    List<LancamentoResumo> buscarResumos(Lancamento filtro);
+
+    List<LancamentoResumo> buscarResumos(Lancamento filtro, int limite);
+
+    PaginaLancamentoDTO buscarPagina(Lancamento filtro, String cursor, Integer limite);
+
     void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 
+    int atualizarStatusEmLote(Lancamento filtro, List<Long> ids, StatusLancamento status);
+
     void validar(Lancamento lancamento);
 
     Optional<Lancamento> getById(Long id);
 
+    Optional<LancamentoResumo> getResumoById(Long id);
+
     BigDecimal obterSaldoPorUsuario(Long id);
+
+    BigDecimal recalcularSaldoPorUsuario(Long id);
+
+    Long obterVersaoLancamentos(Long idUsuario);
+
+    List<SaldoMensalDTO> obterSaldoMensalPorUsuario(Long id, Integer ano, StatusLancamento status);
+
+    List<ResumoMensalDTO> obterResumoMensalPorUsuario(Long id, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status);
+
+    void recalcularResumoMensalPorUsuario(Long id);
 }
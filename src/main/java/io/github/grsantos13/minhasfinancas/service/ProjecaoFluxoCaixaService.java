@@ -0,0 +1,9 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.api.dto.ProjecaoSaldoDTO;
+
+import java.util.List;
+
+public interface ProjecaoFluxoCaixaService {
+    List<ProjecaoSaldoDTO> projetar(Long idUsuario, Integer meses);
+}
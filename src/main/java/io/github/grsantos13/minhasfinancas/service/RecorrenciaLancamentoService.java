@@ -0,0 +1,18 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.api.dto.ResultadoMaterializacaoDTO;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.RecorrenciaLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.Periodicidade;
+
+import java.util.Optional;
+
+public interface RecorrenciaLancamentoService {
+    RecorrenciaLancamento definir(Lancamento lancamento, Periodicidade periodicidade, Integer anoFim, Integer mesFim);
+
+    Optional<RecorrenciaLancamento> obterPorLancamento(Long idLancamento);
+
+    void remover(RecorrenciaLancamento recorrencia);
+
+    ResultadoMaterializacaoDTO materializarAte(Integer ano, Integer mes);
+}
@@ -0,0 +1,9 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.model.reativo.entity.UsuarioReativo;
+import reactor.core.publisher.Mono;
+
+public interface UsuarioReativoService {
+
+    Mono<UsuarioReativo> getById(Long id);
+}
@@ -0,0 +1,117 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.TermoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.DescricaoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.projection.RelevanciaLancamento;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepository;
+import io.github.grsantos13.minhasfinancas.model.repository.TermoLancamentoRepository;
+import io.github.grsantos13.minhasfinancas.service.BuscaDescricaoService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class BuscaDescricaoServiceImpl implements BuscaDescricaoService {
+
+    private static final int LIMITE_PADRAO = 20;
+    private static final int LIMITE_MAXIMO = 100;
+
+    private TermoLancamentoRepository termoRepository;
+    private LancamentoRepository lancamentoRepository;
+
+    public BuscaDescricaoServiceImpl(TermoLancamentoRepository termoRepository, LancamentoRepository lancamentoRepository) {
+        this.termoRepository = termoRepository;
+        this.lancamentoRepository = lancamentoRepository;
+    }
+
+    @Override
+    @Transactional
+    public void indexar(Lancamento lancamento) {
+        Objects.requireNonNull(lancamento.getId());
+        termoRepository.removerPorLancamento(lancamento.getId());
+        termoRepository.saveAll(criarTermos(lancamento.getId(), lancamento.getUsuario().getId(), lancamento.getDescricao()));
+    }
+
+    @Override
+    @Transactional
+    public void indexarNovos(List<Lancamento> lancamentos) {
+        List<TermoLancamento> termos = new ArrayList<>();
+        for (Lancamento lancamento : lancamentos) {
+            termos.addAll(criarTermos(lancamento.getId(), lancamento.getUsuario().getId(), lancamento.getDescricao()));
+        }
+        termoRepository.saveAll(termos);
+    }
+
+    @Override
+    @Transactional
+    public void removerDoIndice(Long idLancamento) {
+        termoRepository.removerPorLancamento(idLancamento);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LancamentoResumo> buscar(Long idUsuario, String texto, Integer limite) {
+        Set<String> prefixos = TokenizadorDescricao.tokenizar(texto);
+        if (prefixos.isEmpty()) {
+            throw new RegraNegocioException("Informe um termo de busca válido.");
+        }
+
+        int tamanho = limite != null ? limite : LIMITE_PADRAO;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new RegraNegocioException("Informe um limite entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+
+        List<Long> idsPorRelevancia = termoRepository.buscarPorPrefixos(idUsuario, prefixos, tamanho)
+                .stream()
+                .map(RelevanciaLancamento::getIdLancamento)
+                .collect(Collectors.toList());
+
+        if (idsPorRelevancia.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, LancamentoResumo> lancamentos = lancamentoRepository.obterResumosPorIds(idsPorRelevancia)
+                .stream()
+                .collect(Collectors.toMap(LancamentoResumo::getId, Function.identity()));
+
+        return idsPorRelevancia.stream()
+                .map(lancamentos::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public int reindexarUsuario(Long idUsuario) {
+        termoRepository.removerPorUsuario(idUsuario);
+
+        List<DescricaoLancamento> descricoes = lancamentoRepository.obterDescricoesPorUsuario(idUsuario);
+        List<TermoLancamento> termos = new ArrayList<>();
+        for (DescricaoLancamento descricao : descricoes) {
+            termos.addAll(criarTermos(descricao.getId(), descricao.getIdUsuario(), descricao.getDescricao()));
+        }
+        termoRepository.saveAll(termos);
+        return descricoes.size();
+    }
+
+    private List<TermoLancamento> criarTermos(Long idLancamento, Long idUsuario, String descricao) {
+        return TokenizadorDescricao.tokenizar(descricao)
+                .stream()
+                .map(termo -> TermoLancamento.builder()
+                                .idLancamento(idLancamento)
+                                .idUsuario(idUsuario)
+                                .termo(termo)
+                                .build())
+                .collect(Collectors.toList());
+    }
+}
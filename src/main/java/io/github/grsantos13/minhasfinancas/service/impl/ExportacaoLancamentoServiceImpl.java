@@ -0,0 +1,157 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.grsantos13.minhasfinancas.api.dto.LancamentoDTO;
+import io.github.grsantos13.minhasfinancas.config.MetricasAspect;
+import io.github.grsantos13.minhasfinancas.config.RoteamentoLeitura;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.FormatoArquivo;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepository;
+import io.github.grsantos13.minhasfinancas.service.ExportacaoLancamentoService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ExportacaoLancamentoServiceImpl implements ExportacaoLancamentoService {
+
+    private static final String CABECALHO_CSV = "id,descricao,mes,ano,valor,tipo,status";
+
+    private LancamentoRepository repository;
+    private RoteamentoLeitura roteamento;
+    private ObjectWriter jsonWriter;
+    private MeterRegistry registry;
+
+    public ExportacaoLancamentoServiceImpl(LancamentoRepository repository, RoteamentoLeitura roteamento,
+                                           ObjectMapper objectMapper, MeterRegistry registry) {
+        this.repository = repository;
+        this.roteamento = roteamento;
+        this.jsonWriter = objectMapper.writerFor(LancamentoDTO.class);
+        this.registry = registry;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportar(Long idUsuario, FormatoArquivo formato, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        if (formato == FormatoArquivo.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+            writer.flush();
+        }
+
+        // a projeção não é gerenciada pelo persistence context, então as linhas já enviadas não ficam retidas
+        long linhas = 0;
+        try (Stream<LancamentoResumo> lancamentos = repository.streamResumosPorUsuario(idUsuario)) {
+            Iterator<LancamentoResumo> iterator = lancamentos.iterator();
+            boolean primeiraLinha = true;
+            while (iterator.hasNext()) {
+                linhas++;
+                LancamentoResumo lancamento = iterator.next();
+                if (formato == FormatoArquivo.CSV) {
+                    escreverCsv(writer, lancamento);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(converter(lancamento)));
+                }
+                writer.write('\n');
+                if (primeiraLinha) {
+                    writer.flush();
+                    primeiraLinha = false;
+                }
+            }
+        }
+        writer.flush();
+        registrarLinhas("exportar", linhas);
+    }
+
+    // Cada linha do cursor vai direto para o gerador do formato negociado: nem a lista nem o corpo inteiro
+    // ficam em memória, e o primeiro lançamento sai antes de a consulta terminar.
+    @Override
+    @Transactional(readOnly = true)
+    public void escreverResumos(Lancamento filtro, ObjectMapper mapper, OutputStream saida) throws IOException {
+        roteamento.lerParaUsuario(filtro.getUsuario().getId());
+        ObjectWriter writer = mapper.writerFor(LancamentoResumo.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator gerador = mapper.getFactory().createGenerator(saida);
+        gerador.writeStartArray();
+
+        long linhas = 0;
+        try (Stream<LancamentoResumo> lancamentos = repository.streamResumos(filtro)) {
+            Iterator<LancamentoResumo> iterator = lancamentos.iterator();
+            boolean primeiraLinha = true;
+            while (iterator.hasNext()) {
+                writer.writeValue(gerador, iterator.next());
+                linhas++;
+                if (primeiraLinha) {
+                    gerador.flush();
+                    primeiraLinha = false;
+                }
+            }
+        }
+        gerador.writeEndArray();
+        gerador.flush();
+        registrarLinhas("escreverResumos", linhas);
+    }
+
+    // O MetricasAspect só conta as linhas de quem devolve uma Collection; aqui elas vão direto para a saída.
+    private void registrarLinhas(String metodo, long linhas) {
+        DistributionSummary.builder(MetricasAspect.METRICA_SERVICO + ".linhas")
+                .tags("classe", ExportacaoLancamentoService.class.getSimpleName(), "metodo", metodo)
+                .register(registry)
+                .record(linhas);
+    }
+
+    private void escreverCsv(Writer writer, LancamentoResumo lancamento) throws IOException {
+        writer.write(String.valueOf(lancamento.getId()));
+        writer.write(',');
+        writer.write(escaparCsv(lancamento.getDescricao()));
+        writer.write(',');
+        writer.write(String.valueOf(lancamento.getMes()));
+        writer.write(',');
+        writer.write(String.valueOf(lancamento.getAno()));
+        writer.write(',');
+        writer.write(lancamento.getValor().toPlainString());
+        writer.write(',');
+        writer.write(String.valueOf(lancamento.getTipo()));
+        writer.write(',');
+        writer.write(String.valueOf(lancamento.getStatus()));
+    }
+
+    private String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0
+                && valor.indexOf(';') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    private LancamentoDTO converter(LancamentoResumo lancamento) {
+        return LancamentoDTO.builder()
+                .id(lancamento.getId())
+                .descricao(lancamento.getDescricao())
+                .mes(lancamento.getMes())
+                .ano(lancamento.getAno())
+                .valor(lancamento.getValor())
+                .usuario(lancamento.getUsuario())
+                .tipo(lancamento.getTipo() != null ? lancamento.getTipo().name() : null)
+                .status(lancamento.getStatus() != null ? lancamento.getStatus().name() : null)
+                .build();
+    }
+}
@@ -0,0 +1,220 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import io.github.grsantos13.minhasfinancas.exception.ServicoIndisponivelException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.ConfirmacaoGravacao;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.service.GravacaoLancamentoService;
+import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Em grupo, os salvar concorrentes entram validados numa fila limitada e um único escritor grava o que
+// acumulou num só salvarLote: um commit, um update de saldo e de resumo por usuário para o lote inteiro.
+// O escritor é um só para que dois lotes não disputem as mesmas linhas de saldo em ordens diferentes.
+@Service
+public class GravacaoLancamentoServiceImpl implements GravacaoLancamentoService {
+
+    private LancamentoService lancamentoService;
+    private boolean habilitada;
+    private ConfirmacaoGravacao confirmacao;
+    private int tamanhoLote;
+    private long esperaLoteNanos;
+    private long esperaFilaMillis;
+    private long esperaGravacaoMillis;
+    private BlockingQueue<Pendente> fila;
+    private Thread escritor;
+    private volatile boolean ativo;
+
+    public GravacaoLancamentoServiceImpl(LancamentoService lancamentoService,
+                                         @Value("${minhasfinancas.gravacao-em-grupo.habilitada:false}") boolean habilitada,
+                                         @Value("${minhasfinancas.gravacao-em-grupo.confirmacao:COMMIT}") ConfirmacaoGravacao confirmacao,
+                                         @Value("${minhasfinancas.gravacao-em-grupo.fila:10000}") int tamanhoFila,
+                                         @Value("${minhasfinancas.gravacao-em-grupo.tamanho-lote:200}") int tamanhoLote,
+                                         @Value("${minhasfinancas.gravacao-em-grupo.espera-lote:0}") long esperaLoteMillis,
+                                         @Value("${minhasfinancas.gravacao-em-grupo.espera-fila:50}") long esperaFilaMillis,
+                                         @Value("${minhasfinancas.gravacao-em-grupo.espera-gravacao:30000}") long esperaGravacaoMillis) {
+        this.lancamentoService = lancamentoService;
+        this.habilitada = habilitada;
+        this.confirmacao = confirmacao;
+        this.tamanhoLote = tamanhoLote;
+        this.esperaLoteNanos = TimeUnit.MILLISECONDS.toNanos(esperaLoteMillis);
+        this.esperaFilaMillis = esperaFilaMillis;
+        this.esperaGravacaoMillis = esperaGravacaoMillis;
+        this.fila = new ArrayBlockingQueue<>(tamanhoFila);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        if (!habilitada) {
+            return;
+        }
+        ativo = true;
+        escritor = new Thread(this::escrever, "gravacao-em-grupo");
+        escritor.start();
+    }
+
+    // O que já foi aceito é gravado antes de a aplicação parar.
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        if (escritor == null) {
+            return;
+        }
+        ativo = false;
+        escritor.join(TimeUnit.SECONDS.toMillis(30));
+        recusarRestantes();
+    }
+
+    // Numa transação já aberta (a de uma requisição com Idempotency-Key) o lançamento é gravado nela mesma,
+    // para ser confirmado junto com a resposta guardada; o lote do escritor roda em outra transação.
+    @Override
+    public Optional<Lancamento> salvar(Lancamento lancamento) {
+        if (!habilitada || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Optional.of(lancamentoService.salvar(lancamento));
+        }
+
+        lancamentoService.validar(lancamento);
+        lancamento.setStatus(StatusLancamento.PENDENTE);
+
+        // Fila cheia: o escritor não está dando conta, então a requisição é recusada em vez de acumular memória
+        Pendente pendente = new Pendente(lancamento);
+        try {
+            if (!ativo || !fila.offer(pendente, esperaFilaMillis, TimeUnit.MILLISECONDS)) {
+                throw new ServicoIndisponivelException("Gravação de lançamentos sobrecarregada, tente novamente em instantes.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicoIndisponivelException("Gravação interrompida.");
+        }
+        // O encerramento pode ter esvaziado a fila entre a checagem e o offer: se o lançamento ainda está lá,
+        // ninguém mais vai gravá-lo. Se já saiu, o escritor ou o encerramento completa o pendente.
+        if (!ativo && fila.remove(pendente)) {
+            throw new ServicoIndisponivelException("Gravação de lançamentos encerrada.");
+        }
+
+        if (confirmacao == ConfirmacaoGravacao.FILA) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(pendente.gravado.get(esperaGravacaoMillis, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicoIndisponivelException("Gravação interrompida.");
+        } catch (TimeoutException e) {
+            // o lote ainda pode ser confirmado depois de a resposta sair
+            throw new ServicoIndisponivelException("Gravação de lançamentos demorou além do esperado, tente novamente em instantes.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException){
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // O lote fecha no tamanho máximo ou quando a espera acaba. Com espera 0 ele leva o que acumulou enquanto
+    // o lote anterior era gravado: sem carga cada lançamento sai sozinho, sem latência extra.
+    private void escrever() {
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pendente primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+
+                long limite = System.nanoTime() + esperaLoteNanos;
+                while (lote.size() < tamanhoLote) {
+                    fila.drainTo(lote, tamanhoLote - lote.size());
+                    long restante = limite - System.nanoTime();
+                    if (lote.size() >= tamanhoLote || restante <= 0) {
+                        break;
+                    }
+                    Pendente proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                }
+                gravar(lote);
+            } catch (InterruptedException e) {
+                gravar(lote);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException | Error e) {
+                // a falha chega a quem espera o lote; o escritor segue com os próximos
+                lote.forEach(pendente -> pendente.gravado.completeExceptionally(e));
+            } finally {
+                lote.clear();
+            }
+        }
+
+        recusarRestantes();
+    }
+
+    private void recusarRestantes() {
+        List<Pendente> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        restantes.forEach(pendente -> pendente.gravado.completeExceptionally(
+                new ServicoIndisponivelException("Gravação de lançamentos encerrada.")));
+    }
+
+    // Se o lote falha, nada dele foi gravado: cada lançamento é tentado sozinho para que um com problema
+    // (um usuário apagado, por exemplo) não derrube os outros.
+    private void gravar(List<Pendente> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        List<Lancamento> lancamentos = new ArrayList<>(lote.size());
+        lote.forEach(pendente -> lancamentos.add(pendente.lancamento));
+        try {
+            List<Lancamento> salvos = lancamentoService.salvarLote(lancamentos);
+            for (int i = 0; i < lote.size(); i++) {
+                lote.get(i).gravado.complete(salvos.get(i));
+            }
+            return;
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                lote.get(0).gravado.completeExceptionally(e);
+                return;
+            }
+        }
+
+        for (Pendente pendente : lote) {
+            // o rollback não desfaz o id e a versão que o persist já tinha atribuído
+            pendente.lancamento.setId(null);
+            pendente.lancamento.setVersao(null);
+            try {
+                pendente.gravado.complete(lancamentoService.salvarLote(Collections.singletonList(pendente.lancamento)).get(0));
+            } catch (RuntimeException e) {
+                pendente.gravado.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Pendente {
+
+        private final Lancamento lancamento;
+        private final CompletableFuture<Lancamento> gravado = new CompletableFuture<>();
+
+        private Pendente(Lancamento lancamento) {
+            this.lancamento = lancamento;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.grsantos13.minhasfinancas.api.dto.RespostaIdempotenteDTO;
+import io.github.grsantos13.minhasfinancas.config.RoteamentoLeitura;
+import io.github.grsantos13.minhasfinancas.exception.ChaveIdempotenciaEmUsoException;
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.ChaveIdempotencia;
+import io.github.grsantos13.minhasfinancas.model.entity.ChaveIdempotenciaId;
+import io.github.grsantos13.minhasfinancas.model.repository.ChaveIdempotenciaRepository;
+import io.github.grsantos13.minhasfinancas.service.IdempotenciaService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// A tabela é a fonte da verdade e vale entre instâncias; o cache só evita ir ao banco nas repetições
+// de respostas já concluídas. Reservas em andamento nunca entram no cache, nem conclusões ainda não confirmadas.
+@Service
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private ChaveIdempotenciaRepository repository;
+    private RoteamentoLeitura roteamento;
+    private ObjectMapper objectMapper;
+    private Duration validade;
+    private Duration prazoReserva;
+    private Cache<ChaveIdempotenciaId, RespostaGuardada> respostas;
+
+    public IdempotenciaServiceImpl(ChaveIdempotenciaRepository repository,
+                                   RoteamentoLeitura roteamento,
+                                   ObjectMapper objectMapper,
+                                   @Value("${minhasfinancas.idempotencia.validade-horas:24}") long validadeHoras,
+                                   @Value("${minhasfinancas.idempotencia.reserva-segundos:300}") long reservaSegundos,
+                                   @Value("${minhasfinancas.idempotencia.cache:10000}") long tamanhoCache) {
+        this.repository = repository;
+        this.roteamento = roteamento;
+        this.objectMapper = objectMapper;
+        this.validade = Duration.ofHours(validadeHoras);
+        this.prazoReserva = Duration.ofSeconds(reservaSegundos);
+        this.respostas = Caffeine.newBuilder()
+                .expireAfterWrite(validade)
+                .maximumSize(tamanhoCache)
+                .build();
+    }
+
+    // Só o cache: a repetição servida daqui não chega a consultar o banco nem a ocupar o limite de requisições.
+    @Override
+    public Optional<RespostaIdempotenteDTO> repetida(Long idUsuario, String chave, String requisicao) {
+        RespostaGuardada emCache = respostas.getIfPresent(new ChaveIdempotenciaId(idUsuario, chave));
+        if (emCache == null) {
+            return Optional.empty();
+        }
+        return Optional.of(conferir(emCache, impressao(requisicao)));
+    }
+
+    @Override
+    public Optional<RespostaIdempotenteDTO> iniciar(Long idUsuario, String chave, String requisicao) {
+        if (chave.isEmpty() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new RegraNegocioException("Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+        }
+        ChaveIdempotenciaId id = new ChaveIdempotenciaId(idUsuario, chave);
+        String impressao = impressao(requisicao);
+
+        RespostaGuardada emCache = respostas.getIfPresent(id);
+        if (emCache != null) {
+            return Optional.of(conferir(emCache, impressao));
+        }
+
+        // a réplica pode ainda não ter a reserva ou a conclusão de uma tentativa anterior
+        LocalDateTime agora = LocalDateTime.now();
+        Optional<ChaveIdempotencia> existente = roteamento.naPrimaria(() -> repository.findById(id));
+        if (existente.isPresent()) {
+            ChaveIdempotencia registro = existente.get();
+            if (registro.getExpiraEm().isAfter(agora)) {
+                if (registro.getStatus() == null) {
+                    throw new ChaveIdempotenciaEmUsoException("Uma requisição com esta Idempotency-Key ainda está em andamento.");
+                }
+                RespostaGuardada guardada = guardar(registro);
+                respostas.put(id, guardada);
+                return Optional.of(conferir(guardada, impressao));
+            }
+
+            // vencida, inclusive a reserva de uma tentativa que caiu no meio: a chave volta a valer como nova
+            try {
+                repository.delete(registro);
+            } catch (OptimisticLockingFailureException e) {
+                throw new ChaveIdempotenciaEmUsoException("Uma requisição com esta Idempotency-Key ainda está em andamento.");
+            }
+        }
+
+        try {
+            repository.saveAndFlush(ChaveIdempotencia.builder()
+                    .id(id)
+                    .requisicao(impressao)
+                    .dataCadastro(agora)
+                    .expiraEm(agora.plus(prazoReserva))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ChaveIdempotenciaEmUsoException("Uma requisição com esta Idempotency-Key ainda está em andamento.");
+        }
+        return Optional.empty();
+    }
+
+    // Dentro da transação da escrita, a resposta só vai para o cache depois do commit.
+    @Override
+    public void concluir(Long idUsuario, String chave, String requisicao, String impressaoCorpo, int status, Object corpo) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(corpo);
+        } catch (JsonProcessingException e) {
+            // sem como guardar a resposta, a próxima tentativa executa de novo
+            repository.removerReserva(idUsuario, chave);
+            return;
+        }
+
+        String impressao = impressao(requisicao);
+        int concluidas = repository.concluir(idUsuario, chave, impressao, impressaoCorpo, status, json,
+                LocalDateTime.now().plus(validade));
+        if (concluidas == 0) {
+            return;
+        }
+
+        ChaveIdempotenciaId id = new ChaveIdempotenciaId(idUsuario, chave);
+        RespostaGuardada guardada = new RespostaGuardada(impressao,
+                new RespostaIdempotenteDTO(status, ler(json), impressaoCorpo));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            respostas.put(id, guardada);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                respostas.put(id, guardada);
+            }
+        });
+    }
+
+    @Override
+    public void liberar(Long idUsuario, String chave) {
+        repository.removerReserva(idUsuario, chave);
+    }
+
+    @Override
+    public int removerExpiradas() {
+        return repository.removerExpiradas(LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${minhasfinancas.idempotencia.limpeza:0 */30 * * * *}")
+    public void removerExpiradasAgendado() {
+        removerExpiradas();
+    }
+
+    private RespostaIdempotenteDTO conferir(RespostaGuardada guardada, String impressao) {
+        if (!guardada.requisicao.equals(impressao)) {
+            throw new RegraNegocioException("Idempotency-Key já usada em outra requisição.");
+        }
+        return guardada.resposta;
+    }
+
+    private RespostaGuardada guardar(ChaveIdempotencia registro) {
+        return new RespostaGuardada(registro.getRequisicao(),
+                new RespostaIdempotenteDTO(registro.getStatus(), ler(registro.getCorpo()), registro.getImpressaoCorpo()));
+    }
+
+    // Mensagens de erro voltam como texto; o resto volta como árvore JSON, para o conversor da repetição
+    // escrever no formato que o cliente negociar.
+    private Object ler(String json) {
+        try {
+            JsonNode corpo = objectMapper.readTree(json);
+            if (corpo.isNull()) {
+                return null;
+            }
+            return corpo.isTextual() ? corpo.asText() : corpo;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String impressao(String requisicao) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(requisicao.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class RespostaGuardada {
+
+        private final String requisicao;
+        private final RespostaIdempotenteDTO resposta;
+
+        private RespostaGuardada(String requisicao, RespostaIdempotenteDTO resposta) {
+            this.requisicao = requisicao;
+            this.resposta = resposta;
+        }
+    }
+}
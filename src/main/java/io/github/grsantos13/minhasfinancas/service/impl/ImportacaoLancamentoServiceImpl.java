@@ -0,0 +1,311 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.grsantos13.minhasfinancas.api.dto.ErroImportacaoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.LancamentoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.FormatoArquivo;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.service.ImportacaoLancamentoService;
+import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class ImportacaoLancamentoServiceImpl implements ImportacaoLancamentoService {
+
+    private static final int MAXIMO_ERROS_REPORTADOS = 1000;
+    private static final int MAXIMO_CARACTERES_REGISTRO = 10000;
+    private static final String[] COLUNAS_OBRIGATORIAS = {"descricao", "mes", "ano", "valor", "tipo"};
+
+    private LancamentoService lancamentoService;
+    private ObjectMapper objectMapper;
+    private EntityManager entityManager;
+    private int tamanhoLote;
+
+    public ImportacaoLancamentoServiceImpl(LancamentoService lancamentoService,
+                                           ObjectMapper objectMapper,
+                                           EntityManager entityManager,
+                                           @Value("${minhasfinancas.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.lancamentoService = lancamentoService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public ResultadoImportacaoDTO importar(Usuario usuario, FormatoArquivo formato, Reader reader) throws IOException {
+        ResultadoImportacaoDTO resultado = new ResultadoImportacaoDTO();
+        List<Lancamento> lote = new ArrayList<>(tamanhoLote);
+        List<Long> linhasDoLote = new ArrayList<>(tamanhoLote);
+
+        LeitorRegistros leitor = new LeitorRegistros(new BufferedReader(reader), formato == FormatoArquivo.CSV);
+        Map<String, Integer> cabecalho = null;
+        char separador = ',';
+        String linha;
+
+        while ((linha = leitor.proximo()) != null) {
+            long numeroLinha = leitor.linhaDoRegistro;
+            if (linha.trim().isEmpty()) {
+                continue;
+            }
+
+            if (formato == FormatoArquivo.CSV && cabecalho == null) {
+                separador = linha.indexOf(';') >= 0 ? ';' : ',';
+                cabecalho = lerCabecalho(linha, separador);
+                continue;
+            }
+
+            resultado.setLinhasLidas(resultado.getLinhasLidas() + 1);
+            try {
+                Lancamento lancamento = formato == FormatoArquivo.CSV
+                        ? converterLinhaCsv(linha, separador, cabecalho)
+                        : converterLinhaNdjson(linha);
+                lancamento.setUsuario(usuario);
+                lancamentoService.validar(lancamento);
+
+                lote.add(lancamento);
+                linhasDoLote.add(numeroLinha);
+            } catch (RegraNegocioException e) {
+                registrarErro(resultado, numeroLinha, e.getMessage());
+            }
+
+            if (lote.size() >= tamanhoLote) {
+                gravarLote(resultado, lote, linhasDoLote);
+                lote = new ArrayList<>(tamanhoLote);
+                linhasDoLote = new ArrayList<>(tamanhoLote);
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            gravarLote(resultado, lote, linhasDoLote);
+        }
+        return resultado;
+    }
+
+    private void gravarLote(ResultadoImportacaoDTO resultado, List<Lancamento> lote, List<Long> linhasDoLote) {
+        try {
+            lancamentoService.salvarLote(lote);
+            // dentro da transação de uma importação com Idempotency-Key o lote ainda não foi gravado
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                entityManager.flush();
+            }
+            resultado.setLancamentosImportados(resultado.getLancamentosImportados() + lote.size());
+        } catch (DataAccessException | RegraNegocioException e) {
+            for (Long linha : linhasDoLote) {
+                registrarErro(resultado, linha, "Falha ao gravar o lote: " + e.getMessage());
+            }
+        } finally {
+            // evita que a sessão aberta pela requisição acumule todos os lançamentos importados
+            entityManager.clear();
+        }
+    }
+
+    private void registrarErro(ResultadoImportacaoDTO resultado, long linha, String mensagem) {
+        resultado.setLinhasComErro(resultado.getLinhasComErro() + 1);
+        if (resultado.getErros().size() < MAXIMO_ERROS_REPORTADOS) {
+            resultado.getErros().add(new ErroImportacaoDTO(linha, mensagem));
+        }
+    }
+
+    private Map<String, Integer> lerCabecalho(String linha, char separador) {
+        List<String> colunas = separarCampos(linha, separador);
+        Map<String, Integer> cabecalho = new HashMap<>();
+        for (int i = 0; i < colunas.size(); i++) {
+            cabecalho.put(colunas.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String coluna : COLUNAS_OBRIGATORIAS) {
+            if (!cabecalho.containsKey(coluna)) {
+                throw new RegraNegocioException("Cabeçalho do arquivo sem a coluna obrigatória '" + coluna + "'.");
+            }
+        }
+        return cabecalho;
+    }
+
+    private Lancamento converterLinhaCsv(String linha, char separador, Map<String, Integer> cabecalho) {
+        List<String> campos = separarCampos(linha, separador);
+        LancamentoDTO dto = LancamentoDTO.builder()
+                .descricao(campo(campos, cabecalho, "descricao"))
+                .mes(converterInteiro(campo(campos, cabecalho, "mes"), "Informe um mês válido."))
+                .ano(converterInteiro(campo(campos, cabecalho, "ano"), "Informe um ano válido."))
+                .valor(converterValor(campo(campos, cabecalho, "valor")))
+                .tipo(campo(campos, cabecalho, "tipo"))
+                .status(campo(campos, cabecalho, "status"))
+                .build();
+        return converter(dto);
+    }
+
+    private Lancamento converterLinhaNdjson(String linha) {
+        try {
+            return converter(objectMapper.readValue(linha, LancamentoDTO.class));
+        } catch (JsonProcessingException e) {
+            throw new RegraNegocioException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private Lancamento converter(LancamentoDTO dto) {
+        Lancamento lancamento = new Lancamento();
+            lancamento.setDescricao(dto.getDescricao());
+            lancamento.setAno(dto.getAno());
+            lancamento.setMes(dto.getMes());
+            lancamento.setValor(dto.getValor());
+            try {
+                if (dto.getTipo() != null && !dto.getTipo().isEmpty()) {
+                    lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo().trim().toUpperCase(Locale.ROOT)));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new RegraNegocioException("Informe um tipo de lançamento.");
+            }
+            try {
+                if (dto.getStatus() != null && !dto.getStatus().isEmpty()) {
+                    lancamento.setStatus(StatusLancamento.valueOf(dto.getStatus().trim().toUpperCase(Locale.ROOT)));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new RegraNegocioException("Status não encontrado.");
+            }
+
+        return lancamento;
+    }
+
+    private String campo(List<String> campos, Map<String, Integer> cabecalho, String coluna) {
+        Integer indice = cabecalho.get(coluna);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private Integer converterInteiro(String valor, String mensagem) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new RegraNegocioException(mensagem);
+        }
+    }
+
+    private BigDecimal converterValor(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String normalizado = valor;
+        if (normalizado.contains(",")) {
+            normalizado = normalizado.replace(".", "").replace(",", ".");
+        }
+        try {
+            return new BigDecimal(normalizado);
+        } catch (NumberFormatException e) {
+            throw new RegraNegocioException("Informe um valor válido.");
+        }
+    }
+
+    private static List<String> separarCampos(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    // Lê um registro por vez. No CSV uma quebra de linha entre aspas é parte do campo, como a exportação
+    // escreve; no NDJSON cada linha é um registro. Os erros apontam a linha do arquivo em que o registro começa.
+    private static final class LeitorRegistros {
+
+        private final BufferedReader leitor;
+        private final boolean csv;
+        private long linhasLidas;
+        private long linhaDoRegistro;
+
+        private LeitorRegistros(BufferedReader leitor, boolean csv) {
+            this.leitor = leitor;
+            this.csv = csv;
+        }
+
+        private String proximo() throws IOException {
+            StringBuilder registro = new StringBuilder();
+            boolean entreAspas = false;
+            linhaDoRegistro = linhasLidas + 1;
+
+            int c;
+            while ((c = leitor.read()) != -1) {
+                if (c == '\n' || c == '\r') {
+                    boolean crlf = c == '\r' && seguidoDeNovaLinha();
+                    linhasLidas++;
+                    if (!entreAspas) {
+                        return registro.toString();
+                    }
+                    registro.append(crlf ? "\r\n" : String.valueOf((char) c));
+                } else {
+                    if (csv && c == '"') {
+                        entreAspas = !entreAspas;
+                    }
+                    registro.append((char) c);
+                }
+
+                // nenhum registro válido chega perto disso: uma linha sem fim não pode crescer sem limite na memória
+                if (registro.length() > MAXIMO_CARACTERES_REGISTRO) {
+                    throw new RegraNegocioException(entreAspas
+                            ? "Campo entre aspas sem fechamento na linha " + linhaDoRegistro + "."
+                            : "Linha " + linhaDoRegistro + " excede o tamanho máximo de " + MAXIMO_CARACTERES_REGISTRO + " caracteres.");
+                }
+            }
+
+            if (registro.length() == 0) {
+                return null;
+            }
+            linhasLidas++;
+            return registro.toString();
+        }
+
+        private boolean seguidoDeNovaLinha() throws IOException {
+            leitor.mark(1);
+            if (leitor.read() == '\n') {
+                return true;
+            }
+            leitor.reset();
+            return false;
+        }
+    }
+}
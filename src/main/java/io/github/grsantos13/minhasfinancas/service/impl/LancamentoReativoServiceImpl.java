@@ -0,0 +1,107 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.reativo.entity.LancamentoReativo;
+import io.github.grsantos13.minhasfinancas.model.reativo.repository.LancamentoReativoRepository;
+import io.github.grsantos13.minhasfinancas.service.LancamentoReativoService;
+import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@Service
+@Profile("reactive")
+public class LancamentoReativoServiceImpl implements LancamentoReativoService {
+
+    private LancamentoReativoRepository repository;
+    private LancamentoService lancamentoService;
+    private TransactionalOperator transacao;
+
+    public LancamentoReativoServiceImpl(LancamentoReativoRepository repository,
+                                        LancamentoService lancamentoService,
+                                        TransactionalOperator transacao) {
+        this.repository = repository;
+        this.lancamentoService = lancamentoService;
+        this.transacao = transacao;
+    }
+
+    // Lançamentos novos entram como PENDENTE e não mexem no saldo; basta indexar a descrição, somar ao
+    // resumo mensal e avançar a versão das listas do usuário, como em LancamentoServiceImpl.salvar.
+    @Override
+    public Mono<LancamentoResumo> salvar(Lancamento lancamento) {
+        return Mono.fromRunnable(() -> lancamentoService.validar(lancamento))
+                .then(repository.proximoId())
+                .flatMap(id -> repository.save(LancamentoReativo.builder()
+                        .id(id)
+                        .descricao(lancamento.getDescricao())
+                        .mes(lancamento.getMes())
+                        .ano(lancamento.getAno())
+                        .idUsuario(lancamento.getUsuario().getId())
+                        .valor(lancamento.getValor())
+                        .tipo(lancamento.getTipo())
+                        .status(StatusLancamento.PENDENTE)
+                        .build()))
+                .flatMap(salvo -> indexar(salvo)
+                        .then(somarAoResumo(salvo))
+                        .then(registrarAlteracao(salvo.getIdUsuario()))
+                        .thenReturn(salvo.paraResumo()))
+                .as(transacao::transactional);
+    }
+
+    @Override
+    public Flux<LancamentoResumo> buscarResumos(Lancamento filtro) {
+        return repository.buscarResumos(filtro);
+    }
+
+    @Override
+    public Mono<LancamentoResumo> getResumoById(Long id) {
+        return repository.obterResumoPorId(id);
+    }
+
+    // Sem saldo consolidado, calcula a partir dos lançamentos sem gravar; a consolidação fica com a pilha JPA.
+    @Override
+    public Mono<BigDecimal> obterSaldoPorUsuario(Long id) {
+        return repository.obterSaldoConsolidado(id)
+                .switchIfEmpty(Mono.defer(() -> calcularSaldoPorLancamentos(id)));
+    }
+
+    private Mono<BigDecimal> calcularSaldoPorLancamentos(Long id) {
+        String realizado = StatusLancamento.REALIZADO.name();
+        Mono<BigDecimal> receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA.name(), realizado)
+                .defaultIfEmpty(BigDecimal.ZERO);
+        Mono<BigDecimal> despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA.name(), realizado)
+                .defaultIfEmpty(BigDecimal.ZERO);
+        return receitas.zipWith(despesas, BigDecimal::subtract);
+    }
+
+    private Mono<Void> indexar(LancamentoReativo lancamento) {
+        return Flux.fromIterable(TokenizadorDescricao.tokenizar(lancamento.getDescricao()))
+                .concatMap(termo -> repository.indexarTermo(lancamento.getId(), lancamento.getIdUsuario(), termo))
+                .then();
+    }
+
+    private Mono<Void> somarAoResumo(LancamentoReativo lancamento) {
+        ResumoMensalId celula = new ResumoMensalId(lancamento.getIdUsuario(), lancamento.getAno(), lancamento.getMes(),
+                lancamento.getTipo(), lancamento.getStatus());
+        return repository.somarAoResumo(celula.getIdUsuario(), celula.getAno(), celula.getMes(),
+                        celula.getTipo().name(), celula.getStatus().name(), lancamento.getValor())
+                .flatMap(atualizados -> atualizados == 0
+                        ? repository.criarResumo(celula, lancamento.getValor())
+                        : Mono.just(atualizados))
+                .then();
+    }
+
+    private Mono<Void> registrarAlteracao(Long idUsuario) {
+        return repository.incrementarVersao(idUsuario)
+                .flatMap(atualizados -> atualizados == 0 ? repository.criarVersao(idUsuario) : Mono.just(atualizados))
+                .then();
+    }
+}
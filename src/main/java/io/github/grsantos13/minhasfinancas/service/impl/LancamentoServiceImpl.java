@@ -1,10 +1,26 @@
 package io.github.grsantos13.minhasfinancas.service.impl;
 
+import io.github.grsantos13.minhasfinancas.api.dto.PaginaLancamentoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.ResumoMensalDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.SaldoMensalDTO;
+import io.github.grsantos13.minhasfinancas.config.RoteamentoLeitura;
 import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
 import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensal;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+import io.github.grsantos13.minhasfinancas.model.entity.SaldoUsuario;
+import io.github.grsantos13.minhasfinancas.model.entity.VersaoLancamentos;
 import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
 import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.pagination.CursorLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.EstadoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.projection.TotalPorStatus;
 import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepository;
+import io.github.grsantos13.minhasfinancas.model.repository.ResumoMensalRepository;
+import io.github.grsantos13.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import io.github.grsantos13.minhasfinancas.model.repository.VersaoLancamentosRepository;
+import io.github.grsantos13.minhasfinancas.service.BuscaDescricaoService;
 import io.github.grsantos13.minhasfinancas.service.LancamentoService;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
@@ -12,17 +28,42 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService {
 
+    private static final int LIMITE_PADRAO = 50;
+    private static final int LIMITE_MAXIMO = 500;
+    private static final int LIMITE_IDS_EM_LOTE = 1000;
+
     private LancamentoRepository repository;
+    private SaldoUsuarioRepository saldoRepository;
+    private BuscaDescricaoService buscaDescricaoService;
+    private VersaoLancamentosRepository versaoRepository;
+    private ResumoMensalRepository resumoRepository;
+    private RoteamentoLeitura roteamento;
 
-    public LancamentoServiceImpl(LancamentoRepository repository){
+    public LancamentoServiceImpl(LancamentoRepository repository,
+                                 SaldoUsuarioRepository saldoRepository,
+                                 BuscaDescricaoService buscaDescricaoService,
+                                 VersaoLancamentosRepository versaoRepository,
+                                 ResumoMensalRepository resumoRepository,
+                                 RoteamentoLeitura roteamento){
         this.repository = repository;
+        this.saldoRepository = saldoRepository;
+        this.buscaDescricaoService = buscaDescricaoService;
+        this.versaoRepository = versaoRepository;
+        this.resumoRepository = resumoRepository;
+        this.roteamento = roteamento;
     }
 
     @Override
@@ -30,27 +71,70 @@ public class LancamentoServiceImpl implements LancamentoService {
     public Lancamento salvar(Lancamento lancamento) {
         validar(lancamento);
         lancamento.setStatus(StatusLancamento.PENDENTE);
-        return repository.save(lancamento);
+        Lancamento lancamentoSalvo = repository.save(lancamento);
+        atualizarSaldo(Optional.empty(), lancamentoSalvo);
+        atualizarResumoMensal(Optional.empty(), lancamentoSalvo);
+        buscaDescricaoService.indexar(lancamentoSalvo);
+        return lancamentoSalvo;
+    }
+
+    @Override
+    @Transactional
+    public List<Lancamento> salvarLote(List<Lancamento> lancamentos) {
+        for (Lancamento lancamento : lancamentos) {
+            validar(lancamento);
+            if (lancamento.getStatus() == null) {
+                lancamento.setStatus(StatusLancamento.PENDENTE);
+            }
+        }
+
+        List<Lancamento> lancamentosSalvos = repository.saveAll(lancamentos);
+
+        Map<Long, SomaMonetaria> deltasPorUsuario = new HashMap<>();
+        Map<ResumoMensalId, DeltaResumo> deltasDoResumo = new TreeMap<>();
+        for (Lancamento lancamento : lancamentosSalvos) {
+            acumularContribuicao(deltasPorUsuario.computeIfAbsent(lancamento.getUsuario().getId(), id -> new SomaMonetaria()),
+                    lancamento.getTipo(), lancamento.getStatus(), lancamento.getValor(), false);
+            acumularNoResumo(deltasDoResumo, ResumoMensalId.de(lancamento), lancamento.getValor(), false);
+        }
+        deltasPorUsuario.forEach(this::aplicarAoSaldo);
+        aplicarAoResumo(deltasDoResumo);
+        deltasPorUsuario.keySet().forEach(this::registrarAlteracao);
+
+        buscaDescricaoService.indexarNovos(lancamentosSalvos);
+        return lancamentosSalvos;
     }
 
     @Override
     @Transactional
     public Lancamento atualizar(Lancamento lancamento) {
         Objects.requireNonNull(lancamento.getId());
+        Optional<EstadoLancamento> estadoAnterior = repository.obterEstadoPersistido(lancamento.getId());
         validar(lancamento);
-        return repository.save(lancamento);
+        Lancamento lancamentoAtualizado = repository.save(lancamento);
+        atualizarSaldo(estadoAnterior, lancamentoAtualizado);
+        atualizarResumoMensal(estadoAnterior, lancamentoAtualizado);
+        if (descricaoAlterada(estadoAnterior, lancamentoAtualizado)) {
+            buscaDescricaoService.indexar(lancamentoAtualizado);
+        }
+        return lancamentoAtualizado;
     }
 
     @Override
     @Transactional
     public void deletar(Lancamento lancamento) {
         Objects.requireNonNull(lancamento.getId());
+        Optional<EstadoLancamento> estadoAnterior = repository.obterEstadoPersistido(lancamento.getId());
         repository.delete(lancamento);
+        atualizarSaldo(estadoAnterior, null);
+        atualizarResumoMensal(estadoAnterior, null);
+        buscaDescricaoService.removerDoIndice(lancamento.getId());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Lancamento> buscar(Lancamento filtro) {
+        roteamento.lerParaUsuario(filtro.getUsuario() != null ? filtro.getUsuario().getId() : null);
         Example criteria = Example.of(filtro, ExampleMatcher
                                                 .matching()
                                                 .withIgnoreCase()
@@ -60,10 +144,108 @@ public class LancamentoServiceImpl implements LancamentoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<LancamentoResumo> buscarResumos(Lancamento filtro) {
+        roteamento.lerParaUsuario(filtro.getUsuario() != null ? filtro.getUsuario().getId() : null);
+        return repository.buscarResumos(filtro);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LancamentoResumo> buscarResumos(Lancamento filtro, int limite) {
+        roteamento.lerParaUsuario(filtro.getUsuario() != null ? filtro.getUsuario().getId() : null);
+        return repository.buscarAposCursor(filtro, null, limite);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaLancamentoDTO buscarPagina(Lancamento filtro, String cursor, Integer limite) {
+        int tamanho = limite != null ? limite : LIMITE_PADRAO;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new RegraNegocioException("Informe um limite entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+
+        roteamento.lerParaUsuario(filtro.getUsuario() != null ? filtro.getUsuario().getId() : null);
+        List<LancamentoResumo> lancamentos = repository.buscarAposCursor(filtro, CursorLancamento.decodificar(cursor), tamanho + 1);
+
+        String proximoCursor = null;
+        if (lancamentos.size() > tamanho) {
+            lancamentos = lancamentos.subList(0, tamanho);
+            proximoCursor = CursorLancamento.depoisDe(lancamentos.get(tamanho - 1)).codificar();
+        }
+
+        return PaginaLancamentoDTO.builder()
+                .itens(lancamentos)
+                .proximoCursor(proximoCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional
     public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
         Objects.requireNonNull(lancamento.getId());
+        Optional<EstadoLancamento> estadoAnterior = repository.obterEstadoPersistido(lancamento.getId());
         lancamento.setStatus(status);
-        repository.save(lancamento);
+        Lancamento lancamentoAtualizado = repository.save(lancamento);
+        atualizarSaldo(estadoAnterior, lancamentoAtualizado);
+        atualizarResumoMensal(estadoAnterior, lancamentoAtualizado);
+    }
+
+    @Override
+    @Transactional
+    public int atualizarStatusEmLote(Lancamento filtro, List<Long> ids, StatusLancamento status) {
+        Long idUsuario = filtro.getUsuario() != null ? filtro.getUsuario().getId() : null;
+        if (idUsuario == null) {
+            throw new RegraNegocioException("Informe um usuário válido.");
+        }
+        if (status == null) {
+            throw new RegraNegocioException("Informe o status a aplicar.");
+        }
+
+        boolean porIds = ids != null && !ids.isEmpty();
+        if (porIds && ids.size() > LIMITE_IDS_EM_LOTE) {
+            throw new RegraNegocioException("Informe no máximo " + LIMITE_IDS_EM_LOTE + " lançamentos.");
+        }
+        if (!porIds && filtro.getAno() == null) {
+            throw new RegraNegocioException("Informe os lançamentos ou o ano a atualizar.");
+        }
+
+        // Os totais e o update valem só para as linhas travadas: o delta do saldo e do resumo é exatamente o que
+        // mudou, e uma linha que outra transação inserir no meio tempo não é atualizada sem entrar nos totais.
+        List<Long> travados = porIds
+                ? repository.travarAAtualizarPorIds(idUsuario, ids, status)
+                : repository.travarAAtualizarPorFiltro(idUsuario, filtro.getAno(), filtro.getMes(), filtro.getTipo(), status);
+        if (travados.isEmpty()) {
+            return 0;
+        }
+
+        List<TotalPorStatus> totais = new ArrayList<>();
+        int atualizados = 0;
+        for (int inicio = 0; inicio < travados.size(); inicio += LIMITE_IDS_EM_LOTE) {
+            List<Long> bloco = travados.subList(inicio, Math.min(inicio + LIMITE_IDS_EM_LOTE, travados.size()));
+            totais.addAll(repository.obterTotaisAAtualizarPorIds(idUsuario, bloco, status));
+            atualizados += repository.atualizarStatusPorIds(idUsuario, bloco, status);
+        }
+
+        SomaMonetaria delta = new SomaMonetaria();
+        Map<ResumoMensalId, DeltaResumo> deltasDoResumo = new TreeMap<>();
+        for (TotalPorStatus total : totais) {
+            acumularContribuicao(delta, total.getTipo(), status, total.getTotal(), false);
+            acumularContribuicao(delta, total.getTipo(), total.getStatus(), total.getTotal(), true);
+
+            long quantidade = total.getQuantidade() != null ? total.getQuantidade() : 0;
+            acumularNoResumo(deltasDoResumo,
+                    new ResumoMensalId(idUsuario, total.getAno(), total.getMes(), total.getTipo(), total.getStatus()),
+                    total.getTotal(), -quantidade, true);
+            acumularNoResumo(deltasDoResumo,
+                    new ResumoMensalId(idUsuario, total.getAno(), total.getMes(), total.getTipo(), status),
+                    total.getTotal(), quantidade, false);
+        }
+        aplicarAoSaldo(idUsuario, delta);
+        aplicarAoResumo(deltasDoResumo);
+        registrarAlteracao(idUsuario);
+
+        return atualizados;
     }
 
     @Override
@@ -88,13 +270,105 @@ public class LancamentoServiceImpl implements LancamentoService {
         }
     }
 
+    // Carrega a entidade que os PUT/DELETE vão alterar: fica na primária para que a versão comparada no
+    // If-Match seja a mais recente.
     @Override
+    @Transactional
     public Optional<Lancamento> getById(Long id) {
         return repository.findById(id);
     }
 
+    // Sem o usuário não há como consultar a janela antes da leitura: lê da réplica e repete na primária
+    // quando o lançamento não chegou nela ainda ou quando o dono escreveu há pouco.
+    @Override
+    public Optional<LancamentoResumo> getResumoById(Long id) {
+        Optional<LancamentoResumo> lancamento = repository.obterResumoPorId(id);
+        if (!lancamento.isPresent() || roteamento.escritaRecente(lancamento.get().getUsuario())) {
+            return roteamento.naPrimaria(() -> repository.obterResumoPorId(id));
+        }
+        return lancamento;
+    }
+
+    // O saldo consolidado é gravado nas escritas (aplicarAoSaldo); se ainda não existe, a leitura calcula
+    // pelos lançamentos sem gravar, o que a mantém numa transação somente leitura.
     @Override
+    @Transactional(readOnly = true)
     public BigDecimal obterSaldoPorUsuario(Long id) {
+        roteamento.lerParaUsuario(id);
+        return saldoRepository.findById(id)
+                .map(SaldoUsuario::getSaldo)
+                .orElseGet(() -> calcularSaldoPorLancamentos(id));
+    }
+
+    @Override
+    @Transactional
+    public BigDecimal recalcularSaldoPorUsuario(Long id) {
+        BigDecimal saldo = calcularSaldoPorLancamentos(id);
+        saldoRepository.gravarSaldo(id, saldo, LocalDateTime.now());
+        return saldo;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long obterVersaoLancamentos(Long idUsuario) {
+        roteamento.lerParaUsuario(idUsuario);
+        return versaoRepository.findById(idUsuario)
+                .map(VersaoLancamentos::getVersao)
+                .orElse(0l);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SaldoMensalDTO> obterSaldoMensalPorUsuario(Long id, Integer ano, StatusLancamento status) {
+        roteamento.lerParaUsuario(id);
+        SomaMonetaria[] receitas = new SomaMonetaria[12];
+        SomaMonetaria[] despesas = new SomaMonetaria[12];
+        for (int indice = 0; indice < 12; indice++) {
+            receitas[indice] = new SomaMonetaria();
+            despesas[indice] = new SomaMonetaria();
+        }
+
+        for (ResumoMensal resumo : resumoRepository.obterPorUsuario(id, ano, null, null, status)) {
+            int indice = resumo.getId().getMes() - 1;
+            if (resumo.getId().getTipo() == TipoLancamento.RECEITA) {
+                receitas[indice].somar(resumo.getTotal());
+            } else {
+                despesas[indice].somar(resumo.getTotal());
+            }
+        }
+
+        List<SaldoMensalDTO> meses = new ArrayList<>(12);
+        for (int indice = 0; indice < 12; indice++) {
+            meses.add(SaldoMensalDTO.builder()
+                        .ano(ano)
+                        .mes(indice + 1)
+                        .receitas(receitas[indice].total())
+                        .despesas(despesas[indice].total())
+                        .saldo(new SomaMonetaria().somar(receitas[indice]).subtrair(despesas[indice]).total())
+                        .build());
+        }
+        return meses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResumoMensalDTO> obterResumoMensalPorUsuario(Long id, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status) {
+        roteamento.lerParaUsuario(id);
+        return resumoRepository.obterPorUsuario(id, ano, mes, tipo, status)
+                .stream()
+                .map(ResumoMensalDTO::de)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void recalcularResumoMensalPorUsuario(Long id) {
+        resumoRepository.removerPorUsuario(id);
+        resumoRepository.recalcularResumosPorUsuario(id, LocalDateTime.now());
+        roteamento.registrarEscrita(id);
+    }
+
+    private BigDecimal calcularSaldoPorLancamentos(Long id) {
         BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA, StatusLancamento.REALIZADO);
         BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA, StatusLancamento.REALIZADO);
 
@@ -107,4 +381,129 @@ public class LancamentoServiceImpl implements LancamentoService {
 
         return receitas.subtract(despesas);
     }
+
+    private boolean descricaoAlterada(Optional<EstadoLancamento> estadoAnterior, Lancamento lancamentoAtual) {
+        return estadoAnterior
+                .map(anterior -> !Objects.equals(anterior.getDescricao(), lancamentoAtual.getDescricao())
+                                || !Objects.equals(anterior.getIdUsuario(), lancamentoAtual.getUsuario().getId()))
+                .orElse(true);
+    }
+
+    private void atualizarSaldo(Optional<EstadoLancamento> estadoAnterior, Lancamento lancamentoAtual) {
+        Long idUsuarioAnterior = estadoAnterior.map(EstadoLancamento::getIdUsuario).orElse(null);
+        SomaMonetaria deltaAnterior = new SomaMonetaria();
+        estadoAnterior.ifPresent(anterior ->
+                acumularContribuicao(deltaAnterior, anterior.getTipo(), anterior.getStatus(), anterior.getValor(), true));
+
+        Long idUsuarioAtual = null;
+        SomaMonetaria deltaAtual = new SomaMonetaria();
+        if (lancamentoAtual != null && lancamentoAtual.getUsuario() != null) {
+            idUsuarioAtual = lancamentoAtual.getUsuario().getId();
+            acumularContribuicao(deltaAtual, lancamentoAtual.getTipo(), lancamentoAtual.getStatus(), lancamentoAtual.getValor(), false);
+        }
+
+        if (Objects.equals(idUsuarioAnterior, idUsuarioAtual)) {
+            aplicarAoSaldo(idUsuarioAtual, deltaAtual.somar(deltaAnterior));
+            registrarAlteracao(idUsuarioAtual);
+            return;
+        }
+
+        aplicarAoSaldo(idUsuarioAnterior, deltaAnterior);
+        aplicarAoSaldo(idUsuarioAtual, deltaAtual);
+        registrarAlteracao(idUsuarioAnterior);
+        registrarAlteracao(idUsuarioAtual);
+    }
+
+    // Versão das listas de lançamentos do usuário, usada nos ETags; muda a cada escrita e abre a janela
+    // em que as leituras do usuário vão à primária.
+    private void registrarAlteracao(Long idUsuario) {
+        if (idUsuario == null) {
+            return;
+        }
+
+        roteamento.registrarEscrita(idUsuario);
+        if (versaoRepository.incrementar(idUsuario) == 0) {
+            versaoRepository.criarVersao(idUsuario);
+        }
+    }
+
+    private void aplicarAoSaldo(Long idUsuario, SomaMonetaria delta) {
+        if (idUsuario == null || delta.signum() == 0) {
+            return;
+        }
+
+        // Primeira escrita que mexe no saldo: a linha é criada a partir dos lançamentos numa só instrução
+        LocalDateTime agora = LocalDateTime.now();
+        int atualizados = saldoRepository.somarAoSaldo(idUsuario, delta.total(), agora);
+        if (atualizados == 0) {
+            saldoRepository.criarSaldo(idUsuario, delta.total(), agora);
+        }
+    }
+
+    private void atualizarResumoMensal(Optional<EstadoLancamento> estadoAnterior, Lancamento lancamentoAtual) {
+        Map<ResumoMensalId, DeltaResumo> deltas = new TreeMap<>();
+        estadoAnterior.ifPresent(anterior -> acumularNoResumo(deltas,
+                new ResumoMensalId(anterior.getIdUsuario(), anterior.getAno(), anterior.getMes(), anterior.getTipo(), anterior.getStatus()),
+                anterior.getValor(), true));
+        if (lancamentoAtual != null && lancamentoAtual.getUsuario() != null) {
+            acumularNoResumo(deltas, ResumoMensalId.de(lancamentoAtual), lancamentoAtual.getValor(), false);
+        }
+        aplicarAoResumo(deltas);
+    }
+
+    private void acumularNoResumo(Map<ResumoMensalId, DeltaResumo> deltas, ResumoMensalId celula, BigDecimal valor, boolean desfazer) {
+        acumularNoResumo(deltas, celula, valor, desfazer ? -1 : 1, desfazer);
+    }
+
+    private void acumularNoResumo(Map<ResumoMensalId, DeltaResumo> deltas, ResumoMensalId celula, BigDecimal total,
+                                  long quantidade, boolean desfazer) {
+        if (!celula.completo()) {
+            return;
+        }
+
+        DeltaResumo delta = deltas.computeIfAbsent(celula, id -> new DeltaResumo());
+        if (desfazer) {
+            delta.total.subtrair(total);
+        } else {
+            delta.total.somar(total);
+        }
+        delta.quantidade += quantidade;
+    }
+
+    // As linhas são atualizadas na ordem da chave (TreeMap) para que escritas concorrentes do mesmo usuário
+    // travem o resumo sempre na mesma sequência. Linha inexistente é criada a partir dos lançamentos num upsert.
+    private void aplicarAoResumo(Map<ResumoMensalId, DeltaResumo> deltas) {
+        LocalDateTime agora = LocalDateTime.now();
+        for (Map.Entry<ResumoMensalId, DeltaResumo> entrada : deltas.entrySet()) {
+            DeltaResumo delta = entrada.getValue();
+            if (delta.total.signum() == 0 && delta.quantidade == 0) {
+                continue;
+            }
+
+            ResumoMensalId celula = entrada.getKey();
+            int atualizados = resumoRepository.somarAoResumo(celula.getIdUsuario(), celula.getAno(), celula.getMes(),
+                    celula.getTipo(), celula.getStatus(), delta.total.total(), delta.quantidade, agora);
+            if (atualizados == 0) {
+                resumoRepository.criarResumo(celula, delta.total.total(), delta.quantidade, agora);
+            }
+        }
+    }
+
+    // Soma ao saldo o efeito do lançamento realizado (receita soma, despesa subtrai); desfazer aplica o inverso.
+    private void acumularContribuicao(SomaMonetaria saldo, TipoLancamento tipo, StatusLancamento status, BigDecimal valor,
+                                      boolean desfazer) {
+        if (status != StatusLancamento.REALIZADO) {
+            return;
+        }
+        if ((tipo == TipoLancamento.DESPESA) != desfazer) {
+            saldo.subtrair(valor);
+        } else {
+            saldo.somar(valor);
+        }
+    }
+
+    private static class DeltaResumo {
+        private final SomaMonetaria total = new SomaMonetaria();
+        private long quantidade;
+    }
 }
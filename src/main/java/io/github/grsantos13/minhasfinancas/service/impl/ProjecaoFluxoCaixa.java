@@ -0,0 +1,151 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+// Lançamentos pendentes e recorrências de um usuário em arrays paralelos de primitivos. Competências são
+// contadas em meses (ano * 12 + mês - 1) e valores em centavos, somados por mês em SomaMonetaria, então
+// projetar não aloca nada por entrada.
+public final class ProjecaoFluxoCaixa {
+
+    public static final byte RECEITA = 0;
+    public static final byte DESPESA = 1;
+    public static final int SEM_FIM = Integer.MAX_VALUE;
+
+    private int[] periodos;
+    private long[] centavos;
+    private byte[] tipos;
+    private int quantidade;
+
+    private int[] iniciosRecorrencias = new int[8];
+    private int[] finsRecorrencias = new int[8];
+    private int[] intervalosRecorrencias = new int[8];
+    private long[] centavosRecorrencias = new long[8];
+    private byte[] tiposRecorrencias = new byte[8];
+    private int quantidadeRecorrencias;
+
+    public ProjecaoFluxoCaixa(int capacidade) {
+        periodos = new int[Math.max(capacidade, 16)];
+        centavos = new long[periodos.length];
+        tipos = new byte[periodos.length];
+    }
+
+    public static int periodo(int ano, int mes) {
+        return ano * 12 + mes - 1;
+    }
+
+    public void adicionarLancamento(int periodo, long valorEmCentavos, byte tipo) {
+        if (quantidade == periodos.length) {
+            int capacidade = quantidade * 2;
+            periodos = Arrays.copyOf(periodos, capacidade);
+            centavos = Arrays.copyOf(centavos, capacidade);
+            tipos = Arrays.copyOf(tipos, capacidade);
+        }
+        periodos[quantidade] = periodo;
+        centavos[quantidade] = valorEmCentavos;
+        tipos[quantidade] = tipo;
+        quantidade++;
+    }
+
+    public void adicionarRecorrencia(int inicio, int fim, int intervalo, long valorEmCentavos, byte tipo) {
+        if (quantidadeRecorrencias == iniciosRecorrencias.length) {
+            int capacidade = quantidadeRecorrencias * 2;
+            iniciosRecorrencias = Arrays.copyOf(iniciosRecorrencias, capacidade);
+            finsRecorrencias = Arrays.copyOf(finsRecorrencias, capacidade);
+            intervalosRecorrencias = Arrays.copyOf(intervalosRecorrencias, capacidade);
+            centavosRecorrencias = Arrays.copyOf(centavosRecorrencias, capacidade);
+            tiposRecorrencias = Arrays.copyOf(tiposRecorrencias, capacidade);
+        }
+        iniciosRecorrencias[quantidadeRecorrencias] = inicio;
+        finsRecorrencias[quantidadeRecorrencias] = fim;
+        intervalosRecorrencias[quantidadeRecorrencias] = intervalo;
+        centavosRecorrencias[quantidadeRecorrencias] = valorEmCentavos;
+        tiposRecorrencias[quantidadeRecorrencias] = tipo;
+        quantidadeRecorrencias++;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    // O que já venceu e continua pendente, lançado ou ainda por materializar, entra no primeiro mês.
+    public Resultado projetar(SomaMonetaria saldoInicial, int periodoInicial, int meses) {
+        SomaMonetaria[] receitas = novasSomas(meses);
+        SomaMonetaria[] despesas = novasSomas(meses);
+        int ultimoPeriodo = periodoInicial + meses - 1;
+
+        for (int i = 0; i < quantidade; i++) {
+            int indice = periodos[i] - periodoInicial;
+            if (indice >= meses) {
+                continue;
+            }
+            if (indice < 0) {
+                indice = 0;
+            }
+            (tipos[i] == DESPESA ? despesas : receitas)[indice].somarCentavos(centavos[i]);
+        }
+
+        for (int r = 0; r < quantidadeRecorrencias; r++) {
+            int fim = Math.min(finsRecorrencias[r], ultimoPeriodo);
+            SomaMonetaria[] destino = tiposRecorrencias[r] == DESPESA ? despesas : receitas;
+            for (int periodo = iniciosRecorrencias[r]; periodo <= fim; periodo += intervalosRecorrencias[r]) {
+                destino[Math.max(periodo - periodoInicial, 0)].somarCentavos(centavosRecorrencias[r]);
+            }
+        }
+
+        SomaMonetaria[] saldos = new SomaMonetaria[meses];
+        SomaMonetaria saldo = SomaMonetaria.deCentavos(0).somar(saldoInicial);
+        for (int m = 0; m < meses; m++) {
+            saldo.somar(receitas[m]).subtrair(despesas[m]);
+            saldos[m] = new SomaMonetaria().somar(saldo);
+        }
+        return new Resultado(periodoInicial, receitas, despesas, saldos);
+    }
+
+    private static SomaMonetaria[] novasSomas(int meses) {
+        SomaMonetaria[] somas = new SomaMonetaria[meses];
+        for (int m = 0; m < meses; m++) {
+            somas[m] = SomaMonetaria.deCentavos(0);
+        }
+        return somas;
+    }
+
+    public static final class Resultado {
+
+        private final int periodoInicial;
+        private final SomaMonetaria[] receitas;
+        private final SomaMonetaria[] despesas;
+        private final SomaMonetaria[] saldos;
+
+        private Resultado(int periodoInicial, SomaMonetaria[] receitas, SomaMonetaria[] despesas, SomaMonetaria[] saldos) {
+            this.periodoInicial = periodoInicial;
+            this.receitas = receitas;
+            this.despesas = despesas;
+            this.saldos = saldos;
+        }
+
+        public int getMeses() {
+            return saldos.length;
+        }
+
+        public int getAno(int mes) {
+            return (periodoInicial + mes) / 12;
+        }
+
+        public int getMes(int mes) {
+            return (periodoInicial + mes) % 12 + 1;
+        }
+
+        public BigDecimal getReceitas(int mes) {
+            return receitas[mes].total();
+        }
+
+        public BigDecimal getDespesas(int mes) {
+            return despesas[mes].total();
+        }
+
+        public BigDecimal getSaldo(int mes) {
+            return saldos[mes].total();
+        }
+    }
+}
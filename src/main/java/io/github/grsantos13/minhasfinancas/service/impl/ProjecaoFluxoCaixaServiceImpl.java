@@ -0,0 +1,85 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import io.github.grsantos13.minhasfinancas.api.dto.ProjecaoSaldoDTO;
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.enums.Periodicidade;
+import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import io.github.grsantos13.minhasfinancas.service.ProjecaoFluxoCaixaService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ProjecaoFluxoCaixaServiceImpl implements ProjecaoFluxoCaixaService {
+
+    private static final int MESES_PADRAO = 12;
+    private static final int MESES_MAXIMO = 120;
+
+    // Valor em centavos e tipo como número já no banco: cada linha vira só primitivos, sem BigDecimal nem String.
+    private static final String PENDENTES = " select ano, mes, cast(valor * 100 as bigint), " +
+            " case when tipo = 'DESPESA' then 1 else 0 end " +
+            " from lancamento " +
+            " where id_usuario = ? and status = 'PENDENTE' and ano is not null and mes is not null and valor is not null";
+
+    // Só o que ainda não foi materializado: as ocorrências já geradas estão entre os pendentes.
+    private static final String RECORRENCIAS = " select r.proximo_ano, r.proximo_mes, r.ano_fim, r.mes_fim, r.periodicidade, " +
+            " cast(l.valor * 100 as bigint), case when l.tipo = 'DESPESA' then 1 else 0 end " +
+            " from recorrencia_lancamento r join lancamento l on l.id = r.id_lancamento " +
+            " where r.id_usuario = ? and r.proximo_ano is not null and l.valor is not null";
+
+    private LancamentoService lancamentoService;
+    private JdbcTemplate jdbcTemplate;
+
+    public ProjecaoFluxoCaixaServiceImpl(LancamentoService lancamentoService, DataSource dataSource) {
+        this.lancamentoService = lancamentoService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjecaoSaldoDTO> projetar(Long idUsuario, Integer meses) {
+        int horizonte = meses != null ? meses : MESES_PADRAO;
+        if (horizonte < 1 || horizonte > MESES_MAXIMO){
+            throw new RegraNegocioException("Informe um número de meses entre 1 e " + MESES_MAXIMO + ".");
+        }
+
+        // o saldo vem primeiro: é ele que escolhe entre primária e réplica para as consultas seguintes
+        BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(idUsuario);
+
+        ProjecaoFluxoCaixa projecao = new ProjecaoFluxoCaixa(1024);
+        jdbcTemplate.query(PENDENTES, (RowCallbackHandler) rs -> projecao.adicionarLancamento(
+                ProjecaoFluxoCaixa.periodo(rs.getInt(1), rs.getInt(2)), rs.getLong(3), rs.getByte(4)), idUsuario);
+        jdbcTemplate.query(RECORRENCIAS, (RowCallbackHandler) rs -> {
+            int inicio = ProjecaoFluxoCaixa.periodo(rs.getInt(1), rs.getInt(2));
+            int anoFim = rs.getInt(3);
+            int fim = rs.wasNull() ? ProjecaoFluxoCaixa.SEM_FIM : ProjecaoFluxoCaixa.periodo(anoFim, rs.getInt(4));
+            int intervalo = Periodicidade.valueOf(rs.getString(5)).getMeses();
+            projecao.adicionarRecorrencia(inicio, fim, intervalo, rs.getLong(6), rs.getByte(7));
+        }, idUsuario);
+
+        YearMonth atual = YearMonth.now();
+        ProjecaoFluxoCaixa.Resultado resultado = projecao.projetar(new SomaMonetaria().somar(saldo),
+                ProjecaoFluxoCaixa.periodo(atual.getYear(), atual.getMonthValue()), horizonte);
+
+        List<ProjecaoSaldoDTO> projecaoMensal = new ArrayList<>(horizonte);
+        for (int mes = 0; mes < resultado.getMeses(); mes++) {
+            projecaoMensal.add(ProjecaoSaldoDTO.builder()
+                    .ano(resultado.getAno(mes))
+                    .mes(resultado.getMes(mes))
+                    .receitas(resultado.getReceitas(mes))
+                    .despesas(resultado.getDespesas(mes))
+                    .saldoProjetado(resultado.getSaldo(mes))
+                    .build());
+        }
+        return projecaoMensal;
+    }
+
+}
@@ -0,0 +1,180 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import io.github.grsantos13.minhasfinancas.api.dto.ResultadoMaterializacaoDTO;
+import io.github.grsantos13.minhasfinancas.config.RecorrenciaConfig;
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.RecorrenciaLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.Periodicidade;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.repository.RecorrenciaLancamentoRepository;
+import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import io.github.grsantos13.minhasfinancas.service.RecorrenciaLancamentoService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+@Service
+public class RecorrenciaLancamentoServiceImpl implements RecorrenciaLancamentoService {
+
+    private RecorrenciaLancamentoRepository repository;
+    private LancamentoService lancamentoService;
+    private TransactionTemplate transacao;
+    private AsyncTaskExecutor executor;
+    private int tamanhoBloco;
+    private int mesesAntecedencia;
+
+    public RecorrenciaLancamentoServiceImpl(RecorrenciaLancamentoRepository repository,
+                                            LancamentoService lancamentoService,
+                                            PlatformTransactionManager transactionManager,
+                                            @Qualifier(RecorrenciaConfig.MATERIALIZACAO_EXECUTOR) AsyncTaskExecutor executor,
+                                            @Value("${minhasfinancas.recorrencia.tamanho-bloco:500}") int tamanhoBloco,
+                                            @Value("${minhasfinancas.recorrencia.meses-antecedencia:1}") int mesesAntecedencia) {
+        this.repository = repository;
+        this.lancamentoService = lancamentoService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.tamanhoBloco = tamanhoBloco;
+        this.mesesAntecedencia = mesesAntecedencia;
+    }
+
+    @Override
+    @Transactional
+    public RecorrenciaLancamento definir(Lancamento lancamento, Periodicidade periodicidade, Integer anoFim, Integer mesFim) {
+        Objects.requireNonNull(lancamento.getId());
+        if (periodicidade == null){
+            throw new RegraNegocioException("Informe uma periodicidade válida.");
+        }
+
+        YearMonth inicio = YearMonth.of(lancamento.getAno(), lancamento.getMes()).plusMonths(periodicidade.getMeses());
+        if ((anoFim == null) != (mesFim == null) || (mesFim != null && (mesFim < 1 || mesFim > 12))
+                || (anoFim != null && YearMonth.of(anoFim, mesFim).isBefore(inicio))){
+            throw new RegraNegocioException("Informe um fim de recorrência válido.");
+        }
+
+        RecorrenciaLancamento recorrencia = repository.findByLancamentoId(lancamento.getId())
+                .orElseGet(RecorrenciaLancamento::new);
+        recorrencia.setLancamento(lancamento);
+        recorrencia.setIdUsuario(lancamento.getUsuario().getId());
+        recorrencia.setPeriodicidade(periodicidade);
+        recorrencia.setProximoAno(inicio.getYear());
+        recorrencia.setProximoMes(inicio.getMonthValue());
+        recorrencia.setAnoFim(anoFim);
+        recorrencia.setMesFim(mesFim);
+        return repository.save(recorrencia);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RecorrenciaLancamento> obterPorLancamento(Long idLancamento) {
+        return repository.findByLancamentoId(idLancamento);
+    }
+
+    @Override
+    @Transactional
+    public void remover(RecorrenciaLancamento recorrencia) {
+        Objects.requireNonNull(recorrencia.getId());
+        repository.delete(recorrencia);
+    }
+
+    @Scheduled(cron = "${minhasfinancas.recorrencia.cron:0 0 2 * * *}")
+    public void materializarAgendado() {
+        YearMonth ate = YearMonth.now().plusMonths(mesesAntecedencia);
+        materializarAte(ate.getYear(), ate.getMonthValue());
+    }
+
+    // Cada bloco de usuários grava as ocorrências e avança os cursores numa única transação: um bloco que
+    // falha ou é interrompido não deixa nada pela metade e é retomado na próxima execução.
+    @Override
+    public ResultadoMaterializacaoDTO materializarAte(Integer ano, Integer mes) {
+        List<Future<Integer>> blocos = new ArrayList<>();
+        List<Integer> usuariosPorBloco = new ArrayList<>();
+
+        Long ultimoUsuario = 0l;
+        List<Long> usuarios;
+        do {
+            usuarios = repository.obterUsuariosPendentes(ultimoUsuario, ano, mes, PageRequest.of(0, tamanhoBloco));
+            if (usuarios.isEmpty()) {
+                break;
+            }
+            ultimoUsuario = usuarios.get(usuarios.size() - 1);
+
+            List<Long> bloco = usuarios;
+            blocos.add(executor.submit(() -> materializarBloco(bloco, ano, mes)));
+            usuariosPorBloco.add(bloco.size());
+        } while (usuarios.size() == tamanhoBloco);
+
+        ResultadoMaterializacaoDTO resultado = new ResultadoMaterializacaoDTO();
+        for (int i = 0; i < blocos.size(); i++) {
+            try {
+                int lancamentosGerados = blocos.get(i).get();
+                resultado.setUsuariosProcessados(resultado.getUsuariosProcessados() + usuariosPorBloco.get(i));
+                resultado.setLancamentosGerados(resultado.getLancamentosGerados() + lancamentosGerados);
+            } catch (ExecutionException e) {
+                resultado.setBlocosComFalha(resultado.getBlocosComFalha() + 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                blocos.subList(i, blocos.size()).forEach(bloco -> bloco.cancel(true));
+                resultado.setBlocosComFalha(resultado.getBlocosComFalha() + blocos.size() - i);
+                break;
+            }
+        }
+        return resultado;
+    }
+
+    private int materializarBloco(List<Long> usuarios, Integer ano, Integer mes) {
+        YearMonth ate = YearMonth.of(ano, mes);
+        return transacao.execute(status -> {
+            List<Lancamento> ocorrencias = new ArrayList<>();
+            for (RecorrenciaLancamento recorrencia : repository.obterPendentesPorUsuarios(usuarios, ano, mes)) {
+                gerarOcorrencias(recorrencia, ate, ocorrencias);
+            }
+            if (!ocorrencias.isEmpty()) {
+                lancamentoService.salvarLote(ocorrencias);
+            }
+            return ocorrencias.size();
+        });
+    }
+
+    private void gerarOcorrencias(RecorrenciaLancamento recorrencia, YearMonth ate, List<Lancamento> ocorrencias) {
+        YearMonth proxima = YearMonth.of(recorrencia.getProximoAno(), recorrencia.getProximoMes());
+        YearMonth fim = recorrencia.getAnoFim() != null
+                ? YearMonth.of(recorrencia.getAnoFim(), recorrencia.getMesFim())
+                : null;
+
+        while (!proxima.isAfter(ate) && (fim == null || !proxima.isAfter(fim))) {
+            ocorrencias.add(ocorrencia(recorrencia.getLancamento(), proxima));
+            proxima = proxima.plusMonths(recorrencia.getPeriodicidade().getMeses());
+        }
+
+        boolean encerrada = fim != null && proxima.isAfter(fim);
+        recorrencia.setProximoAno(encerrada ? null : proxima.getYear());
+        recorrencia.setProximoMes(encerrada ? null : proxima.getMonthValue());
+    }
+
+    private Lancamento ocorrencia(Lancamento modelo, YearMonth competencia) {
+        return Lancamento.builder()
+                .descricao(modelo.getDescricao())
+                .ano(competencia.getYear())
+                .mes(competencia.getMonthValue())
+                .valor(modelo.getValor())
+                .tipo(modelo.getTipo())
+                .usuario(modelo.getUsuario())
+                .status(StatusLancamento.PENDENTE)
+                .build();
+    }
+}
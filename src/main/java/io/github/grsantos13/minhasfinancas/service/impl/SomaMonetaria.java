@@ -0,0 +1,104 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+
+// Soma de valores monetários em centavos num long, sem alocar por operação. Uma parcela com mais de duas
+// casas decimais ou um total que estoure o long passa a soma para BigDecimal, sem perder precisão.
+// O total sai com a escala que a mesma conta feita em BigDecimal teria: a maior entre as parcelas.
+public final class SomaMonetaria {
+
+    private static final long[] CENTAVOS_POR_UNIDADE = {100, 10, 1};
+
+    private long centavos;
+    private int escala;
+    private BigDecimal excedente;
+
+    public static SomaMonetaria deCentavos(long centavos) {
+        return new SomaMonetaria().somarCentavos(centavos);
+    }
+
+    public SomaMonetaria somar(BigDecimal valor) {
+        return acumular(valor, false);
+    }
+
+    public SomaMonetaria subtrair(BigDecimal valor) {
+        return acumular(valor, true);
+    }
+
+    public SomaMonetaria somar(SomaMonetaria outra) {
+        return combinar(outra, false);
+    }
+
+    public SomaMonetaria subtrair(SomaMonetaria outra) {
+        return combinar(outra, true);
+    }
+
+    public SomaMonetaria somarCentavos(long valor) {
+        if (excedente == null) {
+            try {
+                centavos = Math.addExact(centavos, valor);
+                escala = 2;
+                return this;
+            } catch (ArithmeticException e) {
+                // estourou o long: segue em BigDecimal
+            }
+        }
+        excedente = total().add(BigDecimal.valueOf(valor, 2));
+        return this;
+    }
+
+    public int signum() {
+        return excedente != null ? excedente.signum() : Long.signum(centavos);
+    }
+
+    public boolean isEmCentavos() {
+        return excedente == null;
+    }
+
+    public BigDecimal total() {
+        if (excedente != null) {
+            return excedente;
+        }
+        return BigDecimal.valueOf(centavos / CENTAVOS_POR_UNIDADE[escala], escala);
+    }
+
+    private SomaMonetaria acumular(BigDecimal valor, boolean subtrair) {
+        if (valor == null) {
+            return this;
+        }
+        if (excedente == null && valor.scale() <= 2) {
+            try {
+                long parcela = emCentavos(valor);
+                centavos = subtrair ? Math.subtractExact(centavos, parcela) : Math.addExact(centavos, parcela);
+                escala = Math.max(escala, Math.max(valor.scale(), 0));
+                return this;
+            } catch (ArithmeticException e) {
+                // não cabe em centavos num long: segue em BigDecimal
+            }
+        }
+        excedente = subtrair ? total().subtract(valor) : total().add(valor);
+        return this;
+    }
+
+    private SomaMonetaria combinar(SomaMonetaria outra, boolean subtrair) {
+        if (excedente == null && outra.excedente == null) {
+            try {
+                centavos = subtrair ? Math.subtractExact(centavos, outra.centavos) : Math.addExact(centavos, outra.centavos);
+                escala = Math.max(escala, outra.escala);
+                return this;
+            } catch (ArithmeticException e) {
+                // estourou o long: segue em BigDecimal
+            }
+        }
+        excedente = subtrair ? total().subtract(outra.total()) : total().add(outra.total());
+        return this;
+    }
+
+    // Valores inteiros (escala 0) são convertidos sem alocar.
+    private static long emCentavos(BigDecimal valor) {
+        if (valor.scale() == 0) {
+            return Math.multiplyExact(valor.longValueExact(), 100);
+        }
+        return valor.movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TokenizadorDescricao {
+
+    public static final int TAMANHO_MINIMO = 2;
+    public static final int TAMANHO_MAXIMO = 40;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private TokenizadorDescricao() {
+    }
+
+    public static Set<String> tokenizar(String texto) {
+        Set<String> termos = new LinkedHashSet<>();
+        if (texto == null) {
+            return termos;
+        }
+
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (termo.length() >= TAMANHO_MINIMO) {
+                termos.add(termo.length() > TAMANHO_MAXIMO ? termo.substring(0, TAMANHO_MAXIMO) : termo);
+            }
+        }
+        return termos;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.grsantos13.minhasfinancas.service.impl;
+
+import io.github.grsantos13.minhasfinancas.model.reativo.entity.UsuarioReativo;
+import io.github.grsantos13.minhasfinancas.model.reativo.repository.UsuarioReativoRepository;
+import io.github.grsantos13.minhasfinancas.service.UsuarioReativoService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class UsuarioReativoServiceImpl implements UsuarioReativoService {
+
+    private UsuarioReativoRepository repository;
+
+    public UsuarioReativoServiceImpl(UsuarioReativoRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Mono<UsuarioReativo> getById(Long id) {
+        return repository.findById(id);
+    }
+}
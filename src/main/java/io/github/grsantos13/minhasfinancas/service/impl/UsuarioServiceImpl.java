@@ -1,40 +1,81 @@
 package io.github.grsantos13.minhasfinancas.service.impl;
 
+import io.github.grsantos13.minhasfinancas.config.RoteamentoLeitura;
+import io.github.grsantos13.minhasfinancas.config.SenhaConfig;
 import io.github.grsantos13.minhasfinancas.exception.ErroDeAutenticacao;
 import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.exception.ServicoIndisponivelException;
 import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
 import io.github.grsantos13.minhasfinancas.model.repository.UsuarioRepository;
 import io.github.grsantos13.minhasfinancas.service.UsuarioService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 
+    private static final Pattern HASH_BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
     private UsuarioRepository usuarioRepository;
+    private PasswordEncoder passwordEncoder;
+    private AsyncTaskExecutor verificacaoSenhaExecutor;
+    private long timeoutVerificacao;
+    private RoteamentoLeitura roteamento;
 
-    public UsuarioServiceImpl(UsuarioRepository usuarioRepository) {
+    public UsuarioServiceImpl(UsuarioRepository usuarioRepository,
+                              PasswordEncoder passwordEncoder,
+                              @Qualifier(SenhaConfig.VERIFICACAO_SENHA_EXECUTOR) AsyncTaskExecutor verificacaoSenhaExecutor,
+                              @Value("${minhasfinancas.senha.timeout:2000}") long timeoutVerificacao,
+                              RoteamentoLeitura roteamento) {
         this.usuarioRepository = usuarioRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.verificacaoSenhaExecutor = verificacaoSenhaExecutor;
+        this.timeoutVerificacao = timeoutVerificacao;
+        this.roteamento = roteamento;
     }
 
     @Override
     public Usuario autenticar(String email, String senha) {
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        Usuario usuario = lerDaReplicaOuDaPrimaria(() -> usuarioRepository.findByEmail(email))
                     .orElseThrow(() -> new ErroDeAutenticacao("Usuário não encontrado."));
 
-        if (!usuario.getSenha().equals(senha)){
-            throw new ErroDeAutenticacao("Senha incorreta.");
+        String novoHash = executarNoPoolDeSenha(() -> verificarSenha(senha, usuario.getSenha()));
+        if (novoHash != null){
+            // a instância pode ter vindo do cache, compartilhada com outras requisições: a alteração vai numa cópia
+            Usuario atualizado = usuario.toBuilder().senha(novoHash).build();
+            usuarioRepository.save(atualizado);
+            return atualizado;
         }
 
         return usuario;
     }
 
+    // Sem transação em volta: o hash roda antes e fora dela, então a espera pelo pool de senha não prende uma
+    // conexão do banco; só o insert, no save do repositório, abre transação.
     @Override
-    @Transactional
     public Usuario cadastrarUsuario(Usuario usuario) {
         validarEmail(usuario.getEmail());
+        if (usuario.getSenha() == null || usuario.getSenha().isEmpty()){
+            throw new RegraNegocioException("Informe uma senha válida.");
+        }
+
+        String senha = usuario.getSenha();
+        usuario.setSenha(executarNoPoolDeSenha(() -> passwordEncoder.encode(senha)));
         return usuarioRepository.save(usuario);
     }
 
@@ -47,6 +88,58 @@ public class UsuarioServiceImpl implements UsuarioService {
 
     @Override
     public Optional<Usuario> getById(Long id) {
-        return usuarioRepository.findById(id);
+        return lerDaReplicaOuDaPrimaria(() -> usuarioRepository.findById(id));
+    }
+
+    // Um usuário recém-cadastrado pode ainda não ter chegado à réplica.
+    private Optional<Usuario> lerDaReplicaOuDaPrimaria(Supplier<Optional<Usuario>> leitura) {
+        Optional<Usuario> usuario = leitura.get();
+        return usuario.isPresent() ? usuario : roteamento.naPrimaria(leitura);
+    }
+
+    // Retorna o hash a ser gravado quando a senha armazenada está em texto puro ou com custo desatualizado.
+    private String verificarSenha(String senha, String senhaArmazenada) {
+        if (senha == null || senhaArmazenada == null){
+            throw new ErroDeAutenticacao("Senha incorreta.");
+        }
+
+        if (!HASH_BCRYPT.matcher(senhaArmazenada).matches()){
+            boolean confere = MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8),
+                                                    senhaArmazenada.getBytes(StandardCharsets.UTF_8));
+            if (!confere){
+                throw new ErroDeAutenticacao("Senha incorreta.");
+            }
+            return passwordEncoder.encode(senha);
+        }
+
+        if (!passwordEncoder.matches(senha, senhaArmazenada)){
+            throw new ErroDeAutenticacao("Senha incorreta.");
+        }
+        return passwordEncoder.upgradeEncoding(senhaArmazenada) ? passwordEncoder.encode(senha) : null;
+    }
+
+    private <T> T executarNoPoolDeSenha(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = verificacaoSenhaExecutor.submit(tarefa);
+        } catch (TaskRejectedException e) {
+            throw new ServicoIndisponivelException("Serviço de autenticação sobrecarregado, tente novamente em instantes.");
+        }
+
+        try {
+            return futuro.get(timeoutVerificacao, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new ServicoIndisponivelException("Serviço de autenticação sobrecarregado, tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServicoIndisponivelException("Autenticação interrompida.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException){
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
     }
 }
@@ -0,0 +1,41 @@
+-- O id do lançamento passa a vir de uma sequência em blocos de 50 (inserts em lote); em bancos que já
+-- têm lançamentos ela é adiantada para depois do maior id (db/postgresql/V1_2). A coluna identity continua
+-- lá, mas o Hibernate sempre informa o id.
+create sequence lancamento_seq start with 1 increment by 50;
+
+-- Controle otimista e ETag de cada lançamento.
+alter table lancamento add column versao bigint default 0 not null;
+
+-- Saldo consolidado por usuário, mantido pelas escritas; os usuários existentes partem do saldo atual.
+create table saldo_usuario (
+    id_usuario bigint primary key,
+    saldo numeric(16, 2),
+    data_atualizacao timestamp
+);
+
+insert into saldo_usuario (id_usuario, saldo, data_atualizacao)
+select u.id,
+       coalesce(sum(case when l.tipo = 'RECEITA' then l.valor when l.tipo = 'DESPESA' then -l.valor else 0 end), 0),
+       current_timestamp
+from usuario u
+left join lancamento l on l.id_usuario = u.id and l.status = 'REALIZADO'
+group by u.id;
+
+-- Versão das listas de lançamentos de cada usuário (ETag das listas); a linha nasce na primeira escrita.
+create table versao_lancamentos (
+    id_usuario bigint primary key,
+    versao bigint
+);
+
+-- Índice invertido da busca por descrição; os lançamentos existentes entram pelo reindexar.
+create sequence lancamento_termo_seq start with 1 increment by 50;
+
+create table lancamento_termo (
+    id bigint primary key,
+    id_lancamento bigint,
+    id_usuario bigint,
+    termo varchar(255)
+);
+
+create index idx_lancamento_termo_usuario_termo on lancamento_termo (id_usuario, termo);
+create index idx_lancamento_termo_lancamento on lancamento_termo (id_lancamento);
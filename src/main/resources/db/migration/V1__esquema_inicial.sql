@@ -0,0 +1,24 @@
+-- Esquema anterior às migrações, como era criado pelo Hibernate (ddl-auto) ou à mão em produção.
+-- Bancos que já existiam são marcados nesta versão (baseline) e recebem só as seguintes.
+-- Escrito no SQL comum ao PostgreSQL e ao H2 usado nos testes.
+
+create table usuario (
+    id bigserial primary key,
+    nome varchar(150),
+    email varchar(100),
+    senha varchar(100),
+    data_cadastro timestamp
+);
+
+create table lancamento (
+    id bigserial primary key,
+    descricao varchar(255),
+    mes integer,
+    ano integer,
+    id_usuario bigint,
+    valor numeric(16, 2),
+    data_cadastro timestamp,
+    tipo varchar(20),
+    status varchar(20),
+    constraint fk_lancamento_usuario foreign key (id_usuario) references usuario (id)
+);
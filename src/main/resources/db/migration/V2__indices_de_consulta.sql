@@ -0,0 +1,10 @@
+-- findByEmail/existsByEmail: além do índice, impede dois cadastros com o mesmo e-mail.
+alter table usuario add constraint uk_usuario_email unique (email);
+
+-- Saldo por usuário: obterSaldoPorTipoLancamentoEUsuario filtra por id_usuario, tipo e status.
+create index idx_lancamento_usuario_tipo_status on lancamento (id_usuario, tipo, status);
+
+-- Listagem, paginação por cursor (ano, mes, id), recálculo do resumo mensal e atualização de status em lote:
+-- id_usuario e ano por igualdade, mes por igualdade ou intervalo, id para a ordem do cursor.
+-- No PostgreSQL também atende a chave estrangeira, que não ganha índice próprio.
+create index idx_lancamento_usuario_ano_mes on lancamento (id_usuario, ano, mes, id);
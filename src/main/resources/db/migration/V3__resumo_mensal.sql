@@ -0,0 +1,17 @@
+create table resumo_mensal (
+    id_usuario bigint not null,
+    ano integer not null,
+    mes integer not null,
+    tipo varchar(20) not null,
+    status varchar(20) not null,
+    total numeric(16, 2),
+    quantidade bigint,
+    data_atualizacao timestamp,
+    constraint pk_resumo_mensal primary key (id_usuario, ano, mes, tipo, status)
+);
+
+insert into resumo_mensal (id_usuario, ano, mes, tipo, status, total, quantidade, data_atualizacao)
+select id_usuario, ano, mes, tipo, status, coalesce(sum(valor), 0), count(*), current_timestamp
+from lancamento
+where id_usuario is not null and ano is not null and mes is not null and tipo is not null and status is not null
+group by id_usuario, ano, mes, tipo, status;
@@ -0,0 +1,19 @@
+create sequence recorrencia_lancamento_seq start with 1 increment by 50;
+
+-- Apagar o lançamento de origem encerra a recorrência; as ocorrências já geradas continuam.
+create table recorrencia_lancamento (
+    id bigint primary key,
+    id_lancamento bigint not null,
+    id_usuario bigint not null,
+    periodicidade varchar(20) not null,
+    proximo_ano integer,
+    proximo_mes integer,
+    ano_fim integer,
+    mes_fim integer,
+    versao bigint default 0 not null,
+    constraint uk_recorrencia_lancamento unique (id_lancamento),
+    constraint fk_recorrencia_lancamento foreign key (id_lancamento) references lancamento (id) on delete cascade
+);
+
+-- O job percorre os usuários com ocorrências vencidas por faixas de id_usuario.
+create index idx_recorrencia_usuario_proxima on recorrencia_lancamento (id_usuario, proximo_ano, proximo_mes);
@@ -0,0 +1,16 @@
+-- Respostas guardadas por Idempotency-Key. Status nulo é uma reserva: a requisição original ainda está em
+-- andamento, e expira_em é o prazo dela. Depois de concluída, expira_em é o fim da validade da chave.
+create table chave_idempotencia (
+    id_usuario bigint not null,
+    chave varchar(100) not null,
+    requisicao varchar(64) not null,
+    status integer,
+    corpo varchar,
+    data_cadastro timestamp not null,
+    expira_em timestamp not null,
+    versao bigint default 0 not null,
+    constraint pk_chave_idempotencia primary key (id_usuario, chave)
+);
+
+-- A limpeza periódica apaga por expira_em.
+create index idx_chave_idempotencia_expira_em on chave_idempotencia (expira_em);
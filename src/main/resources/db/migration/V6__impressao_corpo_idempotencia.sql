@@ -0,0 +1,3 @@
+-- Impressão (SHA-256) do corpo lido em streaming na importação: a repetição com a mesma chave e outro
+-- arquivo é recusada. Nula nas requisições cuja impressão já cobre o corpo inteiro.
+alter table chave_idempotencia add column impressao_corpo varchar(64);
@@ -0,0 +1,4 @@
+-- Só no PostgreSQL, onde há bancos com lançamentos anteriores à sequência. O otimizador pooled do Hibernate
+-- usa cada valor como o topo de um bloco de 50 (valor - 49 até valor): o próximo valor precisa ser o maior
+-- id + 50 para que o primeiro bloco comece logo depois dele.
+select setval('lancamento_seq', coalesce((select max(id) from lancamento), 0) + 50, false);
@@ -0,0 +1,504 @@
+package io.github.grsantos13.minhasfinancas.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.github.grsantos13.minhasfinancas.api.dto.LancamentoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.RecorrenciaDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.RespostaIdempotenteDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+import io.github.grsantos13.minhasfinancas.config.LimitadorRequisicoes;
+import io.github.grsantos13.minhasfinancas.exception.ChaveIdempotenciaEmUsoException;
+import io.github.grsantos13.minhasfinancas.exception.LimiteExcedidoException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.RecorrenciaLancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.Periodicidade;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import io.github.grsantos13.minhasfinancas.service.BuscaDescricaoService;
+import io.github.grsantos13.minhasfinancas.service.ExportacaoLancamentoService;
+import io.github.grsantos13.minhasfinancas.service.IdempotenciaService;
+import io.github.grsantos13.minhasfinancas.service.ImportacaoLancamentoService;
+import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import io.github.grsantos13.minhasfinancas.service.RecorrenciaLancamentoService;
+import io.github.grsantos13.minhasfinancas.service.UsuarioService;
+import io.github.grsantos13.minhasfinancas.service.impl.GravacaoLancamentoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest( controllers = LancamentoController.class )
+@Import(GravacaoLancamentoServiceImpl.class)
+@AutoConfigureMockMvc
+public class LancamentoControllerTest {
+
+    static final String API = "/api/lancamentos";
+    static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    LancamentoService service;
+    @MockBean
+    UsuarioService usuarioService;
+    @MockBean
+    BuscaDescricaoService buscaDescricaoService;
+    @MockBean
+    ImportacaoLancamentoService importacaoService;
+    @MockBean
+    ExportacaoLancamentoService exportacaoService;
+    @MockBean
+    RecorrenciaLancamentoService recorrenciaService;
+    @MockBean
+    LimitadorRequisicoes limitador;
+    @MockBean
+    IdempotenciaService idempotenciaService;
+    @MockBean
+    TransactionTemplate transacao;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(transacao.execute(Mockito.any())).thenAnswer(invocacao ->
+                invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(new SimpleTransactionStatus()));
+    }
+
+    @Test
+    public void deveRetornarOLancamentoComETagDaVersao() throws Exception {
+        LancamentoResumo resumo = LancamentoResumo.builder().id(1l).usuario(1l).versao(3l).build();
+        Mockito.when(service.getResumoById(1l)).thenReturn(Optional.of(resumo));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1")).accept(JSON))
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\"") )
+                .andExpect( MockMvcResultMatchers.jsonPath("versao").value(3) );
+    }
+
+    @Test
+    public void deveEscreverAListaEmStreamingNoFormatoNegociado() throws Exception {
+        LancamentoResumo resumo = LancamentoResumo.builder().id(1l).usuario(1l).descricao("Aluguel").versao(3l).build();
+        Mockito.when(usuarioService.getById(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+        Mockito.when(service.obterVersaoLancamentos(1l)).thenReturn(7l);
+        Mockito.when(service.buscarResumos(Mockito.any(), Mockito.anyInt()))
+                .thenReturn(Collections.nCopies(1001, resumo));
+        Mockito.doAnswer(invocacao -> {
+            ObjectMapper mapper = invocacao.getArgument(1);
+            mapper.writeValue((OutputStream) invocacao.getArgument(2), Collections.singletonList(resumo));
+            return null;
+        }).when(exportacaoService).escreverResumos(Mockito.any(), Mockito.any(), Mockito.any());
+
+        MvcResult inicio = mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", "1").accept("application/cbor"))
+                .andReturn();
+        MvcResult resultado = mvc
+                .perform(MockMvcRequestBuilders.asyncDispatch(inicio))
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.content().contentType("application/cbor") )
+                .andExpect( MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"7\"") )
+                .andReturn();
+
+        assertThat(resultado.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        JsonNode lista = new ObjectMapper(new CBORFactory()).readTree(resultado.getResponse().getContentAsByteArray());
+        assertThat(lista.get(0).get("descricao").asText()).isEqualTo("Aluguel");
+        assertThat(lista.get(0).get("versao").asLong()).isEqualTo(3);
+        verify(service, never()).buscarResumos(Mockito.any());
+    }
+
+    @Test
+    public void deveEscreverAListaPequenaSemStreaming() throws Exception {
+        LancamentoResumo resumo = LancamentoResumo.builder().id(1l).usuario(1l).descricao("Aluguel").versao(3l).build();
+        Mockito.when(usuarioService.getById(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+        Mockito.when(service.obterVersaoLancamentos(1l)).thenReturn(7l);
+        Mockito.when(service.buscarResumos(Mockito.any(), Mockito.eq(1001)))
+                .thenReturn(Collections.singletonList(resumo));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", "1").accept(JSON))
+                .andExpect( MockMvcResultMatchers.request().asyncNotStarted() )
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.content().contentType(JSON) )
+                .andExpect( MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"7\"") )
+                .andExpect( MockMvcResultMatchers.jsonPath("$[0].descricao").value("Aluguel") );
+
+        verify(exportacaoService, never()).escreverResumos(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveRetornarNotAcceptableQuandoNenhumFormatoDaListaForAceito() throws Exception {
+        Mockito.when(usuarioService.getById(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", "1").accept("text/csv"))
+                .andExpect( MockMvcResultMatchers.status().isNotAcceptable() );
+
+        verify(exportacaoService, never()).escreverResumos(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveResponderEmJsonQuandoOClienteNaoEscolherOFormato() throws Exception {
+        LancamentoResumo resumo = LancamentoResumo.builder().id(1l).usuario(1l).versao(3l).build();
+        Mockito.when(service.getResumoById(1l)).thenReturn(Optional.of(resumo));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1")))
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.content().contentType(JSON) )
+                .andExpect( MockMvcResultMatchers.jsonPath("versao").value(3) );
+    }
+
+    @Test
+    public void deveRetornarNotModifiedQuandoOETagDoLancamentoConferir() throws Exception {
+        LancamentoResumo resumo = LancamentoResumo.builder().id(1l).usuario(1l).versao(3l).build();
+        Mockito.when(service.getResumoById(1l)).thenReturn(Optional.of(resumo));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1")).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect( MockMvcResultMatchers.status().isNotModified() )
+                .andExpect( MockMvcResultMatchers.content().string("") );
+    }
+
+    @Test
+    public void deveUsarUmETagPorFormatoDoLancamento() throws Exception {
+        LancamentoResumo resumo = LancamentoResumo.builder().id(1l).usuario(1l).versao(3l).build();
+        Mockito.when(service.getResumoById(1l)).thenReturn(Optional.of(resumo));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1"))
+                        .accept("application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.content().contentType("application/cbor") )
+                .andExpect( MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3-cbor\"") );
+    }
+
+    @Test
+    public void deveAceitarNoIfMatchOETagDeQualquerFormatoDaVersao() throws Exception {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setVersao(3l);
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        Mockito.when(service.getById(1l)).thenReturn(Optional.of(lancamento));
+
+        mvc
+                .perform(MockMvcRequestBuilders.delete(API.concat("/1")).header(HttpHeaders.IF_MATCH, "\"3-cbor\""))
+                .andExpect( MockMvcResultMatchers.status().isNoContent() );
+
+        verify(service).deletar(lancamento);
+    }
+
+    @Test
+    public void naoDeveConsultarAListaQuandoAVersaoDoUsuarioNaoMudou() throws Exception {
+        Mockito.when(usuarioService.getById(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+        Mockito.when(service.obterVersaoLancamentos(1l)).thenReturn(7l);
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", "1").header(HttpHeaders.IF_NONE_MATCH, "W/\"7\""))
+                .andExpect( MockMvcResultMatchers.status().isNotModified() );
+
+        verify(service, never()).buscarResumos(Mockito.any());
+    }
+
+    @Test
+    public void deveRetornarPreconditionFailedQuandoOIfMatchNaoConferir() throws Exception {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setVersao(4l);
+        Mockito.when(service.getById(1l)).thenReturn(Optional.of(lancamento));
+
+        mvc
+                .perform(MockMvcRequestBuilders.delete(API.concat("/1")).header(HttpHeaders.IF_MATCH, "\"3\""))
+                .andExpect( MockMvcResultMatchers.status().isPreconditionFailed() );
+
+        verify(service, never()).deletar(Mockito.any());
+    }
+
+    @Test
+    public void deveRetornarPreconditionFailedQuandoAVersaoDoCorpoEstiverDesatualizada() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).build();
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setVersao(4l);
+        lancamento.setUsuario(usuario);
+        Mockito.when(service.getById(1l)).thenReturn(Optional.of(lancamento));
+        Mockito.when(usuarioService.getById(1l)).thenReturn(Optional.of(usuario));
+        Mockito.when(service.atualizar(Mockito.argThat(atualizado -> atualizado.getVersao() == 3l)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Lancamento.class, 1l));
+
+        LancamentoDTO dto = LancamentoDTO.builder()
+                .descricao("aluguel").mes(1).ano(2020).valor(BigDecimal.TEN).usuario(1l).tipo("DESPESA").versao(3l)
+                .build();
+
+        mvc
+                .perform(MockMvcRequestBuilders.put(API.concat("/1"))
+                        .contentType(JSON)
+                        .content(new ObjectMapper().writeValueAsString(dto)))
+                .andExpect( MockMvcResultMatchers.status().isPreconditionFailed() );
+    }
+
+    @Test
+    public void deveDefinirARecorrenciaDoLancamento() throws Exception {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        Mockito.when(service.getById(1l)).thenReturn(Optional.of(lancamento));
+        RecorrenciaLancamento recorrencia = RecorrenciaLancamento.builder()
+                .id(5l).lancamento(lancamento).periodicidade(Periodicidade.MENSAL).proximoAno(2019).proximoMes(2)
+                .build();
+        Mockito.when(recorrenciaService.definir(lancamento, Periodicidade.MENSAL, null, null)).thenReturn(recorrencia);
+
+        RecorrenciaDTO dto = RecorrenciaDTO.builder().periodicidade("MENSAL").build();
+
+        mvc
+                .perform(MockMvcRequestBuilders.put(API.concat("/1/recorrencia"))
+                        .contentType(JSON)
+                        .content(new ObjectMapper().writeValueAsString(dto)))
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.jsonPath("lancamento").value(1) )
+                .andExpect( MockMvcResultMatchers.jsonPath("proximoMes").value(2) );
+    }
+
+    @Test
+    public void deveRejeitarUmaPeriodicidadeInexistente() throws Exception {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        Mockito.when(service.getById(1l)).thenReturn(Optional.of(lancamento));
+
+        RecorrenciaDTO dto = RecorrenciaDTO.builder().periodicidade("QUINZENAL").build();
+
+        mvc
+                .perform(MockMvcRequestBuilders.put(API.concat("/1/recorrencia"))
+                        .contentType(JSON)
+                        .content(new ObjectMapper().writeValueAsString(dto)))
+                .andExpect( MockMvcResultMatchers.status().isBadRequest() );
+
+        verify(recorrenciaService, never()).definir(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveRetornarTooManyRequestsQuandoOUsuarioExcederOLimiteDeEscrita() throws Exception {
+        Mockito.when(limitador.adquirir("salvar", 1l))
+                .thenThrow(new LimiteExcedidoException("Limite de requisições excedido", 3));
+
+        LancamentoDTO dto = LancamentoDTO.builder()
+                .descricao("aluguel").mes(1).ano(2020).valor(BigDecimal.TEN).usuario(1l).tipo("DESPESA")
+                .build();
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(API)
+                        .contentType(JSON)
+                        .content(new ObjectMapper().writeValueAsString(dto)))
+                .andExpect( MockMvcResultMatchers.status().isTooManyRequests() )
+                .andExpect( MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "3") );
+
+        verify(service, never()).salvar(Mockito.any());
+    }
+
+    @Test
+    public void deveLimitarAExclusaoPeloDonoDoLancamento() throws Exception {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(7l).build());
+        Mockito.when(service.getById(1l)).thenReturn(Optional.of(lancamento));
+        Mockito.when(limitador.adquirir("deletar", 7l))
+                .thenThrow(new LimiteExcedidoException("Muitas requisições simultâneas", 1));
+
+        mvc
+                .perform(MockMvcRequestBuilders.delete(API.concat("/1")))
+                .andExpect( MockMvcResultMatchers.status().isTooManyRequests() )
+                .andExpect( MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1") );
+
+        verify(service, never()).deletar(Mockito.any());
+    }
+
+    @Test
+    public void deveLimitarAAtualizacaoDeStatusPeloDonoDoLancamento() throws Exception {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(7l).build());
+        Mockito.when(service.getById(1l)).thenReturn(Optional.of(lancamento));
+        Mockito.when(limitador.adquirir("atualizar-status", 7l))
+                .thenThrow(new LimiteExcedidoException("Limite de requisições excedido", 2));
+
+        mvc
+                .perform(MockMvcRequestBuilders.put(API.concat("/1/atualizar-status"))
+                        .contentType(JSON)
+                        .content("{\"status\":\"REALIZADO\"}"))
+                .andExpect( MockMvcResultMatchers.status().isTooManyRequests() )
+                .andExpect( MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "2") );
+
+        verify(service, never()).atualizar(Mockito.any());
+    }
+
+    @Test
+    public void deveGuardarARespostaDaCriacaoComIdempotencyKey() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).build();
+        Mockito.when(usuarioService.getById(1l)).thenReturn(Optional.of(usuario));
+        Mockito.when(idempotenciaService.iniciar(Mockito.eq(1l), Mockito.eq("abc"), Mockito.anyString()))
+                .thenReturn(Optional.empty());
+        Mockito.when(service.salvar(Mockito.any())).thenAnswer(invocacao -> {
+            Lancamento salvo = invocacao.getArgument(0);
+            salvo.setId(10l);
+            return salvo;
+        });
+
+        LancamentoDTO dto = LancamentoDTO.builder()
+                .descricao("aluguel").mes(1).ano(2020).valor(BigDecimal.TEN).usuario(1l).tipo("DESPESA")
+                .build();
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(API)
+                        .header("Idempotency-Key", "abc")
+                        .contentType(JSON)
+                        .content(new ObjectMapper().writeValueAsString(dto)))
+                .andExpect( MockMvcResultMatchers.status().isCreated() );
+
+        verify(transacao).execute(Mockito.any());
+        verify(idempotenciaService).concluir(Mockito.eq(1l), Mockito.eq("abc"), Mockito.anyString(), Mockito.isNull(), Mockito.eq(201),
+                Mockito.argThat(corpo -> ((LancamentoResumo) corpo).getId() == 10l));
+    }
+
+    @Test
+    public void deveRepetirARespostaGuardadaSemGravarDeNovo() throws Exception {
+        JsonNode guardado = new ObjectMapper().readTree("{\"id\":10,\"usuario\":1}");
+        Mockito.when(idempotenciaService.repetida(Mockito.eq(1l), Mockito.eq("abc"), Mockito.anyString()))
+                .thenReturn(Optional.of(new RespostaIdempotenteDTO(201, guardado, null)));
+
+        LancamentoDTO dto = LancamentoDTO.builder()
+                .descricao("aluguel").mes(1).ano(2020).valor(BigDecimal.TEN).usuario(1l).tipo("DESPESA")
+                .build();
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(API)
+                        .header("Idempotency-Key", "abc")
+                        .contentType(JSON)
+                        .accept(JSON)
+                        .content(new ObjectMapper().writeValueAsString(dto)))
+                .andExpect( MockMvcResultMatchers.status().isCreated() )
+                .andExpect( MockMvcResultMatchers.header().string("Idempotent-Replayed", "true") )
+                .andExpect( MockMvcResultMatchers.jsonPath("id").value(10) );
+
+        verify(service, never()).salvar(Mockito.any());
+        verify(limitador, never()).adquirir(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveRetornarConflictEnquantoARequisicaoOriginalEstiverEmAndamento() throws Exception {
+        Mockito.when(idempotenciaService.iniciar(Mockito.eq(1l), Mockito.eq("abc"), Mockito.anyString()))
+                .thenThrow(new ChaveIdempotenciaEmUsoException("em andamento"));
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(API.concat("/lote"))
+                        .param("usuario", "1")
+                        .header("Idempotency-Key", "abc")
+                        .contentType("text/csv")
+                        .content("descricao;mes;ano;valor;tipo;status\n"))
+                .andExpect( MockMvcResultMatchers.status().isConflict() )
+                .andExpect( MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1") );
+
+        verify(importacaoService, never()).importar(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void naoDeveReservarAChaveQuandoOLimiteForExcedido() throws Exception {
+        Mockito.when(limitador.adquirir("salvar", 1l))
+                .thenThrow(new LimiteExcedidoException("Limite de requisições excedido", 3));
+
+        LancamentoDTO dto = LancamentoDTO.builder()
+                .descricao("aluguel").mes(1).ano(2020).valor(BigDecimal.TEN).usuario(1l).tipo("DESPESA")
+                .build();
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(API)
+                        .header("Idempotency-Key", "abc")
+                        .contentType(JSON)
+                        .content(new ObjectMapper().writeValueAsString(dto)))
+                .andExpect( MockMvcResultMatchers.status().isTooManyRequests() );
+
+        verify(idempotenciaService, never()).iniciar(Mockito.any(), Mockito.any(), Mockito.any());
+        verify(service, never()).salvar(Mockito.any());
+    }
+
+    @Test
+    public void deveRecusarARepeticaoDaImportacaoComOutroArquivo() throws Exception {
+        String impressaoDoOriginal = new String(Hex.encode(MessageDigest.getInstance("SHA-256")
+                .digest("descricao;mes;ano;valor;tipo\naluguel;1;2020;10;DESPESA\n".getBytes(StandardCharsets.UTF_8))));
+        Mockito.when(idempotenciaService.repetida(Mockito.eq(1l), Mockito.eq("abc"), Mockito.anyString()))
+                .thenReturn(Optional.of(new RespostaIdempotenteDTO(200, null, impressaoDoOriginal)));
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(API.concat("/lote"))
+                        .param("usuario", "1")
+                        .header("Idempotency-Key", "abc")
+                        .contentType("text/csv")
+                        .content("descricao;mes;ano;valor;tipo\nluz;1;2020;10;DESPESA\n"))
+                .andExpect( MockMvcResultMatchers.status().isUnprocessableEntity() );
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(API.concat("/lote"))
+                        .param("usuario", "1")
+                        .header("Idempotency-Key", "abc")
+                        .contentType("text/csv")
+                        .content("descricao;mes;ano;valor;tipo\naluguel;1;2020;10;DESPESA\n"))
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.header().string("Idempotent-Replayed", "true") );
+
+        verify(importacaoService, never()).importar(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveGuardarAImpressaoDoArquivoImportado() throws Exception {
+        String arquivo = "descricao;mes;ano;valor;tipo\naluguel;1;2020;10;DESPESA\n";
+        Mockito.when(usuarioService.getById(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+        Mockito.when(idempotenciaService.iniciar(Mockito.eq(1l), Mockito.eq("abc"), Mockito.anyString()))
+                .thenReturn(Optional.empty());
+        Mockito.when(importacaoService.importar(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(new ResultadoImportacaoDTO());
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(API.concat("/lote"))
+                        .param("usuario", "1")
+                        .header("Idempotency-Key", "abc")
+                        .contentType("text/csv")
+                        .content(arquivo))
+                .andExpect( MockMvcResultMatchers.status().isOk() );
+
+        String impressao = new String(Hex.encode(MessageDigest.getInstance("SHA-256").digest(arquivo.getBytes(StandardCharsets.UTF_8))));
+        verify(idempotenciaService).concluir(Mockito.eq(1l), Mockito.eq("abc"), Mockito.anyString(), Mockito.eq(impressao),
+                Mockito.eq(200), Mockito.any());
+    }
+}
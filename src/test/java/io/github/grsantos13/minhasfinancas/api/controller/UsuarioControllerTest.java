@@ -1,12 +1,23 @@
 package io.github.grsantos13.minhasfinancas.api.controller;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.grsantos13.minhasfinancas.api.dto.ProjecaoSaldoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.ResumoMensalDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.SaldoMensalDTO;
 import io.github.grsantos13.minhasfinancas.api.dto.UsuarioDTO;
+import io.github.grsantos13.minhasfinancas.config.LimitadorRequisicoes;
 import io.github.grsantos13.minhasfinancas.exception.ErroDeAutenticacao;
+import io.github.grsantos13.minhasfinancas.exception.LimiteExcedidoException;
 import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.exception.ServicoIndisponivelException;
 import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
 import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import io.github.grsantos13.minhasfinancas.service.ProjecaoFluxoCaixaService;
 import io.github.grsantos13.minhasfinancas.service.UsuarioService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,13 +30,17 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
 @WebMvcTest( controllers = UsuarioController.class )
@@ -44,6 +59,12 @@ public class UsuarioControllerTest {
     @MockBean
     LancamentoService lancamentoService;
 
+    @MockBean
+    ProjecaoFluxoCaixaService projecaoService;
+
+    @MockBean
+    LimitadorRequisicoes limitador;
+
     @Test
     public void deveAutenticarUmUsuario() throws Exception {
         String email = "usuario@email.com";
@@ -65,6 +86,7 @@ public class UsuarioControllerTest {
                 .andExpect( MockMvcResultMatchers.jsonPath("id").value(usuario.getId())  )
                 .andExpect( MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome())  )
                 .andExpect( MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail())  )
+                .andExpect( MockMvcResultMatchers.jsonPath("senha").doesNotExist()  )
 
         ;
 
@@ -95,6 +117,52 @@ public class UsuarioControllerTest {
 
     }
 
+    @Test
+    public void deveRetornarServiceUnavailableQuandoAVerificacaoDeSenhaEstiverSaturada() throws Exception {
+        String email = "usuario@email.com";
+        String senha = "123";
+
+        UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
+        Mockito.when( service.autenticar(email, senha) ).thenThrow(new ServicoIndisponivelException("sobrecarregado"));
+
+        String json = new ObjectMapper().writeValueAsString(dto);
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post( API.concat("/login") )
+                .accept( JSON )
+                .contentType( JSON )
+                .content(json);
+
+        mvc
+                .perform(request)
+                .andExpect( MockMvcResultMatchers.status().isServiceUnavailable()  )
+                .andExpect( MockMvcResultMatchers.header().string("Retry-After", "1")  );
+    }
+
+    @Test
+    public void deveRetornarTooManyRequestsQuandoOLoginExcederOLimite() throws Exception {
+        String email = "usuario@email.com";
+        String senha = "123";
+
+        UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
+        Mockito.when( limitador.adquirir("login", email) ).thenThrow(new LimiteExcedidoException("Limite de requisições excedido", 2));
+
+        String json = new ObjectMapper().writeValueAsString(dto);
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post( API.concat("/login") )
+                .accept( JSON )
+                .contentType( JSON )
+                .content(json);
+
+        mvc
+                .perform(request)
+                .andExpect( MockMvcResultMatchers.status().isTooManyRequests()  )
+                .andExpect( MockMvcResultMatchers.header().string("Retry-After", "2")  );
+
+        Mockito.verify( service, Mockito.never() ).autenticar(Mockito.anyString(), Mockito.anyString());
+    }
+
     @Test
     public void deveCriarUmNovoUsuario() throws Exception {
         String email = "usuario@email.com";
@@ -185,4 +253,111 @@ public class UsuarioControllerTest {
                 .andExpect( MockMvcResultMatchers.status().isNotFound() );
 
     }
+
+    @Test
+    public void deveRecalcularOSaldoDoUsuario() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).email("usuario@email.com").senha( "123").build();
+        Mockito.when(service.getById(1L)).thenReturn(Optional.of(usuario));
+        Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenReturn(BigDecimal.valueOf(10));
+        Mockito.when(lancamentoService.recalcularSaldoPorUsuario(1l)).thenReturn(BigDecimal.valueOf(15));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post( API.concat("/1/saldo/recalcular")  )
+                .accept( JSON )
+                .contentType( JSON );
+        mvc
+                .perform(request)
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.jsonPath("saldoAnterior").value(10) )
+                .andExpect( MockMvcResultMatchers.jsonPath("saldoRecalculado").value(15) )
+                .andExpect( MockMvcResultMatchers.jsonPath("divergente").value(true) );
+    }
+
+    @Test
+    public void deveObterOSaldoMensalDoUsuario() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).email("usuario@email.com").senha( "123").build();
+        SaldoMensalDTO janeiro = SaldoMensalDTO.builder().ano(2020).mes(1).saldo(BigDecimal.valueOf(10)).build();
+        Mockito.when(service.getById(1L)).thenReturn(Optional.of(usuario));
+        Mockito.when(lancamentoService.obterSaldoMensalPorUsuario(1l, 2020, StatusLancamento.REALIZADO))
+                .thenReturn(Collections.singletonList(janeiro));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get( API.concat("/1/saldo/mensal?ano=2020&status=REALIZADO")  )
+                .accept( JSON )
+                .contentType( JSON );
+        mvc
+                .perform(request)
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.jsonPath("[0].mes").value(1) )
+                .andExpect( MockMvcResultMatchers.jsonPath("[0].saldo").value(10) );
+    }
+
+    @Test
+    public void deveObterOSaldoMensalEmSmileQuandoOClienteAceitar() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).email("usuario@email.com").senha( "123").build();
+        SaldoMensalDTO janeiro = SaldoMensalDTO.builder().ano(2020).mes(1).saldo(new BigDecimal("10.50")).build();
+        Mockito.when(service.getById(1L)).thenReturn(Optional.of(usuario));
+        Mockito.when(lancamentoService.obterSaldoMensalPorUsuario(1l, 2020, StatusLancamento.REALIZADO))
+                .thenReturn(Collections.singletonList(janeiro));
+
+        MvcResult resultado = mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1/saldo/mensal?ano=2020&status=REALIZADO"))
+                        .accept("application/x-jackson-smile"))
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.content().contentType("application/x-jackson-smile") )
+                .andReturn();
+
+        JsonNode meses = new ObjectMapper(new SmileFactory()).readTree(resultado.getResponse().getContentAsByteArray());
+        assertThat(meses.get(0).get("mes").asInt()).isEqualTo(1);
+        assertThat(meses.get(0).get("saldo").decimalValue()).isEqualByComparingTo("10.50");
+    }
+
+    @Test
+    public void deveObterOResumoMensalDoUsuario() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).email("usuario@email.com").senha( "123").build();
+        ResumoMensalDTO despesasDeMarco = ResumoMensalDTO.builder()
+                .ano(2020)
+                .mes(3)
+                .tipo(TipoLancamento.DESPESA)
+                .status(StatusLancamento.REALIZADO)
+                .total(BigDecimal.valueOf(40))
+                .quantidade(2l)
+                .build();
+        Mockito.when(service.getById(1L)).thenReturn(Optional.of(usuario));
+        Mockito.when(lancamentoService.obterResumoMensalPorUsuario(1l, 2020, 3, TipoLancamento.DESPESA, null))
+                .thenReturn(Collections.singletonList(despesasDeMarco));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get( API.concat("/1/resumo-mensal?ano=2020&mes=3&tipo=DESPESA")  )
+                .accept( JSON )
+                .contentType( JSON );
+        mvc
+                .perform(request)
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.jsonPath("[0].status").value("REALIZADO") )
+                .andExpect( MockMvcResultMatchers.jsonPath("[0].total").value(40) )
+                .andExpect( MockMvcResultMatchers.jsonPath("[0].quantidade").value(2) );
+    }
+
+    @Test
+    public void deveRetornarAProjecaoDoSaldo() throws Exception {
+        Mockito.when(service.getById(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+        Mockito.when(projecaoService.projetar(1l, 24)).thenReturn(Collections.singletonList(
+                ProjecaoSaldoDTO.builder().ano(2021).mes(1).saldoProjetado(new BigDecimal("150.00")).build()));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1/saldo/projecao")).param("meses", "24").accept(JSON))
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.jsonPath("[0].saldoProjetado").value(150.0) );
+    }
+
+    @Test
+    public void deveRetornarBadRequestQuandoOHorizonteDaProjecaoForInvalido() throws Exception {
+        Mockito.when(service.getById(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+        Mockito.when(projecaoService.projetar(1l, 0)).thenThrow(new RegraNegocioException("Informe um número de meses entre 1 e 120."));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1/saldo/projecao")).param("meses", "0"))
+                .andExpect( MockMvcResultMatchers.status().isBadRequest() );
+    }
 }
@@ -0,0 +1,100 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import io.github.grsantos13.minhasfinancas.exception.LimiteExcedidoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+public class LimitadorRequisicoesTest {
+
+    MockEnvironment environment;
+    AtomicLong agora;
+    LimitadorRequisicoes limitador;
+
+    @BeforeEach
+    public void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("minhasfinancas.limite.padrao.por-segundo", "1")
+                .withProperty("minhasfinancas.limite.padrao.rajada", "3")
+                .withProperty("minhasfinancas.limite.padrao.simultaneas", "0");
+        agora = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+        limitador = new LimitadorRequisicoes(environment, agora::get);
+    }
+
+    @Test
+    public void deveAceitarARajadaERejeitarComRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            limitador.adquirir("salvar", 1l).close();
+        }
+
+        LimiteExcedidoException erro = catchThrowableOfType(() -> limitador.adquirir("salvar", 1l), LimiteExcedidoException.class);
+
+        assertThat(erro).isNotNull();
+        assertThat(erro.getSegundosParaNovaTentativa()).isEqualTo(1);
+    }
+
+    @Test
+    public void deveReporAsFichasComOTempo() {
+        for (int i = 0; i < 3; i++) {
+            limitador.adquirir("salvar", 1l).close();
+        }
+
+        agora.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        limitador.adquirir("salvar", 1l).close();
+        limitador.adquirir("salvar", 1l).close();
+        assertThat(catchThrowableOfType(() -> limitador.adquirir("salvar", 1l), LimiteExcedidoException.class)).isNotNull();
+    }
+
+    @Test
+    public void deveSepararOsLimitesPorUsuarioEPorEndpoint() {
+        for (int i = 0; i < 3; i++) {
+            limitador.adquirir("salvar", 1l).close();
+        }
+
+        limitador.adquirir("salvar", 2l).close();
+        limitador.adquirir("deletar", 1l).close();
+    }
+
+    @Test
+    public void deveUsarAConfiguracaoDoEndpoint() {
+        environment.setProperty("minhasfinancas.limite.importar.por-segundo", "0.1");
+        environment.setProperty("minhasfinancas.limite.importar.rajada", "1");
+
+        limitador.adquirir("importar", 1l).close();
+        LimiteExcedidoException erro = catchThrowableOfType(() -> limitador.adquirir("importar", 1l), LimiteExcedidoException.class);
+
+        assertThat(erro.getSegundosParaNovaTentativa()).isEqualTo(10);
+    }
+
+    @Test
+    public void deveLimitarAsRequisicoesSimultaneasAteAPermissaoSerDevolvida() {
+        environment.setProperty("minhasfinancas.limite.importar.por-segundo", "0");
+        environment.setProperty("minhasfinancas.limite.importar.simultaneas", "1");
+
+        LimitadorRequisicoes.Permissao permissao = limitador.adquirir("importar", 1l);
+        assertThat(catchThrowableOfType(() -> limitador.adquirir("importar", 1l), LimiteExcedidoException.class)).isNotNull();
+
+        permissao.close();
+        limitador.adquirir("importar", 1l).close();
+    }
+
+    @Test
+    public void naoDeveGastarFichaQuandoNaoHouverVagaSimultanea() {
+        environment.setProperty("minhasfinancas.limite.importar.rajada", "1");
+        environment.setProperty("minhasfinancas.limite.importar.simultaneas", "1");
+
+        LimitadorRequisicoes.Permissao permissao = limitador.adquirir("importar", 1l);
+        agora.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(catchThrowableOfType(() -> limitador.adquirir("importar", 1l), LimiteExcedidoException.class)).isNotNull();
+
+        permissao.close();
+        limitador.adquirir("importar", 1l).close();
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.service.LancamentoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class MetricasAspectTest {
+
+    SimpleMeterRegistry registry;
+    LancamentoService servicoMedido;
+    LancamentoService servico;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        servico = Mockito.mock(LancamentoService.class);
+
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(servico);
+        fabrica.addInterface(LancamentoService.class);
+        fabrica.addAspect(new MetricasAspect(registry));
+        servicoMedido = fabrica.getProxy();
+    }
+
+    @Test
+    public void deveMedirOTempoEAsLinhasRetornadasPelaBusca() {
+        Lancamento filtro = new Lancamento();
+        Mockito.when(servico.buscarResumos(filtro))
+                .thenReturn(Arrays.asList(new LancamentoResumo(), new LancamentoResumo(), new LancamentoResumo()));
+
+        servicoMedido.buscarResumos(filtro);
+
+        assertThat(registry.get(MetricasAspect.METRICA_SERVICO)
+                .tags("classe", "LancamentoService", "metodo", "buscarResumos", "resultado", "sucesso")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(MetricasAspect.METRICA_SERVICO + ".linhas")
+                .tags("classe", "LancamentoService", "metodo", "buscarResumos")
+                .summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    public void deveMarcarOResultadoComAExcecaoDeNegocio() {
+        Lancamento lancamento = new Lancamento();
+        Mockito.doThrow(new RegraNegocioException("Informe uma descrição válida.")).when(servico).validar(lancamento);
+
+        Throwable erro = catchThrowable(() -> servicoMedido.validar(lancamento));
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class);
+        assertThat(registry.get(MetricasAspect.METRICA_SERVICO)
+                .tags("metodo", "validar", "resultado", "RegraNegocioException")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ReativoConfigTest {
+
+    @Test
+    public void naoDeveSubirAPilhaReativaSemAUrlDoR2dbc() {
+        Throwable erro = catchThrowable(() -> new ReativoConfig(" "));
+
+        assertThat(erro).isInstanceOf(IllegalStateException.class).hasMessageContaining("spring.r2dbc.url");
+    }
+
+    @Test
+    public void deveSubirComAUrlInformada() {
+        assertThat(new ReativoConfig("r2dbc:postgresql://localhost:5432/finance")).isNotNull();
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.grsantos13.minhasfinancas.config;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primária e réplica são dois H2 independentes, sem replicação: o conteúdo lido mostra para onde a consulta foi.
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DataSourceConfig.class, RoteamentoLeitura.class})
+@TestPropertySource(properties = {
+        "minhasfinancas.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "minhasfinancas.datasource.replica.username=sa"
+})
+public class RoteamentoDataSourceTest {
+
+    @Autowired
+    UsuarioRepository repository;
+
+    @Autowired
+    RoteamentoLeitura roteamento;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier(DataSourceConfig.PRIMARIA_DATA_SOURCE)
+    DataSource primaria;
+
+    @Autowired
+    @Qualifier(DataSourceConfig.REPLICA_DATA_SOURCE)
+    DataSource replica;
+
+    @BeforeEach
+    public void setUp() {
+        JdbcTemplate jdbcReplica = new JdbcTemplate(replica);
+        jdbcReplica.execute("create table if not exists usuario " +
+                "(id bigint primary key, nome varchar(150), email varchar(100), senha varchar(100), data_cadastro timestamp)");
+        jdbcReplica.update("delete from usuario");
+        repository.deleteAll();
+    }
+
+    @Test
+    public void deveGravarNaPrimaria() {
+        Usuario usuario = repository.save(criarUsuario("na primária"));
+
+        assertThat(contarUsuarios(primaria, usuario.getId())).isEqualTo(1);
+        assertThat(contarUsuarios(replica, usuario.getId())).isEqualTo(0);
+    }
+
+    @Test
+    public void deveLerDaReplicaEmTransacaoSomenteLeitura() {
+        Usuario usuario = repository.save(criarUsuario("na primária"));
+        copiarParaReplica(usuario, "na réplica");
+
+        assertThat(repository.findById(usuario.getId())).map(Usuario::getNome).contains("na réplica");
+        assertThat(repository.findByEmail(usuario.getEmail())).map(Usuario::getNome).contains("na réplica");
+        assertThat(emTransacao(true, usuario.getId())).map(Usuario::getNome).contains("na réplica");
+    }
+
+    @Test
+    public void deveLerDaPrimariaEmTransacaoDeEscrita() {
+        Usuario usuario = repository.save(criarUsuario("na primária"));
+        copiarParaReplica(usuario, "na réplica");
+
+        assertThat(emTransacao(false, usuario.getId())).map(Usuario::getNome).contains("na primária");
+    }
+
+    @Test
+    public void deveLerDaPrimariaNaJanelaAposUmaEscritaDoUsuario() {
+        Usuario usuario = repository.save(criarUsuario("na primária"));
+        copiarParaReplica(usuario, "na réplica");
+
+        roteamento.registrarEscrita(usuario.getId());
+
+        TransactionTemplate somenteLeitura = new TransactionTemplate(transactionManager);
+        somenteLeitura.setReadOnly(true);
+        Optional<Usuario> lido = somenteLeitura.execute(status -> {
+            roteamento.lerParaUsuario(usuario.getId());
+            return repository.findById(usuario.getId());
+        });
+
+        assertThat(lido).map(Usuario::getNome).contains("na primária");
+        assertThat(emTransacao(true, usuario.getId() + 1000)).isEmpty();
+    }
+
+    @Test
+    public void deveLerDaPrimariaQuandoSolicitado() {
+        Usuario usuario = repository.save(criarUsuario("na primária"));
+
+        assertThat(repository.findById(usuario.getId())).isEmpty();
+        assertThat(roteamento.naPrimaria(() -> repository.findById(usuario.getId()))).map(Usuario::getNome).contains("na primária");
+        assertThat(repository.findById(usuario.getId())).isEmpty();
+    }
+
+    private Optional<Usuario> emTransacao(boolean somenteLeitura, Long id) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status -> repository.findById(id));
+    }
+
+    private void copiarParaReplica(Usuario usuario, String nome) {
+        new JdbcTemplate(replica).update("insert into usuario (id, nome, email, senha) values (?, ?, ?, ?)",
+                usuario.getId(), nome, usuario.getEmail(), usuario.getSenha());
+    }
+
+    private int contarUsuarios(DataSource dataSource, Long id) {
+        return new JdbcTemplate(dataSource).queryForObject("select count(*) from usuario where id = ?", Integer.class, id);
+    }
+
+    private Usuario criarUsuario(String nome) {
+        return Usuario.builder()
+                .nome(nome)
+                .email(nome.replace(' ', '.') + "@email.com")
+                .senha("senha")
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Planos do H2 para as consultas quentes dos repositórios, sobre o esquema criado pelas migrações.
+// O SQL reproduz o que o Hibernate gera para cada consulta; o plano cita o índice escolhido ou "tableScan".
+// Com tabelas vazias e sem estatísticas o H2 empata o custo dos índices; a massa abaixo, seguida de ANALYZE,
+// dá a ele uma distribuição parecida com a real. O ANALYZE faz commit, por isso a massa é removida no fim.
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class IndicesConsultaTest {
+
+    private static final long PRIMEIRO_ID = 900_000_000l;
+    private static final String DOMINIO = "@indices.com";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    public static void setUp(@Autowired JdbcTemplate jdbcTemplate) {
+        List<Object[]> usuarios = new ArrayList<>();
+        for (int usuario = 0; usuario < 50; usuario++) {
+            usuarios.add(new Object[]{"usuario" + usuario + DOMINIO});
+        }
+        jdbcTemplate.batchUpdate("insert into usuario (nome, email, senha) values ('indices', ?, 'senha')", usuarios);
+        List<Long> idsUsuarios = jdbcTemplate.queryForList("select id from usuario where email like ?", Long.class, "%" + DOMINIO);
+
+        List<Object[]> lancamentos = new ArrayList<>();
+        for (int i = 0; i < 12_000; i++) {
+            lancamentos.add(new Object[]{
+                    PRIMEIRO_ID + i,
+                    idsUsuarios.get(i % idsUsuarios.size()),
+                    2016 + i % 5,
+                    i % 12 + 1,
+                    i % 3 == 0 ? "DESPESA" : "RECEITA",
+                    i % 4 == 0 ? "PENDENTE" : "REALIZADO"});
+        }
+        jdbcTemplate.batchUpdate("insert into lancamento (id, descricao, id_usuario, ano, mes, valor, tipo, status, versao) " +
+                "values (?, 'lancamento', ?, ?, ?, 10, ?, ?, 0)", lancamentos);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterAll
+    public static void tearDown(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("delete from lancamento where id >= ?", PRIMEIRO_ID);
+        jdbcTemplate.update("delete from usuario where email like ?", "%" + DOMINIO);
+    }
+
+    @Test
+    public void deveUsarOIndiceDeEmailParaBuscarOUsuario() {
+        String plano = explicar("select id, nome, email, senha, data_cadastro from usuario where email = 'usuario1@indices.com'");
+
+        assertThat(plano).contains("UK_USUARIO_EMAIL").doesNotContain("tableScan");
+    }
+
+    @Test
+    public void deveUsarOIndiceDeUsuarioTipoEStatusParaOSaldo() {
+        String plano = explicar("select sum(l.valor) from lancamento l " +
+                " where l.id_usuario = " + umUsuario() + " and l.tipo = 'RECEITA' and l.status = 'REALIZADO'");
+
+        assertThat(plano).contains("IDX_LANCAMENTO_USUARIO_TIPO_STATUS").doesNotContain("tableScan");
+    }
+
+    @Test
+    public void deveUsarOIndiceDeUsuarioAnoEMesParaListarEPaginar() {
+        String plano = explicar("select l.id, l.descricao, l.mes, l.ano, l.valor from lancamento l " +
+                " where l.id_usuario = " + umUsuario() + " and l.ano = 2020 and l.mes = 3 " +
+                " order by l.ano, l.mes, l.id");
+
+        assertThat(plano).contains("IDX_LANCAMENTO_USUARIO_ANO_MES").doesNotContain("tableScan");
+    }
+
+    @Test
+    public void deveUsarOIndiceDeUsuarioAnoEMesNaAtualizacaoEmLote() {
+        String plano = explicar("update lancamento set status = 'REALIZADO', versao = versao + 1 " +
+                " where id_usuario = " + umUsuario() + " and ano = 2020 and status <> 'REALIZADO'");
+
+        assertThat(plano).contains("IDX_LANCAMENTO_USUARIO_ANO_MES").doesNotContain("tableScan");
+    }
+
+    @Test
+    public void deveUsarOIndiceDeTermosNaBuscaPorPrefixo() {
+        String plano = explicar("select t.id_lancamento, count(distinct t.termo) from lancamento_termo t " +
+                " where t.id_usuario = " + umUsuario() + " and (t.termo like 'merc%' or t.termo like 'alug%') " +
+                " group by t.id_lancamento");
+
+        assertThat(plano).contains("IDX_LANCAMENTO_TERMO_USUARIO_TERMO").doesNotContain("tableScan");
+    }
+
+    @Test
+    public void deveUsarAChavePrimariaDoResumoMensal() {
+        String plano = explicar("select r.mes, r.tipo, r.status, r.total, r.quantidade from resumo_mensal r " +
+                " where r.id_usuario = " + umUsuario() + " and r.ano = 2020 and r.quantidade <> 0 " +
+                " order by r.mes, r.tipo, r.status");
+
+        // o H2 nomeia o índice da chave primária como PRIMARY_KEY_*, não pelo nome da constraint
+        assertThat(plano).contains("PRIMARY_KEY").doesNotContain("tableScan");
+    }
+
+    private Long umUsuario() {
+        return jdbcTemplate.queryForObject("select min(id) from usuario where email like ?", Long.class, "%" + DOMINIO);
+    }
+
+    private String explicar(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+}
@@ -1,8 +1,13 @@
 package io.github.grsantos13.minhasfinancas.model.repository;
 
 import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
 import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
 import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.pagination.CursorLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.EstadoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.projection.TotalPorStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,9 +19,13 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
@@ -78,6 +87,163 @@ public class LancamentoRepositoryTest {
         assertThat(lancamentoEncontrado.isPresent()).isTrue();
     }
 
+    @Test
+    public void deveObterOEstadoPersistidoIgnorandoAlteracoesPendentes() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(usuario);
+        entityManager.persistAndFlush(lancamento);
+
+        lancamento.setStatus(StatusLancamento.REALIZADO);
+
+        Optional<EstadoLancamento> estado = repository.obterEstadoPersistido(lancamento.getId());
+
+        assertThat(estado).isPresent();
+        assertThat(estado.get().getIdUsuario()).isEqualTo(usuario.getId());
+        assertThat(estado.get().getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+    }
+
+    @Test
+    public void devePaginarOsLancamentosPeloCursorEmOrdemEstavel() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        persistirLancamento(usuario, 3, TipoLancamento.RECEITA, 10);
+        persistirLancamento(usuario, 1, TipoLancamento.RECEITA, 10);
+        persistirLancamento(usuario, 2, TipoLancamento.DESPESA, 10);
+        persistirLancamento(usuario, 1, TipoLancamento.DESPESA, 10);
+        Lancamento filtro = Lancamento.builder().usuario(usuario).build();
+
+        List<LancamentoResumo> primeiraPagina = repository.buscarAposCursor(filtro, null, 3);
+        CursorLancamento cursor = CursorLancamento.depoisDe(primeiraPagina.get(2));
+        List<LancamentoResumo> segundaPagina = repository.buscarAposCursor(filtro, cursor, 3);
+
+        assertThat(primeiraPagina).extracting(LancamentoResumo::getMes).containsExactly(1, 1, 2);
+        assertThat(primeiraPagina.get(0).getId()).isLessThan(primeiraPagina.get(1).getId());
+        assertThat(segundaPagina).extracting(LancamentoResumo::getMes).containsExactly(3);
+    }
+
+    @Test
+    public void deveLerOsLancamentosDoUsuarioComoStreamOrdenado() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        persistirLancamento(usuario, 2, TipoLancamento.RECEITA, 10);
+        persistirLancamento(usuario, 1, TipoLancamento.DESPESA, 20);
+
+        try (Stream<LancamentoResumo> lancamentos = repository.streamResumosPorUsuario(usuario.getId())) {
+            assertThat(lancamentos.map(LancamentoResumo::getMes)).containsExactly(1, 2);
+        }
+    }
+
+    @Test
+    public void deveObterOResumoDoLancamentoComOIdDoUsuario() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(usuario);
+        entityManager.persist(lancamento);
+        entityManager.flush();
+        entityManager.clear();
+
+        Optional<LancamentoResumo> resumo = repository.obterResumoPorId(lancamento.getId());
+
+        assertThat(resumo).isPresent();
+        assertThat(resumo.get().getUsuario()).isEqualTo(usuario.getId());
+        assertThat(resumo.get().getDescricao()).isEqualTo(lancamento.getDescricao());
+        assertThat(resumo.get().getTipo()).isEqualTo(TipoLancamento.RECEITA);
+    }
+
+    @Test
+    public void deveFiltrarOsResumosPelaDescricaoIgnorandoMaiusculas() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        persistirLancamento(usuario, 2, TipoLancamento.RECEITA, 10);
+        Lancamento aluguel = criarLancamento();
+        aluguel.setUsuario(usuario);
+        aluguel.setDescricao("Aluguel de Março");
+        entityManager.persist(aluguel);
+        Lancamento filtro = Lancamento.builder().usuario(usuario).descricao("ALUGUEL").build();
+
+        List<LancamentoResumo> resumos = repository.buscarResumos(filtro);
+
+        assertThat(resumos).extracting(LancamentoResumo::getId).containsExactly(aluguel.getId());
+    }
+
+    @Test
+    public void deveTratarPercentualESublinhadoDaDescricaoComoTexto() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        Lancamento desconto = criarLancamento();
+        desconto.setUsuario(usuario);
+        desconto.setDescricao("Desconto 50% a_b");
+        entityManager.persist(desconto);
+        Lancamento outro = criarLancamento();
+        outro.setUsuario(usuario);
+        outro.setDescricao("Desconto 500 axb");
+        entityManager.persist(outro);
+
+        assertThat(repository.buscarResumos(Lancamento.builder().usuario(usuario).descricao("50%").build()))
+                .extracting(LancamentoResumo::getId).containsExactly(desconto.getId());
+        assertThat(repository.buscarResumos(Lancamento.builder().usuario(usuario).descricao("a_b").build()))
+                .extracting(LancamentoResumo::getId).containsExactly(desconto.getId());
+    }
+
+    @Test
+    public void deveTrazerOsResumosFiltradosPeloCursorNaOrdemDaLista() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        persistirLancamento(usuario, 5, TipoLancamento.RECEITA, 10);
+        persistirLancamento(usuario, 2, TipoLancamento.DESPESA, 20);
+        persistirLancamento(usuario, 3, TipoLancamento.RECEITA, 30);
+        Lancamento filtro = Lancamento.builder().usuario(usuario).tipo(TipoLancamento.RECEITA).build();
+
+        try (Stream<LancamentoResumo> resumos = repository.streamResumos(filtro)) {
+            assertThat(resumos).extracting(LancamentoResumo::getMes).containsExactly(3, 5);
+        }
+    }
+
+    @Test
+    public void deveAtualizarOStatusEmLoteApenasDosLancamentosDoUsuario() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        Usuario outroUsuario = entityManager.persist(Usuario.builder().nome("Outro").email("outro@domain.com").senha("123").build());
+        persistirLancamento(usuario, 3, TipoLancamento.RECEITA, 100);
+        persistirLancamento(usuario, 3, TipoLancamento.DESPESA, 30);
+        persistirLancamento(usuario, 4, TipoLancamento.DESPESA, 10);
+        persistirLancamento(outroUsuario, 3, TipoLancamento.RECEITA, 50);
+
+        List<Long> travados = repository.travarAAtualizarPorFiltro(usuario.getId(), 2019, 3, null, StatusLancamento.REALIZADO);
+        List<TotalPorStatus> totais = repository.obterTotaisAAtualizarPorIds(usuario.getId(), travados, StatusLancamento.REALIZADO);
+        int atualizados = repository.atualizarStatusPorIds(usuario.getId(), travados, StatusLancamento.REALIZADO);
+
+        assertThat(travados).hasSize(2).isSorted();
+        assertThat(totais).hasSize(2);
+        assertThat(atualizados).isEqualTo(2);
+        entityManager.clear();
+        assertThat(repository.findAll())
+                .filteredOn(lancamento -> lancamento.getStatus() == StatusLancamento.REALIZADO)
+                .extracting(lancamento -> lancamento.getUsuario().getId(), Lancamento::getMes)
+                .containsOnly(tuple(usuario.getId(), 3));
+        assertThat(repository.travarAAtualizarPorFiltro(usuario.getId(), 2019, 3, null, StatusLancamento.REALIZADO)).isEmpty();
+    }
+
+    @Test
+    public void deveIncrementarAVersaoAoAtualizarInclusiveEmLote() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(usuario);
+        entityManager.persistAndFlush(lancamento);
+        assertThat(lancamento.getVersao()).isZero();
+
+        lancamento.setDescricao("outra descrição");
+        entityManager.flush();
+        assertThat(lancamento.getVersao()).isEqualTo(1l);
+
+        repository.atualizarStatusPorIds(usuario.getId(), Collections.singletonList(lancamento.getId()), StatusLancamento.REALIZADO);
+        assertThat(repository.obterResumoPorId(lancamento.getId()).get().getVersao()).isEqualTo(2l);
+    }
+
+    private void persistirLancamento(Usuario usuario, Integer mes, TipoLancamento tipo, int valor) {
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setMes(mes);
+        lancamento.setTipo(tipo);
+        lancamento.setValor(BigDecimal.valueOf(valor));
+        entityManager.persist(lancamento);
+    }
+
     private Lancamento criarEPersistirUmLancamento() {
         Lancamento lancamento = criarLancamento();
         entityManager.persist(lancamento);
@@ -0,0 +1,81 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.RecorrenciaLancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.Periodicidade;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class RecorrenciaLancamentoRepositoryTest {
+
+    @Autowired
+    RecorrenciaLancamentoRepository repository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveListarOsUsuariosPendentesEmBlocosAPartirDoUltimoUsuario() {
+        Usuario vencido = persistirRecorrencia("vencido", 2020, 12);
+        Usuario doMes = persistirRecorrencia("do mes", 2021, 1);
+        persistirRecorrencia("futuro", 2021, 5);
+        persistirRecorrencia("encerrado", null, null);
+        Long antes = vencido.getId() - 1;
+
+        List<Long> primeiroBloco = repository.obterUsuariosPendentes(antes, 2021, 1, PageRequest.of(0, 1));
+        List<Long> segundoBloco = repository.obterUsuariosPendentes(primeiroBloco.get(0), 2021, 1, PageRequest.of(0, 1));
+        List<Long> terceiroBloco = repository.obterUsuariosPendentes(segundoBloco.get(0), 2021, 1, PageRequest.of(0, 1));
+
+        assertThat(primeiroBloco).containsExactly(vencido.getId());
+        assertThat(segundoBloco).containsExactly(doMes.getId());
+        assertThat(terceiroBloco).isEmpty();
+    }
+
+    @Test
+    public void deveCarregarAsRecorrenciasPendentesComOLancamentoDeOrigem() {
+        Usuario vencido = persistirRecorrencia("vencido", 2020, 12);
+        Usuario futuro = persistirRecorrencia("futuro", 2021, 5);
+        entityManager.clear();
+
+        List<RecorrenciaLancamento> recorrencias = repository.obterPendentesPorUsuarios(
+                Arrays.asList(vencido.getId(), futuro.getId()), 2021, 1);
+
+        assertThat(recorrencias).hasSize(1);
+        assertThat(Hibernate.isInitialized(recorrencias.get(0).getLancamento())).isTrue();
+        assertThat(recorrencias.get(0).getLancamento().getUsuario().getId()).isEqualTo(vencido.getId());
+    }
+
+    private Usuario persistirRecorrencia(String nome, Integer proximoAno, Integer proximoMes) {
+        Usuario usuario = entityManager.persist(Usuario.builder().nome(nome).email(nome.replace(' ', '.') + "@recorrencia.com").build());
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        entityManager.persist(lancamento);
+        entityManager.persist(RecorrenciaLancamento.builder()
+                .lancamento(lancamento)
+                .idUsuario(usuario.getId())
+                .periodicidade(Periodicidade.MENSAL)
+                .proximoAno(proximoAno)
+                .proximoMes(proximoMes)
+                .build());
+        entityManager.flush();
+        return usuario;
+    }
+}
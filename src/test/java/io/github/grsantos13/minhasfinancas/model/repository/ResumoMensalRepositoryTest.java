@@ -0,0 +1,137 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensal;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class ResumoMensalRepositoryTest {
+
+    @Autowired
+    ResumoMensalRepository repository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveSomarODeltaApenasNaLinhaDaChave() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        ResumoMensalId marco = new ResumoMensalId(usuario.getId(), 2019, 3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+        ResumoMensalId abril = new ResumoMensalId(usuario.getId(), 2019, 4, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+        entityManager.persist(ResumoMensal.builder().id(marco).total(BigDecimal.valueOf(100)).quantidade(2l).build());
+        entityManager.persist(ResumoMensal.builder().id(abril).total(BigDecimal.valueOf(50)).quantidade(1l).build());
+        entityManager.flush();
+
+        int atualizados = repository.somarAoResumo(usuario.getId(), 2019, 3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+                BigDecimal.valueOf(-40), -1l, LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(repository.findById(marco).get().getTotal()).isEqualByComparingTo(BigDecimal.valueOf(60));
+        assertThat(repository.findById(marco).get().getQuantidade()).isEqualTo(1l);
+        assertThat(repository.findById(abril).get().getTotal()).isEqualByComparingTo(BigDecimal.valueOf(50));
+        assertThat(repository.somarAoResumo(usuario.getId(), 2019, 5, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+                BigDecimal.TEN, 1l, LocalDateTime.now())).isZero();
+    }
+
+    @Test
+    public void deveCriarALinhaAPartirDosLancamentos() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        persistirLancamento(usuario, 3, TipoLancamento.DESPESA, 30);
+        persistirLancamento(usuario, 3, TipoLancamento.DESPESA, 20);
+        persistirLancamento(usuario, 4, TipoLancamento.DESPESA, 10);
+        ResumoMensalId marco = new ResumoMensalId(usuario.getId(), 2019, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+
+        repository.criarResumo(marco, BigDecimal.valueOf(20), 1l, LocalDateTime.now());
+        entityManager.clear();
+
+        ResumoMensal resumo = repository.findById(marco).get();
+        assertThat(resumo.getTotal()).isEqualByComparingTo(BigDecimal.valueOf(50));
+        assertThat(resumo.getQuantidade()).isEqualTo(2l);
+        assertThat(repository.findAll()).hasSize(1);
+    }
+
+    @Test
+    public void deveSomarODeltaQuandoOutraEscritaJaTiverCriadoALinha() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        persistirLancamento(usuario, 3, TipoLancamento.DESPESA, 30);
+        ResumoMensalId marco = new ResumoMensalId(usuario.getId(), 2019, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        ResumoMensalId abril = new ResumoMensalId(usuario.getId(), 2019, 4, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        entityManager.persist(ResumoMensal.builder().id(marco).total(BigDecimal.valueOf(100)).quantidade(2l).build());
+        entityManager.flush();
+
+        repository.criarResumo(marco, BigDecimal.valueOf(30), 1l, LocalDateTime.now());
+        repository.criarResumo(abril, BigDecimal.valueOf(-10), -1l, LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(repository.findById(marco).get().getTotal()).isEqualByComparingTo(BigDecimal.valueOf(130));
+        assertThat(repository.findById(marco).get().getQuantidade()).isEqualTo(3l);
+        // a célula esvaziada existe com quantidade zero e fica fora da consulta
+        assertThat(repository.findById(abril).get().getQuantidade()).isZero();
+        assertThat(repository.obterPorUsuario(usuario.getId(), 2019, 4, null, null)).isEmpty();
+    }
+
+    @Test
+    public void deveRecalcularTodasAsLinhasDoUsuarioEFiltrarAConsulta() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        Usuario outroUsuario = entityManager.persist(Usuario.builder().nome("Outro").email("outro@domain.com").senha("123").build());
+        persistirLancamento(usuario, 3, TipoLancamento.RECEITA, 100);
+        persistirLancamento(usuario, 3, TipoLancamento.DESPESA, 30);
+        persistirLancamento(usuario, 4, TipoLancamento.DESPESA, 10);
+        persistirLancamento(outroUsuario, 3, TipoLancamento.RECEITA, 50);
+        entityManager.persist(ResumoMensal.builder()
+                .id(new ResumoMensalId(usuario.getId(), 2019, 11, TipoLancamento.RECEITA, StatusLancamento.REALIZADO))
+                .total(BigDecimal.ZERO)
+                .quantidade(0l)
+                .build());
+        assertThat(repository.obterPorUsuario(usuario.getId(), 2019, 11, null, null)).isEmpty();
+        entityManager.persist(ResumoMensal.builder()
+                .id(new ResumoMensalId(usuario.getId(), 2019, 12, TipoLancamento.RECEITA, StatusLancamento.PENDENTE))
+                .total(BigDecimal.valueOf(999))
+                .quantidade(9l)
+                .build());
+
+        repository.removerPorUsuario(usuario.getId());
+        repository.recalcularResumosPorUsuario(usuario.getId(), LocalDateTime.now());
+
+        List<ResumoMensal> ano = repository.obterPorUsuario(usuario.getId(), 2019, null, null, null);
+        assertThat(ano).extracting(resumo -> resumo.getId().getMes()).containsExactly(3, 3, 4);
+        assertThat(ano).extracting(ResumoMensal::getTotal)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.valueOf(30), BigDecimal.valueOf(100), BigDecimal.valueOf(10));
+
+        List<ResumoMensal> despesasDeMarco = repository.obterPorUsuario(usuario.getId(), 2019, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        assertThat(despesasDeMarco).hasSize(1);
+        assertThat(repository.obterPorUsuario(usuario.getId(), 2019, null, null, StatusLancamento.REALIZADO)).isEmpty();
+        assertThat(repository.obterPorUsuario(outroUsuario.getId(), 2019, null, null, null)).isEmpty();
+    }
+
+    private void persistirLancamento(Usuario usuario, Integer mes, TipoLancamento tipo, int valor) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setMes(mes);
+        lancamento.setTipo(tipo);
+        lancamento.setValor(BigDecimal.valueOf(valor));
+        entityManager.persist(lancamento);
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.SaldoUsuario;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.entity.VersaoLancamentos;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class SaldoUsuarioRepositoryTest {
+
+    @Autowired
+    SaldoUsuarioRepository repository;
+
+    @Autowired
+    VersaoLancamentosRepository versaoRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveCriarOSaldoPelosLancamentosRealizadosESomarODeltaQuandoJaExistir() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.REALIZADO, 100);
+        persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.REALIZADO, 30);
+        persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 50);
+
+        repository.criarSaldo(usuario.getId(), BigDecimal.valueOf(-30), LocalDateTime.now());
+        entityManager.clear();
+        assertThat(repository.findById(usuario.getId()).map(SaldoUsuario::getSaldo))
+                .hasValueSatisfying(saldo -> assertThat(saldo).isEqualByComparingTo(BigDecimal.valueOf(70)));
+
+        // criada por outra escrita no meio tempo: só o delta entra
+        repository.criarSaldo(usuario.getId(), BigDecimal.valueOf(5), LocalDateTime.now());
+        entityManager.clear();
+        assertThat(repository.findById(usuario.getId()).map(SaldoUsuario::getSaldo))
+                .hasValueSatisfying(saldo -> assertThat(saldo).isEqualByComparingTo(BigDecimal.valueOf(75)));
+    }
+
+    @Test
+    public void deveGravarOSaldoRecalculadoPorCimaDoAnterior() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createNewUser());
+        repository.gravarSaldo(usuario.getId(), BigDecimal.TEN, LocalDateTime.now());
+        repository.gravarSaldo(usuario.getId(), BigDecimal.ONE, LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(repository.findById(usuario.getId()).map(SaldoUsuario::getSaldo))
+                .hasValueSatisfying(saldo -> assertThat(saldo).isEqualByComparingTo(BigDecimal.ONE));
+    }
+
+    @Test
+    public void deveCriarAVersaoOuIncrementarQuandoJaExistir() {
+        versaoRepository.criarVersao(1l);
+        versaoRepository.criarVersao(1l);
+        versaoRepository.criarVersao(2l);
+        entityManager.clear();
+
+        assertThat(versaoRepository.findById(1l).map(VersaoLancamentos::getVersao)).contains(2l);
+        assertThat(versaoRepository.findById(2l).map(VersaoLancamentos::getVersao)).contains(1l);
+    }
+
+    private void persistirLancamento(Usuario usuario, TipoLancamento tipo, StatusLancamento status, int valor) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setTipo(tipo);
+        lancamento.setStatus(status);
+        lancamento.setValor(BigDecimal.valueOf(valor));
+        entityManager.persist(lancamento);
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.model.entity.TermoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.RelevanciaLancamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class TermoLancamentoRepositoryTest {
+
+    @Autowired
+    TermoLancamentoRepository repository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveOrdenarOsLancamentosPelaQuantidadeDeTermosEncontrados() {
+        persistirTermos(1l, 1l, "aluguel", "apartamento");
+        persistirTermos(2l, 1l, "aluguel", "garagem");
+        persistirTermos(3l, 1l, "mercado");
+        persistirTermos(4l, 2l, "aluguel", "apartamento");
+
+        List<RelevanciaLancamento> resultado = repository.buscarPorPrefixos(1l, Arrays.asList("alug", "apto", "apart"), 10);
+
+        assertThat(resultado)
+                .extracting(RelevanciaLancamento::getIdLancamento)
+                .containsExactly(1l, 2l);
+        assertThat(resultado.get(0).getTermosEncontrados()).isEqualTo(2l);
+    }
+
+    @Test
+    public void deveRemoverOsTermosDeUmLancamento() {
+        persistirTermos(1l, 1l, "aluguel", "apartamento");
+        persistirTermos(2l, 1l, "aluguel");
+
+        int removidos = repository.removerPorLancamento(1l);
+
+        assertThat(removidos).isEqualTo(2);
+        assertThat(repository.buscarPorPrefixos(1l, Arrays.asList("alug"), 10))
+                .extracting(RelevanciaLancamento::getIdLancamento)
+                .containsExactly(2l);
+    }
+
+    private void persistirTermos(Long idLancamento, Long idUsuario, String... termos) {
+        for (String termo : termos) {
+            entityManager.persist(TermoLancamento.builder()
+                                    .idLancamento(idLancamento)
+                                    .idUsuario(idUsuario)
+                                    .termo(termo)
+                                    .build());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.grsantos13.minhasfinancas.model.repository;
+
+import io.github.grsantos13.minhasfinancas.config.CacheConfig;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import(CacheConfig.class)
+public class UsuarioRepositoryCacheTest {
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test
+    public void deveGuardarNoCacheOUsuarioBuscadoPorIdEPorEmail() {
+        Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createNewUser());
+
+        usuarioRepository.findById(usuario.getId());
+        usuarioRepository.findByEmail(usuario.getEmail());
+
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS).get(usuario.getId())).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL).get(usuario.getEmail())).isNotNull();
+    }
+
+    @Test
+    public void naoDeveGuardarNoCacheUmUsuarioInexistente() {
+        usuarioRepository.findById(99L);
+
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS).get(99L)).isNull();
+    }
+
+    @Test
+    public void deveInvalidarOCacheAoSalvarOUsuario() {
+        Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createNewUser());
+        usuarioRepository.findById(usuario.getId());
+        usuarioRepository.findByEmail(usuario.getEmail());
+
+        usuario.setNome("Outro nome");
+        usuarioRepository.save(usuario);
+
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS).get(usuario.getId())).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL).get(usuario.getEmail())).isNull();
+    }
+
+    @Test
+    public void deveInvalidarOEmailAnteriorQuandoEleMudar() {
+        Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createNewUser());
+        String emailAnterior = usuario.getEmail();
+        usuarioRepository.findByEmail(emailAnterior);
+
+        usuario.setEmail("outro@email.com");
+        usuarioRepository.save(usuario);
+
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL).get(emailAnterior)).isNull();
+    }
+
+    @Test
+    public void deveInvalidarOCacheAoExcluirOUsuario() {
+        Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createNewUser());
+        Usuario outro = usuarioRepository.save(Usuario.builder().nome("outro").email("outro@email.com").build());
+        usuarioRepository.findById(usuario.getId());
+        usuarioRepository.findByEmail(usuario.getEmail());
+        usuarioRepository.findById(outro.getId());
+        usuarioRepository.findByEmail(outro.getEmail());
+
+        usuarioRepository.delete(usuario);
+        usuarioRepository.deleteById(outro.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS).get(usuario.getId())).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL).get(usuario.getEmail())).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS).get(outro.getId())).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL).get(outro.getEmail())).isNull();
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.TermoLancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.projection.RelevanciaLancamento;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepository;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import io.github.grsantos13.minhasfinancas.model.repository.TermoLancamentoRepository;
+import io.github.grsantos13.minhasfinancas.service.impl.BuscaDescricaoServiceImpl;
+import io.github.grsantos13.minhasfinancas.service.impl.TokenizadorDescricao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class BuscaDescricaoServiceTest {
+
+    @SpyBean
+    BuscaDescricaoServiceImpl service;
+    @MockBean
+    TermoLancamentoRepository termoRepository;
+    @MockBean
+    LancamentoRepository lancamentoRepository;
+
+    @Test
+    public void deveNormalizarOsTermosDaDescricao() {
+        assertThat(TokenizadorDescricao.tokenizar("Conta de Luz - AÇÃO x/2020"))
+                .containsExactly("conta", "de", "luz", "acao", "2020");
+    }
+
+    @Test
+    public void deveIndexarOsTermosDoLancamento() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(2l).build());
+        lancamento.setDescricao("Aluguel apartamento");
+
+        service.indexar(lancamento);
+
+        ArgumentCaptor<List<TermoLancamento>> captor = ArgumentCaptor.forClass(List.class);
+        verify(termoRepository).removerPorLancamento(1l);
+        verify(termoRepository).saveAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(TermoLancamento::getTermo)
+                .containsExactly("aluguel", "apartamento");
+    }
+
+    @Test
+    public void deveRetornarOsLancamentosNaOrdemDeRelevancia() {
+        LancamentoResumo primeiro = LancamentoResumo.builder().id(1l).usuario(1l).build();
+        LancamentoResumo segundo = LancamentoResumo.builder().id(2l).usuario(1l).build();
+
+        when(termoRepository.buscarPorPrefixos(Mockito.eq(1l), Mockito.any(), Mockito.eq(20)))
+                .thenReturn(Arrays.asList(new RelevanciaLancamento(2l, 2l), new RelevanciaLancamento(1l, 1l)));
+        when(lancamentoRepository.obterResumosPorIds(Arrays.asList(2l, 1l))).thenReturn(Arrays.asList(primeiro, segundo));
+
+        List<LancamentoResumo> resultado = service.buscar(1l, "aluguel apto", null);
+
+        assertThat(resultado).containsExactly(segundo, primeiro);
+    }
+
+    @Test
+    public void deveLancarErroAoBuscarSemTermosValidos() {
+        Throwable erro = catchThrowable(() -> service.buscar(1l, " - ", null));
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um termo de busca válido.");
+    }
+
+    @Test
+    public void naoDeveConsultarOsLancamentosQuandoNenhumTermoForEncontrado() {
+        when(termoRepository.buscarPorPrefixos(Mockito.eq(1l), Mockito.any(), Mockito.eq(20))).thenReturn(Collections.emptyList());
+
+        List<LancamentoResumo> resultado = service.buscar(1l, "aluguel", null);
+
+        assertThat(resultado).isEmpty();
+        verify(lancamentoRepository, never()).obterResumosPorIds(Mockito.any());
+    }
+}
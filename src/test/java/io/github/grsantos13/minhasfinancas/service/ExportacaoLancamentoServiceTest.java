@@ -0,0 +1,135 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.github.grsantos13.minhasfinancas.config.MetricasAspect;
+import io.github.grsantos13.minhasfinancas.config.RoteamentoLeitura;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.FormatoArquivo;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepository;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import io.github.grsantos13.minhasfinancas.service.impl.ExportacaoLancamentoServiceImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ExportacaoLancamentoServiceTest {
+
+    @MockBean
+    LancamentoRepository repository;
+
+    @MockBean
+    RoteamentoLeitura roteamento;
+
+    SimpleMeterRegistry registry;
+
+    ExportacaoLancamentoService service;
+
+    Lancamento lancamento;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        service = new ExportacaoLancamentoServiceImpl(repository, roteamento, new ObjectMapper(), registry);
+
+        lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setDescricao("Aluguel, apto \"101\"");
+        lancamento.setUsuario(Usuario.builder().id(2l).senha("123").build());
+        when(repository.streamResumosPorUsuario(2l)).thenReturn(Stream.of(LancamentoResumo.de(lancamento)));
+    }
+
+    @Test
+    public void deveExportarOsLancamentosEmCsv() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        service.exportar(2l, FormatoArquivo.CSV, saida);
+
+        assertThat(new String(saida.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("id,descricao,mes,ano,valor,tipo,status\n" +
+                        "1,\"Aluguel, apto \"\"101\"\"\",1,2019,10,RECEITA,PENDENTE\n");
+    }
+
+    @Test
+    public void deveColocarEntreAspasADescricaoComRetornoDeCarro() throws Exception {
+        lancamento.setDescricao("Aluguel\rapto");
+        when(repository.streamResumosPorUsuario(2l)).thenReturn(Stream.of(LancamentoResumo.de(lancamento)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        service.exportar(2l, FormatoArquivo.CSV, saida);
+
+        assertThat(new String(saida.toByteArray(), StandardCharsets.UTF_8))
+                .endsWith("\n1,\"Aluguel\rapto\",1,2019,10,RECEITA,PENDENTE\n");
+    }
+
+    @Test
+    public void deveExportarOsLancamentosEmNdjsonSemDadosDoUsuario() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        service.exportar(2l, FormatoArquivo.NDJSON, saida);
+
+        String conteudo = new String(saida.toByteArray(), StandardCharsets.UTF_8);
+        assertThat(conteudo).startsWith("{\"id\":1,").endsWith("}\n").contains("\"usuario\":2");
+        assertThat(conteudo).doesNotContain("senha");
+    }
+
+    @Test
+    public void deveEscreverOsResumosComoUmaListaNoFormatoDoMapper() throws Exception {
+        Lancamento filtro = Lancamento.builder().usuario(lancamento.getUsuario()).build();
+        Lancamento outro = LancamentoRepositoryTest.criarLancamento();
+        outro.setId(2l);
+        outro.setUsuario(lancamento.getUsuario());
+        when(repository.streamResumos(filtro)).thenReturn(Stream.of(LancamentoResumo.de(lancamento), LancamentoResumo.de(outro)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        service.escreverResumos(filtro, new ObjectMapper(new CBORFactory()), saida);
+
+        JsonNode lista = new ObjectMapper(new CBORFactory()).readTree(saida.toByteArray());
+        assertThat(lista.isArray()).isTrue();
+        assertThat(lista).extracting(item -> item.get("id").asLong()).containsExactly(1l, 2l);
+        verify(roteamento).lerParaUsuario(2l);
+    }
+
+    @Test
+    public void deveRegistrarAsLinhasEscritasNaMetricaDoServico() throws Exception {
+        Lancamento filtro = Lancamento.builder().usuario(lancamento.getUsuario()).build();
+        when(repository.streamResumos(filtro)).thenReturn(Stream.of(LancamentoResumo.de(lancamento), LancamentoResumo.de(lancamento)));
+
+        service.escreverResumos(filtro, new ObjectMapper(), new ByteArrayOutputStream());
+
+        DistributionSummary linhas = registry.get(MetricasAspect.METRICA_SERVICO + ".linhas")
+                .tags("classe", "ExportacaoLancamentoService", "metodo", "escreverResumos")
+                .summary();
+        assertThat(linhas.count()).isEqualTo(1);
+        assertThat(linhas.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    public void deveEscreverUmaListaVaziaQuandoNaoHouverLancamentos() throws Exception {
+        Lancamento filtro = Lancamento.builder().usuario(lancamento.getUsuario()).build();
+        when(repository.streamResumos(filtro)).thenReturn(Stream.empty());
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        service.escreverResumos(filtro, new ObjectMapper(), saida);
+
+        assertThat(new String(saida.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+}
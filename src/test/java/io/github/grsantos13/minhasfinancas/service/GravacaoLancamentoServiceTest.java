@@ -0,0 +1,186 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.exception.ServicoIndisponivelException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.ConfirmacaoGravacao;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import io.github.grsantos13.minhasfinancas.service.impl.GravacaoLancamentoServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class GravacaoLancamentoServiceTest {
+
+    @MockBean
+    LancamentoService lancamentoService;
+
+    GravacaoLancamentoServiceImpl service;
+
+    AtomicLong ids = new AtomicLong();
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (service != null) {
+            service.encerrar();
+        }
+    }
+
+    @Test
+    public void deveSalvarDiretoQuandoDesabilitada() {
+        service = criarServico(false, ConfirmacaoGravacao.COMMIT, 10, 10, 0);
+        Lancamento lancamento = criarLancamento();
+        when(lancamentoService.salvar(lancamento)).thenReturn(lancamento);
+
+        assertThat(service.salvar(lancamento)).contains(lancamento);
+        verify(lancamentoService, never()).salvarLote(anyList());
+    }
+
+    @Test
+    public void deveGravarAsRequisicoesConcorrentesNumSoLote() throws Exception {
+        service = criarServico(true, ConfirmacaoGravacao.COMMIT, 10, 4, 5000);
+        when(lancamentoService.salvarLote(anyList())).thenAnswer(invocacao -> atribuirIds(invocacao.getArgument(0)));
+
+        ExecutorService clientes = Executors.newFixedThreadPool(4);
+        List<Future<Optional<Lancamento>>> respostas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Lancamento lancamento = criarLancamento();
+            respostas.add(clientes.submit(() -> service.salvar(lancamento)));
+        }
+
+        for (Future<Optional<Lancamento>> resposta : respostas) {
+            Optional<Lancamento> salvo = resposta.get(5, TimeUnit.SECONDS);
+            assertThat(salvo).map(Lancamento::getId).isNotEmpty();
+            assertThat(salvo).map(Lancamento::getStatus).contains(StatusLancamento.PENDENTE);
+        }
+        verify(lancamentoService, times(1)).salvarLote(anyList());
+        clientes.shutdown();
+    }
+
+    @Test
+    public void deveGravarUmAUmQuandoOLoteFalhar() throws Exception {
+        service = criarServico(true, ConfirmacaoGravacao.COMMIT, 10, 2, 5000);
+        Lancamento invalido = criarLancamento();
+        invalido.setUsuario(Usuario.builder().id(99l).build());
+        when(lancamentoService.salvarLote(anyList())).thenAnswer(invocacao -> {
+            List<Lancamento> lote = invocacao.getArgument(0);
+            if (lote.contains(invalido)) {
+                throw new RegraNegocioException("usuário inexistente");
+            }
+            return atribuirIds(lote);
+        });
+
+        ExecutorService clientes = Executors.newFixedThreadPool(2);
+        Future<Optional<Lancamento>> valido = clientes.submit(() -> service.salvar(criarLancamento()));
+        Future<Optional<Lancamento>> comErro = clientes.submit(() -> service.salvar(invalido));
+
+        assertThat(valido.get(5, TimeUnit.SECONDS)).map(Lancamento::getId).isNotEmpty();
+        assertThat(catchThrowableOfType(() -> comErro.get(5, TimeUnit.SECONDS), Exception.class))
+                .hasCauseInstanceOf(RegraNegocioException.class);
+        verify(lancamentoService, times(3)).salvarLote(anyList());
+        clientes.shutdown();
+    }
+
+    @Test
+    public void deveConfirmarNaFilaERecusarQuandoElaEstiverCheia() throws Exception {
+        service = criarServico(true, ConfirmacaoGravacao.FILA, 1, 1, 0);
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(lancamentoService.salvarLote(anyList())).thenAnswer(invocacao -> {
+            gravando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return atribuirIds(invocacao.getArgument(0));
+        });
+
+        assertThat(service.salvar(criarLancamento())).isEmpty();
+        assertThat(gravando.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.salvar(criarLancamento())).isEmpty();
+
+        assertThat(catchThrowableOfType(() -> service.salvar(criarLancamento()), ServicoIndisponivelException.class))
+                .isNotNull();
+
+        liberar.countDown();
+        service.encerrar();
+        verify(lancamentoService, times(2)).salvarLote(argThat(lote -> lote.size() == 1));
+    }
+
+    @Test
+    public void deveRecusarQuandoOCommitDemorarMaisQueAEspera() throws Exception {
+        service = criarServico(true, ConfirmacaoGravacao.COMMIT, 10, 10, 0);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(lancamentoService.salvarLote(anyList())).thenAnswer(invocacao -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return atribuirIds(invocacao.getArgument(0));
+        });
+
+        assertThat(catchThrowableOfType(() -> service.salvar(criarLancamento()), ServicoIndisponivelException.class))
+                .isNotNull();
+        liberar.countDown();
+    }
+
+    @Test
+    public void deveRecusarDepoisDoEncerramento() throws Exception {
+        service = criarServico(true, ConfirmacaoGravacao.FILA, 10, 10, 0);
+        service.encerrar();
+
+        assertThat(catchThrowableOfType(() -> service.salvar(criarLancamento()), ServicoIndisponivelException.class))
+                .isNotNull();
+        verify(lancamentoService, never()).salvarLote(anyList());
+    }
+
+    @Test
+    public void deveValidarAntesDeEnfileirar() {
+        service = criarServico(true, ConfirmacaoGravacao.COMMIT, 10, 10, 0);
+        Lancamento lancamento = criarLancamento();
+        Mockito.doThrow(new RegraNegocioException("Informe um valor válido.")).when(lancamentoService).validar(lancamento);
+
+        assertThat(catchThrowableOfType(() -> service.salvar(lancamento), RegraNegocioException.class)).isNotNull();
+        verify(lancamentoService, never()).salvarLote(anyList());
+    }
+
+    private GravacaoLancamentoServiceImpl criarServico(boolean habilitada, ConfirmacaoGravacao confirmacao,
+                                                       int fila, int tamanhoLote, long esperaLote) {
+        GravacaoLancamentoServiceImpl gravacao = new GravacaoLancamentoServiceImpl(lancamentoService, habilitada,
+                confirmacao, fila, tamanhoLote, esperaLote, 10, 500);
+        gravacao.iniciar();
+        return gravacao;
+    }
+
+    private List<Lancamento> atribuirIds(List<Lancamento> lote) {
+        lote.forEach(lancamento -> lancamento.setId(ids.incrementAndGet()));
+        return lote;
+    }
+
+    private Lancamento criarLancamento() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        return lancamento;
+    }
+}
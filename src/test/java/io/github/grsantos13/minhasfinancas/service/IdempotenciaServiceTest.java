@@ -0,0 +1,148 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.grsantos13.minhasfinancas.api.dto.RespostaIdempotenteDTO;
+import io.github.grsantos13.minhasfinancas.config.RoteamentoLeitura;
+import io.github.grsantos13.minhasfinancas.exception.ChaveIdempotenciaEmUsoException;
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.ChaveIdempotencia;
+import io.github.grsantos13.minhasfinancas.model.entity.ChaveIdempotenciaId;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.repository.ChaveIdempotenciaRepository;
+import io.github.grsantos13.minhasfinancas.service.impl.IdempotenciaServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+// Sem a transação do teste: a reserva precisa estar gravada para a segunda tentativa enxergá-la.
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(RoteamentoLeitura.class)
+public class IdempotenciaServiceTest {
+
+    @Autowired
+    ChaveIdempotenciaRepository repository;
+
+    @Autowired
+    RoteamentoLeitura roteamento;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    IdempotenciaService service;
+
+    @BeforeEach
+    public void setUp() {
+        repository.deleteAll();
+        service = criarServico(300);
+    }
+
+    @Test
+    public void deveDevolverARespostaGuardadaNaRepeticao() {
+        assertThat(service.iniciar(1l, "chave", "salvar {}")).isEmpty();
+        service.concluir(1l, "chave", "salvar {}", null, 201, LancamentoResumo.builder().id(9l).usuario(1l).build());
+
+        Optional<RespostaIdempotenteDTO> repetida = service.iniciar(1l, "chave", "salvar {}");
+
+        assertThat(repetida).map(RespostaIdempotenteDTO::getStatus).contains(201);
+        assertThat(((JsonNode) repetida.get().getCorpo()).get("id").asLong()).isEqualTo(9l);
+    }
+
+    @Test
+    public void deveBuscarNoBancoQuandoARespostaNaoEstiverNoCache() {
+        service.iniciar(1l, "chave", "salvar {}");
+        service.concluir(1l, "chave", "salvar {}", null, 400, "Informe uma descrição válida.");
+
+        Optional<RespostaIdempotenteDTO> repetida = criarServico(300).iniciar(1l, "chave", "salvar {}");
+
+        assertThat(repetida).map(RespostaIdempotenteDTO::getStatus).contains(400);
+        assertThat(repetida).map(RespostaIdempotenteDTO::getCorpo).contains("Informe uma descrição válida.");
+    }
+
+    @Test
+    public void deveRepetirDoCacheSomenteRespostasConcluidas() {
+        service.iniciar(1l, "chave", "salvar {}");
+        assertThat(service.repetida(1l, "chave", "salvar {}")).isEmpty();
+
+        service.concluir(1l, "chave", "salvar {}", "abc123", 201, null);
+
+        assertThat(service.repetida(1l, "chave", "salvar {}"))
+                .map(RespostaIdempotenteDTO::getImpressaoCorpo).contains("abc123");
+        assertThat(criarServico(300).repetida(1l, "chave", "salvar {}")).isEmpty();
+    }
+
+    @Test
+    public void naoDeveGuardarAConclusaoDeUmaEscritaDesfeita() {
+        service.iniciar(1l, "chave", "salvar {}");
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            service.concluir(1l, "chave", "salvar {}", null, 201, null);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(service.repetida(1l, "chave", "salvar {}")).isEmpty();
+        assertThat(repository.findById(new ChaveIdempotenciaId(1l, "chave")))
+                .map(ChaveIdempotencia::getStatus).isEmpty();
+    }
+
+    @Test
+    public void deveRecusarARepeticaoEnquantoAOriginalEstiverEmAndamento() {
+        service.iniciar(1l, "chave", "salvar {}");
+
+        assertThat(catchThrowableOfType(() -> criarServico(300).iniciar(1l, "chave", "salvar {}"),
+                ChaveIdempotenciaEmUsoException.class)).isNotNull();
+        assertThat(service.iniciar(2l, "chave", "salvar {}")).isEmpty();
+    }
+
+    @Test
+    public void deveRecusarAMesmaChaveEmOutraRequisicao() {
+        service.iniciar(1l, "chave", "salvar {\"valor\":10}");
+        service.concluir(1l, "chave", "salvar {\"valor\":10}", null, 201, null);
+
+        assertThat(catchThrowableOfType(() -> service.iniciar(1l, "chave", "salvar {\"valor\":20}"),
+                RegraNegocioException.class)).isNotNull();
+    }
+
+    @Test
+    public void deveLiberarAChaveParaUmaNovaTentativa() {
+        service.iniciar(1l, "chave", "salvar {}");
+        service.liberar(1l, "chave");
+
+        assertThat(service.iniciar(1l, "chave", "salvar {}")).isEmpty();
+    }
+
+    @Test
+    public void deveAssumirUmaReservaVencidaERemoverAsExpiradas() {
+        IdempotenciaService semPrazo = criarServico(0);
+        semPrazo.iniciar(1l, "caiu", "salvar {}");
+        semPrazo.iniciar(1l, "outra", "salvar {}");
+
+        assertThat(semPrazo.iniciar(1l, "caiu", "salvar {}")).isEmpty();
+        assertThat(semPrazo.removerExpiradas()).isEqualTo(2);
+        assertThat(repository.findById(new ChaveIdempotenciaId(1l, "caiu"))).isEmpty();
+    }
+
+    private IdempotenciaService criarServico(long reservaSegundos) {
+        return new IdempotenciaServiceImpl(repository, roteamento, new ObjectMapper(), 24, reservaSegundos, 100);
+    }
+}
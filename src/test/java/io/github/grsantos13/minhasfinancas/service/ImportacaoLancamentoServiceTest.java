@@ -0,0 +1,154 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.grsantos13.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.FormatoArquivo;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.service.impl.ImportacaoLancamentoServiceImpl;
+import io.github.grsantos13.minhasfinancas.service.impl.LancamentoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ImportacaoLancamentoServiceTest {
+
+    @MockBean
+    LancamentoService lancamentoService;
+    @MockBean
+    EntityManager entityManager;
+
+    ImportacaoLancamentoServiceImpl service;
+
+    Usuario usuario = Usuario.builder().id(1l).build();
+
+    @BeforeEach
+    public void setUp() {
+        service = new ImportacaoLancamentoServiceImpl(lancamentoService, new ObjectMapper(), entityManager, 2);
+        Mockito.doAnswer(invocation -> {
+            new LancamentoServiceImpl(null, null, null, null, null, null).validar(invocation.getArgument(0));
+            return null;
+        }).when(lancamentoService).validar(Mockito.any(Lancamento.class));
+    }
+
+    @Test
+    public void deveImportarUmCsvEmLotesReportandoAsLinhasInvalidas() throws Exception {
+        String csv = "descricao;mes;ano;valor;tipo;status\n" +
+                "Salário;1;2020;\"1.500,00\";RECEITA;REALIZADO\n" +
+                "Aluguel;13;2020;800;DESPESA;\n" +
+                "Mercado;1;2020;350,10;despesa;\n" +
+                "\n" +
+                "Internet;2;2020;100;DESPESA;PENDENTE\n";
+
+        ResultadoImportacaoDTO resultado = service.importar(usuario, FormatoArquivo.CSV, new StringReader(csv));
+
+        ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lancamentoService, times(2)).salvarLote(captor.capture());
+        assertThat(resultado.getLinhasLidas()).isEqualTo(4);
+        assertThat(resultado.getLancamentosImportados()).isEqualTo(3);
+        assertThat(resultado.getLinhasComErro()).isEqualTo(1);
+        assertThat(resultado.getErros().get(0).getLinha()).isEqualTo(3);
+        assertThat(resultado.getErros().get(0).getMensagem()).isEqualTo("Informe um mês válido.");
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    public void deveImportarCamposEntreAspasQueAtravessamLinhas() throws Exception {
+        String csv = "id,descricao,mes,ano,valor,tipo,status\r\n" +
+                "1,\"Aluguel\r\napto 101\",1,2020,800,DESPESA,PENDENTE\r\n" +
+                "2,\"Luz\rmarço\",13,2020,90,DESPESA,\r\n" +
+                "3,Água,2,2020,60,DESPESA,\r\n";
+
+        ResultadoImportacaoDTO resultado = service.importar(usuario, FormatoArquivo.CSV, new StringReader(csv));
+
+        ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lancamentoService).salvarLote(captor.capture());
+        assertThat(captor.getValue()).extracting(Lancamento::getDescricao).containsExactly("Aluguel\r\napto 101", "Água");
+        assertThat(resultado.getLinhasLidas()).isEqualTo(3);
+        assertThat(resultado.getErros().get(0).getLinha()).isEqualTo(4);
+        assertThat(resultado.getErros().get(0).getMensagem()).isEqualTo("Informe um mês válido.");
+    }
+
+    @Test
+    public void deveRecusarUmCampoEntreAspasSemFechamento() {
+        String csv = "descricao,mes,ano,valor,tipo\n" +
+                "Salário,1,2020,1500,RECEITA\n" +
+                "\"" + new String(new char[10001]).replace('\0', 'x');
+
+        Throwable erro = catchThrowable(() -> service.importar(usuario, FormatoArquivo.CSV, new StringReader(csv)));
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessageContaining("linha 3");
+    }
+
+    @Test
+    public void deveRecusarUmaLinhaNdjsonAcimaDoTamanhoMaximo() {
+        String ndjson = "{\"descricao\":\"Salário\",\"mes\":1,\"ano\":2020,\"valor\":1500,\"tipo\":\"RECEITA\"}\n" +
+                "{\"descricao\":\"" + new String(new char[10001]).replace('\0', 'x');
+
+        Throwable erro = catchThrowable(() -> service.importar(usuario, FormatoArquivo.NDJSON, new StringReader(ndjson)));
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessageContaining("Linha 2 excede");
+    }
+
+    @Test
+    public void deveConverterOsCamposDeUmaLinhaNdjson() throws Exception {
+        String ndjson = "{\"descricao\":\"Salário\",\"mes\":1,\"ano\":2020,\"valor\":1500.5,\"tipo\":\"RECEITA\",\"status\":\"REALIZADO\"}\n" +
+                "{\"descricao\":\n";
+
+        ResultadoImportacaoDTO resultado = service.importar(usuario, FormatoArquivo.NDJSON, new StringReader(ndjson));
+
+        ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lancamentoService).salvarLote(captor.capture());
+        Lancamento lancamento = captor.getValue().get(0);
+        assertThat(lancamento.getValor()).isEqualTo(new BigDecimal("1500.5"));
+        assertThat(lancamento.getTipo()).isEqualTo(TipoLancamento.RECEITA);
+        assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.REALIZADO);
+        assertThat(lancamento.getUsuario()).isEqualTo(usuario);
+        assertThat(resultado.getLinhasComErro()).isEqualTo(1);
+    }
+
+    @Test
+    public void deveReportarTodasAsLinhasDeUmLoteQueFalhouAoGravar() throws Exception {
+        String csv = "descricao,mes,ano,valor,tipo\n" +
+                "Salário,1,2020,1500,RECEITA\n" +
+                "Aluguel,1,2020,800,DESPESA\n";
+        doThrow(new DataIntegrityViolationException("falha")).when(lancamentoService).salvarLote(Mockito.anyList());
+
+        ResultadoImportacaoDTO resultado = service.importar(usuario, FormatoArquivo.CSV, new StringReader(csv));
+
+        assertThat(resultado.getLancamentosImportados()).isEqualTo(0);
+        assertThat(resultado.getLinhasComErro()).isEqualTo(2);
+    }
+
+    @Test
+    public void deveRecusarUmCsvSemAsColunasObrigatorias() {
+        Throwable erro = catchThrowable(() ->
+                service.importar(usuario, FormatoArquivo.CSV, new StringReader("descricao,mes\nSalário,1\n")));
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class);
+        verify(lancamentoService, never()).salvarLote(Mockito.anyList());
+    }
+}
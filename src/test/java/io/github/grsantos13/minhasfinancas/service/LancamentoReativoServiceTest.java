@@ -0,0 +1,127 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.reativo.entity.LancamentoReativo;
+import io.github.grsantos13.minhasfinancas.model.reativo.repository.LancamentoReativoRepository;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import io.github.grsantos13.minhasfinancas.service.impl.LancamentoReativoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class LancamentoReativoServiceTest {
+
+    @SpyBean
+    LancamentoReativoServiceImpl service;
+    @MockBean
+    LancamentoReativoRepository repository;
+    @MockBean
+    LancamentoService lancamentoService;
+    @MockBean
+    TransactionalOperator transacao;
+
+    @BeforeEach
+    public void setUp() {
+        when(transacao.transactional(Mockito.any(Mono.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+    }
+
+    @Test
+    public void deveSalvarIndexarERegistrarAlteracao() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        lancamento.setDescricao("Mercado mensal");
+        lancamento.setStatus(StatusLancamento.REALIZADO);
+        ResumoMensalId celula = new ResumoMensalId(1l, 2019, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+
+        when(repository.proximoId()).thenReturn(Mono.just(51l));
+        when(repository.save(Mockito.any(LancamentoReativo.class))).thenAnswer(invocacao -> {
+            LancamentoReativo aSalvar = invocacao.getArgument(0);
+            aSalvar.setVersao(0l);
+            return Mono.just(aSalvar);
+        });
+        when(repository.indexarTermo(Mockito.anyLong(), Mockito.anyLong(), Mockito.anyString())).thenReturn(Mono.just(1));
+        when(repository.incrementarVersao(1l)).thenReturn(Mono.just(0));
+        when(repository.criarVersao(1l)).thenReturn(Mono.just(1));
+        when(repository.somarAoResumo(1l, 2019, 1, "RECEITA", "PENDENTE", BigDecimal.valueOf(10))).thenReturn(Mono.just(0));
+        when(repository.criarResumo(celula, BigDecimal.valueOf(10))).thenReturn(Mono.just(1));
+
+        LancamentoResumo resumo = service.salvar(lancamento).block();
+
+        ArgumentCaptor<LancamentoReativo> salvo = ArgumentCaptor.forClass(LancamentoReativo.class);
+        verify(repository).save(salvo.capture());
+        assertThat(salvo.getValue().getId()).isEqualTo(51l);
+        assertThat(salvo.getValue().getIdUsuario()).isEqualTo(1l);
+        assertThat(salvo.getValue().getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+
+        assertThat(resumo.getId()).isEqualTo(51l);
+        assertThat(resumo.getUsuario()).isEqualTo(1l);
+        assertThat(resumo.getVersao()).isEqualTo(0l);
+
+        verify(lancamentoService).validar(lancamento);
+        verify(repository).indexarTermo(51l, 1l, "mercado");
+        verify(repository).indexarTermo(51l, 1l, "mensal");
+        verify(repository).criarVersao(1l);
+        verify(repository).criarResumo(celula, BigDecimal.valueOf(10));
+        verify(transacao).transactional(Mockito.any(Mono.class));
+    }
+
+    @Test
+    public void naoDeveSalvarLancamentoInvalido() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        doThrow(new RegraNegocioException("Informe um valor válido.")).when(lancamentoService).validar(lancamento);
+        when(repository.proximoId()).thenReturn(Mono.just(51l));
+
+        Throwable erro = catchThrowable(() -> service.salvar(lancamento).block());
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um valor válido.");
+        verify(repository, never()).save(Mockito.any(LancamentoReativo.class));
+    }
+
+    @Test
+    public void deveObterSaldoConsolidado() {
+        when(repository.obterSaldoConsolidado(1l)).thenReturn(Mono.just(BigDecimal.valueOf(250)));
+
+        BigDecimal saldo = service.obterSaldoPorUsuario(1l).block();
+
+        assertThat(saldo).isEqualByComparingTo(BigDecimal.valueOf(250));
+        verify(repository, never()).obterSaldoPorTipoLancamentoEUsuario(Mockito.anyLong(), Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    public void deveCalcularSaldoPelosLancamentosQuandoNaoHaConsolidado() {
+        when(repository.obterSaldoConsolidado(1l)).thenReturn(Mono.empty());
+        when(repository.obterSaldoPorTipoLancamentoEUsuario(1l, TipoLancamento.RECEITA.name(), StatusLancamento.REALIZADO.name()))
+                .thenReturn(Mono.just(BigDecimal.valueOf(100)));
+        when(repository.obterSaldoPorTipoLancamentoEUsuario(1l, TipoLancamento.DESPESA.name(), StatusLancamento.REALIZADO.name()))
+                .thenReturn(Mono.empty());
+
+        BigDecimal saldo = service.obterSaldoPorUsuario(1l).block();
+
+        assertThat(saldo).isEqualByComparingTo(BigDecimal.valueOf(100));
+    }
+}
@@ -1,25 +1,42 @@
 package io.github.grsantos13.minhasfinancas.service;
 
 
+import io.github.grsantos13.minhasfinancas.api.dto.PaginaLancamentoDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.ResumoMensalDTO;
+import io.github.grsantos13.minhasfinancas.api.dto.SaldoMensalDTO;
+import io.github.grsantos13.minhasfinancas.config.RoteamentoLeitura;
 import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
 import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensal;
+import io.github.grsantos13.minhasfinancas.model.entity.ResumoMensalId;
+import io.github.grsantos13.minhasfinancas.model.entity.SaldoUsuario;
 import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
 import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
 import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.pagination.CursorLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.EstadoLancamento;
+import io.github.grsantos13.minhasfinancas.model.projection.LancamentoResumo;
+import io.github.grsantos13.minhasfinancas.model.projection.TotalPorStatus;
 import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepository;
 import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import io.github.grsantos13.minhasfinancas.model.repository.ResumoMensalRepository;
+import io.github.grsantos13.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import io.github.grsantos13.minhasfinancas.model.repository.VersaoLancamentosRepository;
 import io.github.grsantos13.minhasfinancas.service.impl.LancamentoServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Example;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,12 +53,23 @@ import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
+@Import(RoteamentoLeitura.class)
 public class LancamentoServiceTest {
 
     @SpyBean
     LancamentoServiceImpl service;
     @MockBean
     LancamentoRepository repository;
+    @MockBean
+    SaldoUsuarioRepository saldoRepository;
+    @MockBean
+    BuscaDescricaoService buscaDescricaoService;
+    @MockBean
+    VersaoLancamentosRepository versaoRepository;
+    @MockBean
+    ResumoMensalRepository resumoRepository;
+    @Autowired
+    RoteamentoLeitura roteamento;
 
     @Test
     public void deveSalvarUmLancamento() {
@@ -57,6 +85,7 @@ public class LancamentoServiceTest {
 
         assertThat( lancamento.getId() ).isEqualTo(lancamentoSalvo.getId());
         assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+        verify(buscaDescricaoService).indexar(lancamentoSalvo);
     }
 
     @Test
@@ -100,6 +129,7 @@ public class LancamentoServiceTest {
         service.deletar(lancamento);
 
         verify( repository ).delete(lancamento);
+        verify( buscaDescricaoService ).removerDoIndice(1l);
     }
 
     @Test
@@ -259,4 +289,376 @@ public class LancamentoServiceTest {
         assertThat(saldo).isEqualTo(BigDecimal.valueOf(50));
 
     }
+
+    @Test
+    public void deveCalcularSaldoSemGravarQuandoNaoHaSaldoConsolidado() {
+        Long idUsuario = 1l;
+        when( saldoRepository.findById(idUsuario) ).thenReturn(Optional.empty());
+        when( repository
+                .obterSaldoPorTipoLancamentoEUsuario(idUsuario, TipoLancamento.RECEITA, StatusLancamento.REALIZADO))
+                .thenReturn(BigDecimal.valueOf(40));
+
+        BigDecimal saldo = service.obterSaldoPorUsuario(idUsuario);
+
+        assertThat(saldo).isEqualTo(BigDecimal.valueOf(40));
+        verify(saldoRepository, never()).save(Mockito.any());
+    }
+
+    @Test
+    public void deveLerOResumoNovamenteQuandoEleNaoEstaNaReplica() {
+        LancamentoResumo resumo = LancamentoResumo.builder().id(1l).usuario(1l).build();
+        when(repository.obterResumoPorId(1l)).thenReturn(Optional.empty(), Optional.of(resumo));
+
+        Optional<LancamentoResumo> resultado = service.getResumoById(1l);
+
+        assertThat(resultado).contains(resumo);
+        verify(repository, times(2)).obterResumoPorId(1l);
+    }
+
+    @Test
+    public void deveLerOResumoNovamenteQuandoODonoEscreveuHaPouco() {
+        LancamentoResumo resumo = LancamentoResumo.builder().id(2l).usuario(99l).build();
+        when(repository.obterResumoPorId(2l)).thenReturn(Optional.of(resumo));
+        roteamento.registrarEscrita(99l);
+
+        service.getResumoById(2l);
+
+        verify(repository, times(2)).obterResumoPorId(2l);
+    }
+
+    @Test
+    public void naoDeveLerOResumoNovamenteForaDaJanelaDeEscrita() {
+        LancamentoResumo resumo = LancamentoResumo.builder().id(3l).usuario(98l).build();
+        when(repository.obterResumoPorId(3l)).thenReturn(Optional.of(resumo));
+
+        service.getResumoById(3l);
+
+        verify(repository, times(1)).obterResumoPorId(3l);
+    }
+
+    @Test
+    public void deveObterSaldoMaterializadoSemConsultarOsLancamentos() {
+        Long idUsuario = 1l;
+        SaldoUsuario saldoUsuario = SaldoUsuario.builder().idUsuario(idUsuario).saldo(BigDecimal.valueOf(30)).build();
+        when( saldoRepository.findById(idUsuario) ).thenReturn(Optional.of(saldoUsuario));
+
+        BigDecimal saldo = service.obterSaldoPorUsuario(idUsuario);
+
+        assertThat(saldo).isEqualTo(BigDecimal.valueOf(30));
+        verify(repository, never()).obterSaldoPorTipoLancamentoEUsuario(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveSomarAoSaldoAoRealizarUmaReceita() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        lancamento.setValor(BigDecimal.valueOf(10));
+
+        EstadoLancamento estadoAnterior = Mockito.mock(EstadoLancamento.class);
+        when(estadoAnterior.getIdUsuario()).thenReturn(1l);
+        when(estadoAnterior.getTipo()).thenReturn(TipoLancamento.RECEITA);
+        when(estadoAnterior.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+        when(estadoAnterior.getValor()).thenReturn(BigDecimal.valueOf(10));
+
+        when(repository.obterEstadoPersistido(1l)).thenReturn(Optional.of(estadoAnterior));
+        when(repository.save(lancamento)).thenReturn(lancamento);
+        when(saldoRepository.somarAoSaldo(Mockito.eq(1l), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        service.atualizarStatus(lancamento, StatusLancamento.REALIZADO);
+
+        verify(saldoRepository).somarAoSaldo(Mockito.eq(1l), Mockito.eq(BigDecimal.valueOf(10)), Mockito.any());
+        verify(saldoRepository, never()).save(Mockito.any(SaldoUsuario.class));
+    }
+
+    @Test
+    public void deveSubtrairDoSaldoAoDeletarUmaReceitaRealizada() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+
+        EstadoLancamento estadoAnterior = Mockito.mock(EstadoLancamento.class);
+        when(estadoAnterior.getIdUsuario()).thenReturn(1l);
+        when(estadoAnterior.getTipo()).thenReturn(TipoLancamento.RECEITA);
+        when(estadoAnterior.getStatus()).thenReturn(StatusLancamento.REALIZADO);
+        when(estadoAnterior.getValor()).thenReturn(BigDecimal.valueOf(10));
+
+        when(repository.obterEstadoPersistido(1l)).thenReturn(Optional.of(estadoAnterior));
+        when(saldoRepository.somarAoSaldo(Mockito.eq(1l), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        service.deletar(lancamento);
+
+        verify(saldoRepository).somarAoSaldo(Mockito.eq(1l), Mockito.eq(BigDecimal.valueOf(-10)), Mockito.any());
+    }
+
+    @Test
+    public void deveCriarOSaldoQuandoAindaNaoEstiverMaterializado() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        lancamento.setStatus(StatusLancamento.REALIZADO);
+
+        doNothing().when(service).validar(lancamento);
+        when(repository.save(lancamento)).thenReturn(lancamento);
+        when(saldoRepository.somarAoSaldo(Mockito.eq(1l), Mockito.any(), Mockito.any())).thenReturn(0);
+
+        service.atualizar(lancamento);
+
+        verify(saldoRepository).criarSaldo(Mockito.eq(1l), Mockito.eq(BigDecimal.valueOf(10)), Mockito.any());
+        verify(saldoRepository, never()).save(Mockito.any(SaldoUsuario.class));
+    }
+
+    @Test
+    public void deveMontarOsDozeMesesDoSaldoMensal() {
+        ResumoMensal receitasPendentes = criarResumo(3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 70);
+        ResumoMensal receitasRealizadas = criarResumo(3, TipoLancamento.RECEITA, StatusLancamento.REALIZADO, 30);
+        ResumoMensal despesas = criarResumo(3, TipoLancamento.DESPESA, StatusLancamento.REALIZADO, 40);
+
+        when(resumoRepository.obterPorUsuario(1l, 2020, null, null, null))
+                .thenReturn(Arrays.asList(receitasPendentes, receitasRealizadas, despesas));
+
+        List<SaldoMensalDTO> meses = service.obterSaldoMensalPorUsuario(1l, 2020, null);
+
+        assertThat(meses).hasSize(12);
+        assertThat(meses.get(2).getSaldo()).isEqualTo(BigDecimal.valueOf(60));
+        assertThat(meses.get(0).getSaldo()).isEqualTo(BigDecimal.ZERO);
+        verify(resumoRepository, times(1)).obterPorUsuario(1l, 2020, null, null, null);
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void deveMoverOLancamentoEntreLinhasDoResumoAoAtualizarOStatus() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        lancamento.setMes(3);
+
+        EstadoLancamento estadoAnterior = Mockito.mock(EstadoLancamento.class);
+        when(estadoAnterior.getIdUsuario()).thenReturn(1l);
+        when(estadoAnterior.getAno()).thenReturn(2019);
+        when(estadoAnterior.getMes()).thenReturn(3);
+        when(estadoAnterior.getTipo()).thenReturn(TipoLancamento.RECEITA);
+        when(estadoAnterior.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+        when(estadoAnterior.getValor()).thenReturn(BigDecimal.valueOf(10));
+
+        when(repository.obterEstadoPersistido(1l)).thenReturn(Optional.of(estadoAnterior));
+        when(repository.save(lancamento)).thenReturn(lancamento);
+        when(saldoRepository.somarAoSaldo(Mockito.eq(1l), Mockito.any(), Mockito.any())).thenReturn(1);
+        when(resumoRepository.somarAoResumo(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        service.atualizarStatus(lancamento, StatusLancamento.REALIZADO);
+
+        verify(resumoRepository).somarAoResumo(Mockito.eq(1l), Mockito.eq(2019), Mockito.eq(3), Mockito.eq(TipoLancamento.RECEITA),
+                Mockito.eq(StatusLancamento.PENDENTE), Mockito.eq(BigDecimal.valueOf(-10)), Mockito.eq(-1l), Mockito.any());
+        verify(resumoRepository).somarAoResumo(Mockito.eq(1l), Mockito.eq(2019), Mockito.eq(3), Mockito.eq(TipoLancamento.RECEITA),
+                Mockito.eq(StatusLancamento.REALIZADO), Mockito.eq(BigDecimal.valueOf(10)), Mockito.eq(1l), Mockito.any());
+        verify(resumoRepository, never()).criarResumo(Mockito.any(), Mockito.any(), Mockito.anyLong(), Mockito.any());
+    }
+
+    @Test
+    public void naoDeveTocarNoResumoQuandoALinhaDoLancamentoNaoMuda() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        lancamento.setDescricao("outra descrição");
+
+        EstadoLancamento estadoAnterior = Mockito.mock(EstadoLancamento.class);
+        when(estadoAnterior.getIdUsuario()).thenReturn(1l);
+        when(estadoAnterior.getAno()).thenReturn(2019);
+        when(estadoAnterior.getMes()).thenReturn(1);
+        when(estadoAnterior.getTipo()).thenReturn(TipoLancamento.RECEITA);
+        when(estadoAnterior.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+        when(estadoAnterior.getValor()).thenReturn(BigDecimal.valueOf(10));
+
+        doNothing().when(service).validar(lancamento);
+        when(repository.obterEstadoPersistido(1l)).thenReturn(Optional.of(estadoAnterior));
+        when(repository.save(lancamento)).thenReturn(lancamento);
+
+        service.atualizar(lancamento);
+
+        Mockito.verifyNoInteractions(resumoRepository);
+    }
+
+    @Test
+    public void deveCriarALinhaDoResumoPelosLancamentosQuandoElaNaoExiste() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        doNothing().when(service).validar(lancamento);
+        when(repository.save(lancamento)).thenReturn(lancamento);
+        when(resumoRepository.somarAoResumo(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(0);
+
+        service.salvar(lancamento);
+
+        verify(resumoRepository).criarResumo(Mockito.eq(new ResumoMensalId(1l, 2019, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE)),
+                Mockito.eq(BigDecimal.valueOf(10)), Mockito.eq(1l), Mockito.any());
+    }
+
+    @Test
+    public void deveObterOResumoMensalSemConsultarOsLancamentos() {
+        when(resumoRepository.obterPorUsuario(1l, 2020, 3, TipoLancamento.DESPESA, null))
+                .thenReturn(Arrays.asList(criarResumo(3, TipoLancamento.DESPESA, StatusLancamento.REALIZADO, 40)));
+
+        List<ResumoMensalDTO> resumo = service.obterResumoMensalPorUsuario(1l, 2020, 3, TipoLancamento.DESPESA, null);
+
+        assertThat(resumo).hasSize(1);
+        assertThat(resumo.get(0).getTotal()).isEqualTo(BigDecimal.valueOf(40));
+        assertThat(resumo.get(0).getStatus()).isEqualTo(StatusLancamento.REALIZADO);
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void deveRetornarOProximoCursorQuandoHouverMaisLancamentos() {
+        LancamentoResumo primeiro = LancamentoResumo.de(LancamentoRepositoryTest.criarLancamento());
+        primeiro.setId(1l);
+        LancamentoResumo segundo = LancamentoResumo.de(LancamentoRepositoryTest.criarLancamento());
+        segundo.setId(2l);
+        Lancamento filtro = new Lancamento();
+
+        when(repository.buscarAposCursor(filtro, null, 2)).thenReturn(Arrays.asList(primeiro, segundo));
+
+        PaginaLancamentoDTO pagina = service.buscarPagina(filtro, null, 1);
+
+        assertThat(pagina.getItens()).containsExactly(primeiro);
+        assertThat(CursorLancamento.decodificar(pagina.getProximoCursor()))
+                .isEqualTo(new CursorLancamento(2019, 1, 1l));
+    }
+
+    @Test
+    public void naoDeveBuscarUmaPaginaComLimiteInvalido() {
+        Throwable erro = catchThrowable( () -> service.buscarPagina(new Lancamento(), null, 0) );
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class);
+        verify(repository, never()).buscarAposCursor(Mockito.any(), Mockito.any(), Mockito.anyInt());
+    }
+
+    @Test
+    public void deveSalvarUmLoteAplicandoUmUnicoDeltaAoSaldo() {
+        Usuario usuario = Usuario.builder().id(1l).build();
+        Lancamento receita = LancamentoRepositoryTest.criarLancamento();
+        receita.setUsuario(usuario);
+        receita.setStatus(StatusLancamento.REALIZADO);
+        receita.setValor(BigDecimal.valueOf(100));
+        Lancamento despesa = LancamentoRepositoryTest.criarLancamento();
+        despesa.setUsuario(usuario);
+        despesa.setTipo(TipoLancamento.DESPESA);
+        despesa.setStatus(StatusLancamento.REALIZADO);
+        despesa.setValor(BigDecimal.valueOf(30));
+        Lancamento pendente = LancamentoRepositoryTest.criarLancamento();
+        pendente.setUsuario(usuario);
+        pendente.setStatus(null);
+        List<Lancamento> lote = Arrays.asList(receita, despesa, pendente);
+
+        when(repository.saveAll(lote)).thenReturn(lote);
+        when(saldoRepository.somarAoSaldo(Mockito.eq(1l), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        service.salvarLote(lote);
+
+        assertThat(pendente.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+        verify(saldoRepository, times(1)).somarAoSaldo(Mockito.eq(1l), Mockito.eq(BigDecimal.valueOf(70)), Mockito.any());
+        verify(buscaDescricaoService).indexarNovos(lote);
+    }
+
+    @Test
+    public void deveAtualizarOStatusEmLoteAplicandoODeltaAoSaldo() {
+        Lancamento filtro = Lancamento.builder().usuario(Usuario.builder().id(1l).build()).build();
+        List<Long> ids = Arrays.asList(1l, 2l, 3l);
+        TotalPorStatus receitasPendentes = Mockito.mock(TotalPorStatus.class);
+        when(receitasPendentes.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+        when(receitasPendentes.getTipo()).thenReturn(TipoLancamento.RECEITA);
+        when(receitasPendentes.getTotal()).thenReturn(BigDecimal.valueOf(100));
+        TotalPorStatus despesasPendentes = Mockito.mock(TotalPorStatus.class);
+        when(despesasPendentes.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+        when(despesasPendentes.getTipo()).thenReturn(TipoLancamento.DESPESA);
+        when(despesasPendentes.getTotal()).thenReturn(BigDecimal.valueOf(30));
+
+        when(repository.travarAAtualizarPorIds(1l, ids, StatusLancamento.REALIZADO)).thenReturn(ids);
+        when(repository.obterTotaisAAtualizarPorIds(1l, ids, StatusLancamento.REALIZADO))
+                .thenReturn(Arrays.asList(receitasPendentes, despesasPendentes));
+        when(repository.atualizarStatusPorIds(1l, ids, StatusLancamento.REALIZADO)).thenReturn(3);
+        when(saldoRepository.somarAoSaldo(Mockito.eq(1l), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        int atualizados = service.atualizarStatusEmLote(filtro, ids, StatusLancamento.REALIZADO);
+
+        assertThat(atualizados).isEqualTo(3);
+        verify(saldoRepository).somarAoSaldo(Mockito.eq(1l), Mockito.eq(BigDecimal.valueOf(70)), Mockito.any());
+        verify(repository, never()).save(Mockito.any(Lancamento.class));
+    }
+
+    @Test
+    public void deveAtualizarOStatusEmLoteMovendoOsTotaisNoResumo() {
+        Lancamento filtro = Lancamento.builder().usuario(Usuario.builder().id(1l).build()).ano(2020).build();
+        TotalPorStatus receitasDeMarco = Mockito.mock(TotalPorStatus.class);
+        when(receitasDeMarco.getAno()).thenReturn(2020);
+        when(receitasDeMarco.getMes()).thenReturn(3);
+        when(receitasDeMarco.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+        when(receitasDeMarco.getTipo()).thenReturn(TipoLancamento.RECEITA);
+        when(receitasDeMarco.getTotal()).thenReturn(BigDecimal.valueOf(100));
+        when(receitasDeMarco.getQuantidade()).thenReturn(4l);
+
+        List<Long> travados = Arrays.asList(1l, 2l, 3l, 4l);
+        when(repository.travarAAtualizarPorFiltro(1l, 2020, null, null, StatusLancamento.CANCELADO)).thenReturn(travados);
+        when(repository.obterTotaisAAtualizarPorIds(1l, travados, StatusLancamento.CANCELADO))
+                .thenReturn(Arrays.asList(receitasDeMarco));
+        when(repository.atualizarStatusPorIds(1l, travados, StatusLancamento.CANCELADO)).thenReturn(4);
+        when(resumoRepository.somarAoResumo(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        service.atualizarStatusEmLote(filtro, null, StatusLancamento.CANCELADO);
+
+        verify(resumoRepository).somarAoResumo(Mockito.eq(1l), Mockito.eq(2020), Mockito.eq(3), Mockito.eq(TipoLancamento.RECEITA),
+                Mockito.eq(StatusLancamento.PENDENTE), Mockito.eq(BigDecimal.valueOf(-100)), Mockito.eq(-4l), Mockito.any());
+        verify(resumoRepository).somarAoResumo(Mockito.eq(1l), Mockito.eq(2020), Mockito.eq(3), Mockito.eq(TipoLancamento.RECEITA),
+                Mockito.eq(StatusLancamento.CANCELADO), Mockito.eq(BigDecimal.valueOf(100)), Mockito.eq(4l), Mockito.any());
+    }
+
+    @Test
+    public void naoDeveAtualizarNadaQuandoNenhumaLinhaForTravada() {
+        Lancamento filtro = Lancamento.builder().usuario(Usuario.builder().id(1l).build()).ano(2020).build();
+        when(repository.travarAAtualizarPorFiltro(1l, 2020, null, null, StatusLancamento.CANCELADO)).thenReturn(Collections.emptyList());
+
+        assertThat(service.atualizarStatusEmLote(filtro, null, StatusLancamento.CANCELADO)).isZero();
+
+        verify(repository, never()).atualizarStatusPorIds(Mockito.any(), Mockito.any(), Mockito.any());
+        verify(versaoRepository, never()).incrementar(Mockito.any());
+    }
+
+    @Test
+    public void deveIncrementarAVersaoDosLancamentosDoUsuarioAoSalvar() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        doNothing().when(service).validar(lancamento);
+        when(repository.save(lancamento)).thenReturn(lancamento);
+        when(versaoRepository.incrementar(1l)).thenReturn(0);
+
+        service.salvar(lancamento);
+
+        verify(versaoRepository).incrementar(1l);
+        verify(versaoRepository).criarVersao(1l);
+    }
+
+    @Test
+    public void deveRetornarAVersaoZeroQuandoOUsuarioNaoTiverAlteracoes() {
+        when(versaoRepository.findById(1l)).thenReturn(Optional.empty());
+
+        assertThat(service.obterVersaoLancamentos(1l)).isZero();
+    }
+
+    @Test
+    public void naoDeveAtualizarOStatusEmLoteSemIdsNemAno() {
+        Lancamento filtro = Lancamento.builder().usuario(Usuario.builder().id(1l).build()).mes(3).build();
+
+        Throwable erro = catchThrowable( () -> service.atualizarStatusEmLote(filtro, null, StatusLancamento.REALIZADO) );
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe os lançamentos ou o ano a atualizar.");
+        verify(repository, never()).atualizarStatusPorIds(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    private ResumoMensal criarResumo(Integer mes, TipoLancamento tipo, StatusLancamento status, int total) {
+        return ResumoMensal.builder()
+                .id(new ResumoMensalId(1l, 2020, mes, tipo, status))
+                .total(BigDecimal.valueOf(total))
+                .quantidade(1l)
+                .build();
+    }
 }
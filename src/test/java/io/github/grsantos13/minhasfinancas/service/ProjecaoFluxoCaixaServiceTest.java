@@ -0,0 +1,99 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.api.dto.ProjecaoSaldoDTO;
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.RecorrenciaLancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.Periodicidade;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.enums.TipoLancamento;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import io.github.grsantos13.minhasfinancas.service.impl.ProjecaoFluxoCaixaServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ProjecaoFluxoCaixaServiceImpl.class)
+public class ProjecaoFluxoCaixaServiceTest {
+
+    @Autowired
+    ProjecaoFluxoCaixaService service;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @MockBean
+    LancamentoService lancamentoService;
+
+    @Test
+    public void deveProjetarOSaldoComPendentesERecorrencias() {
+        YearMonth atual = YearMonth.now();
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("projecao").email("projecao@email.com").build());
+        Mockito.when(lancamentoService.obterSaldoPorUsuario(usuario.getId())).thenReturn(new BigDecimal("1000.00"));
+
+        persistirLancamento(usuario, atual.minusMonths(2), "300.50", TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        persistirLancamento(usuario, atual.plusMonths(1), "2000.00", TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+        persistirLancamento(usuario, atual.plusMonths(1), "999.00", TipoLancamento.RECEITA, StatusLancamento.REALIZADO);
+        persistirLancamento(usuario, atual.plusMonths(1), "999.00", TipoLancamento.DESPESA, StatusLancamento.CANCELADO);
+        Lancamento aluguel = persistirLancamento(usuario, atual, "800.00", TipoLancamento.DESPESA, StatusLancamento.REALIZADO);
+        YearMonth proximoAluguel = atual.plusMonths(1);
+        entityManager.persist(RecorrenciaLancamento.builder()
+                .lancamento(aluguel)
+                .idUsuario(usuario.getId())
+                .periodicidade(Periodicidade.MENSAL)
+                .proximoAno(proximoAluguel.getYear())
+                .proximoMes(proximoAluguel.getMonthValue())
+                .anoFim(atual.plusMonths(2).getYear())
+                .mesFim(atual.plusMonths(2).getMonthValue())
+                .build());
+        entityManager.flush();
+
+        List<ProjecaoSaldoDTO> projecao = service.projetar(usuario.getId(), 4);
+
+        assertThat(projecao).hasSize(4);
+        assertThat(projecao).extracting(ProjecaoSaldoDTO::getMes).first().isEqualTo(atual.getMonthValue());
+        assertThat(projecao).extracting(ProjecaoSaldoDTO::getSaldoProjetado).containsExactly(
+                new BigDecimal("699.50"), new BigDecimal("1899.50"), new BigDecimal("1099.50"), new BigDecimal("1099.50"));
+        assertThat(projecao.get(1).getReceitas()).isEqualByComparingTo("2000");
+        assertThat(projecao.get(1).getDespesas()).isEqualByComparingTo("800");
+    }
+
+    @Test
+    public void naoDeveProjetarAlemDoHorizonteMaximo() {
+        RegraNegocioException erro = catchThrowableOfType(() -> service.projetar(1l, 121), RegraNegocioException.class);
+
+        assertThat(erro).hasMessage("Informe um número de meses entre 1 e 120.");
+    }
+
+    private Lancamento persistirLancamento(Usuario usuario, YearMonth competencia, String valor,
+                                           TipoLancamento tipo, StatusLancamento status) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setAno(competencia.getYear());
+        lancamento.setMes(competencia.getMonthValue());
+        lancamento.setValor(new BigDecimal(valor));
+        lancamento.setTipo(tipo);
+        lancamento.setStatus(status);
+        return entityManager.persist(lancamento);
+    }
+}
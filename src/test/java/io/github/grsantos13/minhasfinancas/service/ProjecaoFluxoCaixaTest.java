@@ -0,0 +1,90 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.service.impl.ProjecaoFluxoCaixa;
+import io.github.grsantos13.minhasfinancas.service.impl.SomaMonetaria;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjecaoFluxoCaixaTest {
+
+    static final int JANEIRO_2021 = ProjecaoFluxoCaixa.periodo(2021, 1);
+
+    @Test
+    public void deveAcumularOSaldoMesAMesAPartirDoSaldoInicial() {
+        ProjecaoFluxoCaixa projecao = new ProjecaoFluxoCaixa(0);
+        projecao.adicionarLancamento(JANEIRO_2021, 150000, ProjecaoFluxoCaixa.RECEITA);
+        projecao.adicionarLancamento(JANEIRO_2021 + 1, 80000, ProjecaoFluxoCaixa.DESPESA);
+        projecao.adicionarLancamento(JANEIRO_2021 + 1, 1050, ProjecaoFluxoCaixa.DESPESA);
+
+        ProjecaoFluxoCaixa.Resultado resultado = projecao.projetar(SomaMonetaria.deCentavos(10000), JANEIRO_2021, 3);
+
+        assertThat(resultado.getReceitas(0)).isEqualTo(centavos(150000));
+        assertThat(resultado.getDespesas(1)).isEqualTo(centavos(81050));
+        assertThat(resultado.getSaldo(0)).isEqualTo(centavos(160000));
+        assertThat(resultado.getSaldo(1)).isEqualTo(centavos(78950));
+        assertThat(resultado.getSaldo(2)).isEqualTo(centavos(78950));
+        assertThat(resultado.getAno(2)).isEqualTo(2021);
+        assertThat(resultado.getMes(2)).isEqualTo(3);
+    }
+
+    @Test
+    public void deveLevarOsVencidosParaOPrimeiroMesEIgnorarOsDepoisDoHorizonte() {
+        ProjecaoFluxoCaixa projecao = new ProjecaoFluxoCaixa(0);
+        projecao.adicionarLancamento(JANEIRO_2021 - 5, 100, ProjecaoFluxoCaixa.DESPESA);
+        projecao.adicionarLancamento(JANEIRO_2021 + 2, 100, ProjecaoFluxoCaixa.DESPESA);
+
+        ProjecaoFluxoCaixa.Resultado resultado = projecao.projetar(SomaMonetaria.deCentavos(0), JANEIRO_2021, 2);
+
+        assertThat(resultado.getDespesas(0)).isEqualTo(centavos(100));
+        assertThat(resultado.getSaldo(1)).isEqualTo(centavos(-100));
+    }
+
+    @Test
+    public void deveProjetarAsRecorrenciasPelaPeriodicidadeAteOFim() {
+        ProjecaoFluxoCaixa projecao = new ProjecaoFluxoCaixa(0);
+        projecao.adicionarRecorrencia(JANEIRO_2021 + 1, ProjecaoFluxoCaixa.SEM_FIM, 3, 1000, ProjecaoFluxoCaixa.RECEITA);
+        projecao.adicionarRecorrencia(JANEIRO_2021, JANEIRO_2021 + 1, 1, 500, ProjecaoFluxoCaixa.DESPESA);
+
+        ProjecaoFluxoCaixa.Resultado resultado = projecao.projetar(SomaMonetaria.deCentavos(0), JANEIRO_2021, 12);
+
+        assertThat(resultado.getReceitas(1)).isEqualTo(centavos(1000));
+        assertThat(resultado.getReceitas(4)).isEqualTo(centavos(1000));
+        assertThat(resultado.getReceitas(2)).isEqualTo(centavos(0));
+        assertThat(resultado.getDespesas(1)).isEqualTo(centavos(500));
+        assertThat(resultado.getDespesas(2)).isEqualTo(centavos(0));
+        assertThat(resultado.getSaldo(11)).isEqualTo(centavos(4 * 1000 - 2 * 500));
+    }
+
+    @Test
+    public void deveCrescerAlemDaCapacidadeInicial() {
+        ProjecaoFluxoCaixa projecao = new ProjecaoFluxoCaixa(0);
+        for (int i = 0; i < 100; i++) {
+            projecao.adicionarLancamento(JANEIRO_2021, 1, ProjecaoFluxoCaixa.RECEITA);
+        }
+        for (int i = 0; i < 20; i++) {
+            projecao.adicionarRecorrencia(JANEIRO_2021, JANEIRO_2021, 1, 1, ProjecaoFluxoCaixa.RECEITA);
+        }
+
+        assertThat(projecao.getQuantidade()).isEqualTo(100);
+        assertThat(projecao.projetar(SomaMonetaria.deCentavos(0), JANEIRO_2021, 1).getSaldo(0)).isEqualTo(centavos(120));
+    }
+
+    @Test
+    public void deveSeguirEmBigDecimalQuandoASomaEstouraOLong() {
+        ProjecaoFluxoCaixa projecao = new ProjecaoFluxoCaixa(0);
+        projecao.adicionarLancamento(JANEIRO_2021, Long.MAX_VALUE, ProjecaoFluxoCaixa.RECEITA);
+        projecao.adicionarLancamento(JANEIRO_2021, 1, ProjecaoFluxoCaixa.RECEITA);
+
+        ProjecaoFluxoCaixa.Resultado resultado = projecao.projetar(SomaMonetaria.deCentavos(0), JANEIRO_2021, 1);
+
+        assertThat(resultado.getReceitas(0)).isEqualTo(BigDecimal.valueOf(Long.MAX_VALUE, 2).add(centavos(1)));
+        assertThat(resultado.getSaldo(0)).isEqualTo(resultado.getReceitas(0));
+    }
+
+    private BigDecimal centavos(long valor) {
+        return BigDecimal.valueOf(valor, 2);
+    }
+}
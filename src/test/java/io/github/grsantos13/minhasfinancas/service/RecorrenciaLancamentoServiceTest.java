@@ -0,0 +1,190 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.api.dto.ResultadoMaterializacaoDTO;
+import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.model.entity.Lancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.RecorrenciaLancamento;
+import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
+import io.github.grsantos13.minhasfinancas.model.enums.Periodicidade;
+import io.github.grsantos13.minhasfinancas.model.enums.StatusLancamento;
+import io.github.grsantos13.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import io.github.grsantos13.minhasfinancas.model.repository.RecorrenciaLancamentoRepository;
+import io.github.grsantos13.minhasfinancas.service.impl.RecorrenciaLancamentoServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class RecorrenciaLancamentoServiceTest {
+
+    @MockBean
+    RecorrenciaLancamentoRepository repository;
+    @MockBean
+    LancamentoService lancamentoService;
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    ThreadPoolTaskExecutor executor;
+    RecorrenciaLancamentoServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        service = new RecorrenciaLancamentoServiceImpl(repository, lancamentoService, transactionManager, executor, 2, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void deveDefinirARecorrenciaAPartirDaProximaCompetencia() {
+        Lancamento lancamento = criarModelo(1l);
+        lancamento.setMes(12);
+        when(repository.findByLancamentoId(lancamento.getId())).thenReturn(Optional.empty());
+        when(repository.save(Mockito.any(RecorrenciaLancamento.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RecorrenciaLancamento recorrencia = service.definir(lancamento, Periodicidade.TRIMESTRAL, null, null);
+
+        assertThat(recorrencia.getIdUsuario()).isEqualTo(1l);
+        assertThat(recorrencia.getProximoAno()).isEqualTo(2020);
+        assertThat(recorrencia.getProximoMes()).isEqualTo(3);
+    }
+
+    @Test
+    public void naoDeveDefinirUmaRecorrenciaQueTerminaAntesDeComecar() {
+        Lancamento lancamento = criarModelo(1l);
+
+        RegraNegocioException erro = catchThrowableOfType(
+                () -> service.definir(lancamento, Periodicidade.MENSAL, 2019, 1), RegraNegocioException.class);
+
+        assertThat(erro).hasMessage("Informe um fim de recorrência válido.");
+        verify(repository, never()).save(Mockito.any());
+    }
+
+    @Test
+    public void deveMaterializarAsOcorrenciasAteACompetenciaEAvancarOCursor() {
+        RecorrenciaLancamento recorrencia = criarRecorrencia(1l, Periodicidade.MENSAL, 2020, 11);
+        when(repository.obterUsuariosPendentes(Mockito.eq(0l), Mockito.eq(2021), Mockito.eq(1), Mockito.any()))
+                .thenReturn(Collections.singletonList(1l));
+        when(repository.obterPendentesPorUsuarios(Collections.singletonList(1l), 2021, 1))
+                .thenReturn(Collections.singletonList(recorrencia));
+
+        ResultadoMaterializacaoDTO resultado = service.materializarAte(2021, 1);
+
+        ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lancamentoService).salvarLote(captor.capture());
+        assertThat(captor.getValue()).extracting(Lancamento::getMes).containsExactly(11, 12, 1);
+        assertThat(captor.getValue()).extracting(Lancamento::getStatus).containsOnly(StatusLancamento.PENDENTE);
+        assertThat(recorrencia.getProximoAno()).isEqualTo(2021);
+        assertThat(recorrencia.getProximoMes()).isEqualTo(2);
+        assertThat(resultado.getLancamentosGerados()).isEqualTo(3);
+        assertThat(resultado.getUsuariosProcessados()).isEqualTo(1);
+    }
+
+    @Test
+    public void deveEncerrarARecorrenciaAoPassarDoFim() {
+        RecorrenciaLancamento recorrencia = criarRecorrencia(1l, Periodicidade.ANUAL, 2020, 3);
+        recorrencia.setAnoFim(2021);
+        recorrencia.setMesFim(6);
+        when(repository.obterUsuariosPendentes(Mockito.eq(0l), Mockito.eq(2022), Mockito.eq(12), Mockito.any()))
+                .thenReturn(Collections.singletonList(1l));
+        when(repository.obterPendentesPorUsuarios(Collections.singletonList(1l), 2022, 12))
+                .thenReturn(Collections.singletonList(recorrencia));
+
+        service.materializarAte(2022, 12);
+
+        ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lancamentoService).salvarLote(captor.capture());
+        assertThat(captor.getValue()).extracting(Lancamento::getAno).containsExactly(2020, 2021);
+        assertThat(recorrencia.getProximoAno()).isNull();
+        assertThat(recorrencia.getProximoMes()).isNull();
+    }
+
+    @Test
+    public void deveProcessarOsUsuariosEmBlocosPaginadosPeloUltimoUsuario() {
+        when(repository.obterUsuariosPendentes(Mockito.eq(0l), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(Arrays.asList(1l, 2l));
+        when(repository.obterUsuariosPendentes(Mockito.eq(2l), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(Collections.singletonList(3l));
+        when(repository.obterPendentesPorUsuarios(Arrays.asList(1l, 2l), 2021, 1))
+                .thenReturn(Arrays.asList(criarRecorrencia(1l, Periodicidade.MENSAL, 2021, 1),
+                                          criarRecorrencia(2l, Periodicidade.MENSAL, 2021, 1)));
+        when(repository.obterPendentesPorUsuarios(Collections.singletonList(3l), 2021, 1))
+                .thenReturn(Collections.singletonList(criarRecorrencia(3l, Periodicidade.MENSAL, 2021, 1)));
+
+        ResultadoMaterializacaoDTO resultado = service.materializarAte(2021, 1);
+
+        verify(repository, times(2)).obterUsuariosPendentes(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+        verify(lancamentoService, times(2)).salvarLote(Mockito.any());
+        verify(transactionManager, times(2)).commit(Mockito.any());
+        assertThat(resultado.getUsuariosProcessados()).isEqualTo(3);
+        assertThat(resultado.getLancamentosGerados()).isEqualTo(3);
+        assertThat(resultado.getBlocosComFalha()).isZero();
+    }
+
+    @Test
+    public void deveDesfazerSoOBlocoQueFalhouEContinuarComOsDemais() {
+        when(repository.obterUsuariosPendentes(Mockito.eq(0l), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(Arrays.asList(1l, 2l));
+        when(repository.obterUsuariosPendentes(Mockito.eq(2l), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(Collections.singletonList(3l));
+        when(repository.obterPendentesPorUsuarios(Arrays.asList(1l, 2l), 2021, 1))
+                .thenReturn(Collections.singletonList(criarRecorrencia(1l, Periodicidade.MENSAL, 2021, 1)));
+        when(repository.obterPendentesPorUsuarios(Collections.singletonList(3l), 2021, 1))
+                .thenReturn(Collections.singletonList(criarRecorrencia(3l, Periodicidade.MENSAL, 2021, 1)));
+        doThrow(new CannotAcquireLockException("lock"))
+                .when(lancamentoService).salvarLote(Mockito.argThat(lote -> lote != null && lote.get(0).getUsuario().getId() == 1l));
+
+        ResultadoMaterializacaoDTO resultado = service.materializarAte(2021, 1);
+
+        verify(transactionManager).rollback(Mockito.any());
+        verify(transactionManager).commit(Mockito.any());
+        assertThat(resultado.getBlocosComFalha()).isEqualTo(1);
+        assertThat(resultado.getUsuariosProcessados()).isEqualTo(1);
+        assertThat(resultado.getLancamentosGerados()).isEqualTo(1);
+    }
+
+    private RecorrenciaLancamento criarRecorrencia(Long idUsuario, Periodicidade periodicidade, Integer ano, Integer mes) {
+        return RecorrenciaLancamento.builder()
+                .lancamento(criarModelo(idUsuario))
+                .idUsuario(idUsuario)
+                .periodicidade(periodicidade)
+                .proximoAno(ano)
+                .proximoMes(mes)
+                .build();
+    }
+
+    private Lancamento criarModelo(Long idUsuario) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(idUsuario * 100);
+        lancamento.setUsuario(Usuario.builder().id(idUsuario).build());
+        return lancamento;
+    }
+}
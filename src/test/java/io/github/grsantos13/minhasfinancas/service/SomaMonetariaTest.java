@@ -0,0 +1,61 @@
+package io.github.grsantos13.minhasfinancas.service;
+
+import io.github.grsantos13.minhasfinancas.service.impl.SomaMonetaria;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SomaMonetariaTest {
+
+    @Test
+    public void deveSomarEmCentavosComAMesmaEscalaDoBigDecimal() {
+        SomaMonetaria soma = new SomaMonetaria()
+                .somar(BigDecimal.valueOf(100))
+                .subtrair(BigDecimal.valueOf(30));
+
+        assertThat(soma.total()).isEqualTo(BigDecimal.valueOf(70));
+
+        soma.somar(new BigDecimal("0.5")).subtrair(new BigDecimal("10.25"));
+
+        assertThat(soma.isEmCentavos()).isTrue();
+        assertThat(soma.total()).isEqualTo(new BigDecimal("60.25"));
+        assertThat(soma.signum()).isEqualTo(1);
+    }
+
+    @Test
+    public void deveSeguirEmBigDecimalComMaisDeDuasCasasDecimais() {
+        SomaMonetaria soma = new SomaMonetaria()
+                .somar(new BigDecimal("10.10"))
+                .somar(new BigDecimal("0.001"));
+
+        assertThat(soma.isEmCentavos()).isFalse();
+        assertThat(soma.total()).isEqualTo(new BigDecimal("10.101"));
+    }
+
+    @Test
+    public void deveSeguirEmBigDecimalQuandoEstouraOLong() {
+        BigDecimal maximo = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+        SomaMonetaria soma = new SomaMonetaria()
+                .somar(maximo)
+                .somar(BigDecimal.ONE)
+                .subtrair(new BigDecimal("0.01"));
+
+        assertThat(soma.isEmCentavos()).isFalse();
+        assertThat(soma.total()).isEqualTo(maximo.add(BigDecimal.ONE).subtract(new BigDecimal("0.01")));
+
+        SomaMonetaria negativa = SomaMonetaria.deCentavos(Long.MIN_VALUE).subtrair(soma);
+        assertThat(negativa.total()).isEqualTo(BigDecimal.valueOf(Long.MIN_VALUE, 2).subtract(soma.total()));
+        assertThat(negativa.signum()).isEqualTo(-1);
+    }
+
+    @Test
+    public void deveCombinarSomasEIgnorarValoresNulos() {
+        SomaMonetaria receitas = new SomaMonetaria().somar(BigDecimal.valueOf(50)).somar((BigDecimal) null);
+        SomaMonetaria despesas = SomaMonetaria.deCentavos(5025);
+
+        assertThat(new SomaMonetaria().somar(receitas).subtrair(despesas).total()).isEqualTo(new BigDecimal("-0.25"));
+        assertThat(new SomaMonetaria().total()).isEqualTo(BigDecimal.ZERO);
+    }
+}
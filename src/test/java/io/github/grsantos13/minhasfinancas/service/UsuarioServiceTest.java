@@ -1,7 +1,10 @@
 package io.github.grsantos13.minhasfinancas.service;
 
+import io.github.grsantos13.minhasfinancas.config.RoteamentoLeitura;
+import io.github.grsantos13.minhasfinancas.config.SenhaConfig;
 import io.github.grsantos13.minhasfinancas.exception.ErroDeAutenticacao;
 import io.github.grsantos13.minhasfinancas.exception.RegraNegocioException;
+import io.github.grsantos13.minhasfinancas.exception.ServicoIndisponivelException;
 import io.github.grsantos13.minhasfinancas.model.entity.Usuario;
 import io.github.grsantos13.minhasfinancas.model.repository.UsuarioRepository;
 import io.github.grsantos13.minhasfinancas.model.repository.UsuarioRepositoryTest;
@@ -9,14 +12,21 @@ import io.github.grsantos13.minhasfinancas.service.impl.UsuarioServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -27,6 +37,7 @@ import static org.mockito.Mockito.verify;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
+@Import({SenhaConfig.class, RoteamentoLeitura.class})
 public class UsuarioServiceTest {
 
     @SpyBean
@@ -35,6 +46,9 @@ public class UsuarioServiceTest {
     @MockBean
     UsuarioRepository usuarioRepository;
 
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
     @Test
     public void deveValidarEmail(){
         Mockito.when(usuarioRepository.existsByEmail(Mockito.anyString())).thenReturn(false);
@@ -101,6 +115,64 @@ public class UsuarioServiceTest {
         assertThat(result.getId()).isNotNull();
     }
 
+    @Test
+    public void deveRegravarComHashASenhaLegadaAoAutenticar(){
+        Usuario usuario = UsuarioRepositoryTest.createNewUser();
+            usuario.setId(1L);
+        Mockito.when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+
+        String senhaLegada = usuario.getSenha();
+
+        Usuario result = usuarioService.autenticar(usuario.getEmail(), "123");
+
+        ArgumentCaptor<Usuario> captor = ArgumentCaptor.forClass(Usuario.class);
+        verify(usuarioRepository).save(captor.capture());
+        assertThat(captor.getValue().getSenha()).startsWith("$2a$");
+        assertThat(passwordEncoder.matches("123", captor.getValue().getSenha())).isTrue();
+        assertThat(result).isSameAs(captor.getValue());
+        assertThat(usuario.getSenha()).isEqualTo(senhaLegada);
+    }
+
+    @Test
+    public void naoDeveRegravarASenhaQueJaPossuiHash(){
+        Usuario usuario = UsuarioRepositoryTest.createNewUser();
+            usuario.setId(1L);
+            usuario.setSenha(passwordEncoder.encode("123"));
+        Mockito.when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+
+        Usuario result = usuarioService.autenticar(usuario.getEmail(), "123");
+
+        assertThat(result).isSameAs(usuario);
+        verify(usuarioRepository, never()).save(Mockito.any(Usuario.class));
+    }
+
+    @Test
+    public void deveGravarOHashDaSenhaAoCadastrar(){
+        Usuario usuario = UsuarioRepositoryTest.createNewUser();
+        Mockito.doNothing().when(usuarioService).validarEmail(Mockito.anyString());
+        Mockito.when(usuarioRepository.save(Mockito.any(Usuario.class))).then(invocation -> invocation.getArgument(0));
+
+        Usuario result = usuarioService.cadastrarUsuario(usuario);
+
+        assertThat(result.getSenha()).isNotEqualTo("123");
+        assertThat(passwordEncoder.matches("123", result.getSenha())).isTrue();
+    }
+
+    @Test
+    public void deveRecusarOLoginQuandoOPoolDeVerificacaoEstiverSaturado(){
+        AsyncTaskExecutor executorSaturado = Mockito.mock(AsyncTaskExecutor.class);
+        Mockito.when(executorSaturado.submit(Mockito.<Callable<Object>>any()))
+                .thenThrow(new TaskRejectedException("fila cheia"));
+        UsuarioServiceImpl service = new UsuarioServiceImpl(usuarioRepository, passwordEncoder, executorSaturado, 2000, new RoteamentoLeitura(0));
+        Usuario usuario = UsuarioRepositoryTest.createNewUser();
+        Mockito.when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+
+        Throwable throwable = catchThrowable(() -> service.autenticar(usuario.getEmail(), "123"));
+
+        assertThat(throwable).isInstanceOf(ServicoIndisponivelException.class);
+        verify(usuarioRepository, never()).save(Mockito.any(Usuario.class));
+    }
+
     public void deveOcorrerErroAoSalvarUsuarioPorJaHaverEmailCadastrado(){
         Usuario usuario = UsuarioRepositoryTest.createNewUser();
         Mockito.doThrow(RegraNegocioException.class).when(usuarioService).validarEmail(usuario.getEmail());
@@ -111,4 +183,15 @@ public class UsuarioServiceTest {
         verify(usuarioRepository, never()).save(usuario);
 
     }
+
+    @Test
+    public void deveBuscarNaPrimariaQuandoOUsuarioAindaNaoEstaNaReplica(){
+        Usuario usuario = Usuario.builder().id(1l).email("gustavo@domain.com").build();
+        Mockito.when(usuarioRepository.findById(1l)).thenReturn(Optional.empty(), Optional.of(usuario));
+
+        Optional<Usuario> resultado = usuarioService.getById(1l);
+
+        assertThat(resultado).contains(usuario);
+        verify(usuarioRepository, Mockito.times(2)).findById(1l);
+    }
 }